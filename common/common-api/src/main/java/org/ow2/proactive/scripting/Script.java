@@ -35,16 +35,21 @@ import java.io.PrintWriter;
 import java.io.Reader;
 import java.io.Serializable;
 import java.io.StringReader;
+import java.lang.ref.SoftReference;
 import java.net.URL;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
@@ -57,6 +62,8 @@ import org.ow2.proactive.utils.BoundedStringWriter;
 import org.ow2.proactive.utils.FileUtils;
 
 import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.CharStreams;
 
 
 /**
@@ -82,6 +89,21 @@ public abstract class Script<E> implements Serializable {
 
     public static final String MD5 = "MD5";
 
+    /** Maximum number of compiled scripts kept in a JVM */
+    public static final int COMPILED_SCRIPTS_CACHE_SIZE = 100;
+
+    /**
+     * Engines whose compiled scripts can be evaluated several times without sharing
+     * state between evaluations, the compiled scripts of these engines are reused.
+     */
+    private static final Set<String> COMPILED_SCRIPTS_ENGINES = ImmutableSet.of("groovy");
+
+    /** Script engine factories found per context class loader */
+    private static final Map<ClassLoader, SoftReference<List<ScriptEngineFactory>>> scriptEngineFactories = new WeakHashMap<>();
+
+    /** Compiled scripts, by context class loader, engine factory and script digest */
+    private static final CompiledScriptsCache compiledScripts = new CompiledScriptsCache();
+
     /** Name of the script engine or file path to script file (extension will be used to lookup) */
     protected String scriptEngineLookupName;
 
@@ -384,7 +406,7 @@ public abstract class Script<E> implements Serializable {
                 }
             }
             prepareBindings(bindings);
-            Object evalResult = engine.eval(getReader());
+            Object evalResult = evaluate(engine);
 
             engine.getContext().getErrorWriter().flush();
             engine.getContext().getWriter().flush();
@@ -479,54 +501,91 @@ public abstract class Script<E> implements Serializable {
 
     /** The Script Engine used to evaluate the script. */
     protected ScriptEngine createScriptEngine() {
+        List<ScriptEngineFactory> factories = getScriptEngineFactories();
 
-        Map<ScriptEngine, Integer> scriptEngineCandidates;
         final boolean findByName = true;
-        scriptEngineCandidates = findScriptEngineCandidates(findByName);
+        ScriptEngineFactory factory = findBestScriptEngineFactory(factories, findByName);
 
-        if (scriptEngineCandidates.isEmpty()) {
-            scriptEngineCandidates = findScriptEngineCandidates(!findByName);
+        if (factory == null) {
+            factory = findBestScriptEngineFactory(factories, !findByName);
         }
 
-        return findBestScriptEngine(scriptEngineCandidates);
+        return factory == null ? null : factory.getScriptEngine();
     }
 
-    private Map<ScriptEngine, Integer> findScriptEngineCandidates(boolean findByName) {
-        Map<ScriptEngine, Integer> matchPositionPerScriptEngineCandidate = new HashMap<>();
-        int matchPosition;
+    /**
+     * Returns the script engine factories available from the context class loader.
+     * Looking up the factories scans the class path, so they are only looked up once per class loader.
+     */
+    private static List<ScriptEngineFactory> getScriptEngineFactories() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        synchronized (scriptEngineFactories) {
+            SoftReference<List<ScriptEngineFactory>> reference = scriptEngineFactories.get(classLoader);
+            List<ScriptEngineFactory> factories = reference == null ? null : reference.get();
+            if (factories == null) {
+                factories = new ScriptEngineManager().getEngineFactories();
+                scriptEngineFactories.put(classLoader, new SoftReference<>(factories));
+            }
+            return factories;
+        }
+    }
+
+    private ScriptEngineFactory findBestScriptEngineFactory(List<ScriptEngineFactory> factories,
+            boolean findByName) {
+        int minimumMatchingIndex = Integer.MAX_VALUE;
+        ScriptEngineFactory bestFactory = null;
         List<String> lookupCriteria;
 
-        for (ScriptEngineFactory factory : new ScriptEngineManager().getEngineFactories()) {
-            matchPosition = 0;
+        for (ScriptEngineFactory factory : factories) {
             if (findByName) {
                 lookupCriteria = factory.getNames();
             } else {
                 lookupCriteria = factory.getExtensions();
             }
 
+            int matchPosition = 0;
             for (String criteria : lookupCriteria) {
-                if (criteria.equalsIgnoreCase(scriptEngineLookupName)) {
-                    matchPositionPerScriptEngineCandidate.put(factory.getScriptEngine(), matchPosition);
+                if (criteria.equalsIgnoreCase(scriptEngineLookupName) && matchPosition < minimumMatchingIndex) {
+                    minimumMatchingIndex = matchPosition;
+                    bestFactory = factory;
                 }
                 matchPosition++;
             }
         }
 
-        return matchPositionPerScriptEngineCandidate;
+        return bestFactory;
     }
 
-    private ScriptEngine findBestScriptEngine(Map<ScriptEngine, Integer> scriptEngineCandidates) {
-        int minimumMatchingIndex = Integer.MAX_VALUE;
-        ScriptEngine bestScriptEngine = null;
+    /**
+     * Evaluates the script with the given engine. When the engine supports it, the script is
+     * compiled once and the compiled script is reused by the next executions of the same content.
+     */
+    private Object evaluate(ScriptEngine engine) throws javax.script.ScriptException, IOException {
+        if (!(engine instanceof Compilable) ||
+            !COMPILED_SCRIPTS_ENGINES.contains(engine.getFactory().getLanguageName().toLowerCase())) {
+            return engine.eval(getReader());
+        }
 
-        for (Entry<ScriptEngine, Integer> candidate : scriptEngineCandidates.entrySet()) {
-            if (candidate.getValue() < minimumMatchingIndex) {
-                minimumMatchingIndex = candidate.getValue();
-                bestScriptEngine = candidate.getKey();
-            }
+        String content;
+        try (Reader reader = getReader()) {
+            content = CharStreams.toString(reader);
         }
 
-        return bestScriptEngine;
+        // classes used by a compiled script are resolved from the class loader used to compile it
+        CompiledScriptKey key = new CompiledScriptKey(Thread.currentThread().getContextClassLoader(),
+                                                      engine.getFactory().getClass(),
+                                                      digest(content));
+        CompiledScript compiledScript;
+        synchronized (compiledScripts) {
+            compiledScript = compiledScripts.get(key);
+        }
+        if (compiledScript == null) {
+            compiledScript = ((Compilable) engine).compile(content);
+            synchronized (compiledScripts) {
+                compiledScripts.put(key, compiledScript);
+            }
+        }
+        return compiledScript.eval(engine.getContext());
     }
 
     /**
@@ -622,6 +681,50 @@ public abstract class Script<E> implements Serializable {
         }
     }
 
+    private static final class CompiledScriptsCache extends LinkedHashMap<CompiledScriptKey, CompiledScript> {
+
+        private CompiledScriptsCache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CompiledScriptKey, CompiledScript> eldest) {
+            return size() > COMPILED_SCRIPTS_CACHE_SIZE;
+        }
+    }
+
+    private static final class CompiledScriptKey {
+        private final ClassLoader classLoader;
+
+        private final Class<?> engineFactoryClass;
+
+        private final String digest;
+
+        private CompiledScriptKey(ClassLoader classLoader, Class<?> engineFactoryClass, String digest) {
+            this.classLoader = classLoader;
+            this.engineFactoryClass = engineFactoryClass;
+            this.digest = digest;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+            CompiledScriptKey that = (CompiledScriptKey) o;
+            return classLoader == that.classLoader && engineFactoryClass.equals(that.engineFactoryClass) &&
+                   digest.equals(that.digest);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(classLoader);
+            result = 31 * result + engineFactoryClass.hashCode();
+            return 31 * result + digest.hashCode();
+        }
+    }
+
     private static class ScriptContentAndEngineName {
         private final String scriptContent;
 
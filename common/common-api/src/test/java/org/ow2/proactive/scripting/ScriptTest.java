@@ -35,6 +35,7 @@ import java.io.File;
 import java.io.PrintWriter;
 import java.io.Reader;
 import java.net.URL;
+import java.util.Collections;
 
 import javax.script.Bindings;
 
@@ -171,6 +172,34 @@ public class ScriptTest {
         assertNull(result.getException());
     }
 
+    @Test
+    public void testCompiledScriptIsReusedWithDifferentBindings() throws Exception {
+        String scriptContent = "result = value";
+        ScriptForTests script1 = new ScriptForTests(scriptContent, "groovy");
+        ScriptForTests script2 = new ScriptForTests(scriptContent, "groovy");
+
+        ScriptResult<Object> result1 = script1.execute(Collections.<String, Object> singletonMap("value", "first"),
+                                                       System.out,
+                                                       System.err);
+        ScriptResult<Object> result2 = script2.execute(Collections.<String, Object> singletonMap("value", "second"),
+                                                       System.out,
+                                                       System.err);
+
+        assertEquals("first", result1.getResult());
+        assertEquals("second", result2.getResult());
+    }
+
+    @Test
+    public void testCompiledScriptExecutionsDoNotShareState() throws Exception {
+        String scriptContent = "if (binding.hasVariable('previous')) { result = 'shared' } else { previous = 1; result = 'isolated' }";
+
+        for (int i = 0; i < 2; i++) {
+            ScriptResult<Object> result = new ScriptForTests(scriptContent, "groovy").execute();
+            assertNull(result.getException());
+            assertEquals("isolated", result.getResult());
+        }
+    }
+
     class ScriptForTests extends Script<Object> {
 
         @Override
@@ -49,9 +49,26 @@ public class RMState implements Serializable {
 
     private final Long maxNumberOfNodes;
 
+    private final long version;
+
     public RMState(RMStateNodeUrls rmNodeUrls, Long maxNumberOfNodes) {
+        this(rmNodeUrls, maxNumberOfNodes, 0);
+    }
+
+    public RMState(RMStateNodeUrls rmNodeUrls, Long maxNumberOfNodes, long version) {
         this.rmNodeUrls = rmNodeUrls;
         this.maxNumberOfNodes = maxNumberOfNodes;
+        this.version = version;
+    }
+
+    /**
+     * Returns the version of the resource manager state this object was built from.
+     * The version changes each time nodes are added, removed or change state.
+     *
+     * @return the version of the resource manager state
+     */
+    public long getVersion() {
+        return version;
     }
 
     public Long getMaxNumberOfNodes() {
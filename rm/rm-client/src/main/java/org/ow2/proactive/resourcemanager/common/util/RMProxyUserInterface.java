@@ -45,6 +45,7 @@ import org.objectweb.proactive.annotation.ImmediateService;
 import org.objectweb.proactive.core.node.Node;
 import org.objectweb.proactive.core.util.wrapper.BooleanWrapper;
 import org.objectweb.proactive.core.util.wrapper.IntWrapper;
+import org.objectweb.proactive.core.util.wrapper.LongWrapper;
 import org.objectweb.proactive.core.util.wrapper.StringWrapper;
 import org.objectweb.proactive.extensions.annotation.ActiveObject;
 import org.ow2.proactive.authentication.UserData;
@@ -175,6 +176,13 @@ public class RMProxyUserInterface extends RMListenerProxy implements ResourceMan
         return target.getState();
     }
 
+    /**
+     * @see org.ow2.proactive.resourcemanager.frontend.ResourceManager#getStateVersion()
+     */
+    public LongWrapper getStateVersion() {
+        return target.getStateVersion();
+    }
+
     /**
      * @see org.ow2.proactive.resourcemanager.frontend.ResourceManager#getSupportedNodeSourceInfrastructures()
      */
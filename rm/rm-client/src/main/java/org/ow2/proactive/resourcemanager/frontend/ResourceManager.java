@@ -33,6 +33,7 @@ import org.objectweb.proactive.annotation.PublicAPI;
 import org.objectweb.proactive.core.node.Node;
 import org.objectweb.proactive.core.util.wrapper.BooleanWrapper;
 import org.objectweb.proactive.core.util.wrapper.IntWrapper;
+import org.objectweb.proactive.core.util.wrapper.LongWrapper;
 import org.objectweb.proactive.core.util.wrapper.StringWrapper;
 import org.ow2.proactive.authentication.UserData;
 import org.ow2.proactive.resourcemanager.common.RMState;
@@ -226,6 +227,16 @@ public interface ResourceManager {
      */
     RMState getState();
 
+    /**
+     * Returns the current version of the resource manager state. The version changes
+     * each time nodes are added, removed or change state, so clients can keep the
+     * last {@link RMState} and retrieve it again only when its version is outdated.
+     *
+     * @return the current version of the resource manager state.
+     * @see RMState#getVersion()
+     */
+    LongWrapper getStateVersion();
+
     /**
      * Returns the monitoring interface to manager listeners of the resource manager.
      *
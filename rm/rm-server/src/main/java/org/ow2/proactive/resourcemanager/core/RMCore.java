@@ -42,6 +42,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -63,6 +64,7 @@ import org.objectweb.proactive.core.node.Node;
 import org.objectweb.proactive.core.node.NodeException;
 import org.objectweb.proactive.core.util.wrapper.BooleanWrapper;
 import org.objectweb.proactive.core.util.wrapper.IntWrapper;
+import org.objectweb.proactive.core.util.wrapper.LongWrapper;
 import org.objectweb.proactive.core.util.wrapper.StringWrapper;
 import org.objectweb.proactive.extensions.annotation.ActiveObject;
 import org.ow2.proactive.authentication.UserData;
@@ -233,6 +235,15 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
      **/
     private List<RMNode> eligibleNodes;
 
+    /**
+     * Version of the state returned by {@link #getState()}, changed on each node event.
+     * Starts from the current time so that versions of different runs do not collide.
+     */
+    private final AtomicLong stateVersion = new AtomicLong(System.currentTimeMillis());
+
+    /** Last state built by {@link #getState()} */
+    private volatile RMState cachedState;
+
     private SelectionManager selectionManager;
 
     /**
@@ -536,6 +547,7 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
                 eligibleNodes.add(rmnode);
                 totalEligibleRecoveredNodes++;
             }
+            stateVersion.incrementAndGet();
         }
 
         int totalRecoveredNodes = 0;
@@ -1800,6 +1812,7 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
     }
 
     private void registerAndEmitNodeEvent(final RMNodeEvent event) {
+        stateVersion.incrementAndGet();
         this.monitoring.nodeEvent(event);
     }
 
@@ -1897,13 +1910,27 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
      * {@inheritDoc}
      */
     public RMState getState() {
+        long version = stateVersion.get();
+        RMState state = cachedState;
+        if (state != null && state.getVersion() == version) {
+            return state;
+        }
         RMStateNodeUrls rmStateNodeUrls = new RMStateNodeUrls(nodesListToUrlsSet(eligibleNodes),
                                                               listAliveNodeUrls(),
                                                               nodesListToUrlsSet(allNodes.values()));
-        RMState state = new RMState(rmStateNodeUrls, maximumNumberOfNodes);
+        state = new RMState(rmStateNodeUrls, maximumNumberOfNodes, version);
+        cachedState = state;
         return state;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @ImmediateService
+    public LongWrapper getStateVersion() {
+        return new LongWrapper(stateVersion.get());
+    }
+
     /**
      * {@inheritDoc}
      */
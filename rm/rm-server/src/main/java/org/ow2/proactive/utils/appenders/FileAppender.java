@@ -28,6 +28,9 @@ package org.ow2.proactive.utils.appenders;
 import java.io.File;
 import java.io.IOException;
 import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.log4j.Appender;
@@ -36,6 +39,7 @@ import org.apache.log4j.MDC;
 import org.apache.log4j.PatternLayout;
 import org.apache.log4j.RollingFileAppender;
 import org.apache.log4j.WriterAppender;
+import org.apache.log4j.spi.Filter;
 import org.apache.log4j.spi.LoggingEvent;
 
 
@@ -47,15 +51,45 @@ import org.apache.log4j.spi.LoggingEvent;
  * Is used to put server logs for tasks and jobs into files with 
  * different names.
  *
+ * Files are kept open between logging events. At most {@link #getMaxOpenFiles()}
+ * files are open at the same time (the least recently used one is closed first),
+ * and files which did not receive any event for {@link #getIdleTimeout()} milliseconds
+ * are closed.
+ *
+ * Events written to different files are not serialized: only the lookup of the open
+ * files is synchronized, each file is then written under its own lock.
+ *
  */
 public class FileAppender extends WriterAppender {
 
     public static final String FILE_NAME = "filename";
 
+    public static final int DEFAULT_MAX_OPEN_FILES = 100;
+
+    public static final long DEFAULT_IDLE_TIMEOUT = 60000;
+
     private String maxFileSize;
 
     protected String filesLocation;
 
+    private int maxOpenFiles = DEFAULT_MAX_OPEN_FILES;
+
+    private long idleTimeout = DEFAULT_IDLE_TIMEOUT;
+
+    private long lastIdleCheck = System.currentTimeMillis();
+
+    /** Open appenders by file name, in access order */
+    private final Map<String, OpenFile> openFiles = new LinkedHashMap<String, OpenFile>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, OpenFile> eldest) {
+            if (size() > maxOpenFiles) {
+                eldest.getValue().close();
+                return true;
+            }
+            return false;
+        }
+    };
+
     public FileAppender() {
 
         setLayout(new PatternLayout("[%d{ISO8601} %-5p] %m%n"));
@@ -71,6 +105,28 @@ public class FileAppender extends WriterAppender {
         }
     }
 
+    /**
+     * Same as {@link org.apache.log4j.AppenderSkeleton#doAppend(LoggingEvent)}, without
+     * synchronizing on this appender, so that several files can be written concurrently.
+     */
+    @Override
+    public void doAppend(LoggingEvent event) {
+        if (closed || !isAsSevereAsThreshold(event.getLevel())) {
+            return;
+        }
+        Filter filter = getFirstFilter();
+        while (filter != null) {
+            int decision = filter.decide(event);
+            if (decision == Filter.DENY) {
+                return;
+            } else if (decision == Filter.ACCEPT) {
+                break;
+            }
+            filter = filter.getNext();
+        }
+        append(event);
+    }
+
     @Override
     public void append(LoggingEvent event) {
         Object value = MDC.get(FILE_NAME);
@@ -80,9 +136,99 @@ public class FileAppender extends WriterAppender {
     }
 
     public void append(String fileName, LoggingEvent event) {
+        String filePath = getFilePath(fileName);
+        while (true) {
+            OpenFile openFile = getOpenFile(filePath);
+            if (openFile == null) {
+                return;
+            }
+            synchronized (openFile) {
+                // the file may have been closed by another thread since the lookup
+                if (!openFile.closed) {
+                    openFile.appender.append(event);
+                    return;
+                }
+            }
+        }
+    }
+
+    private OpenFile getOpenFile(String filePath) {
+        long now = System.currentTimeMillis();
+        synchronized (openFiles) {
+            closeIdleFiles(now);
+
+            OpenFile openFile = openFiles.get(filePath);
+            if (openFile == null) {
+                try {
+                    openFile = new OpenFile(createAppender(filePath));
+                } catch (IOException e) {
+                    Logger.getRootLogger().error(e.getMessage(), e);
+                    return null;
+                }
+                openFiles.put(filePath, openFile);
+            }
+            openFile.lastAccess = now;
+            return openFile;
+        }
+    }
+
+    /**
+     * Closes the file with the given name if it is open.
+     * Next events for this file will open it again.
+     *
+     * @param fileName name of the file, relative to the files location
+     */
+    public void closeFile(String fileName) {
+        synchronized (openFiles) {
+            OpenFile openFile = openFiles.remove(getFilePath(fileName));
+            if (openFile != null) {
+                openFile.close();
+            }
+        }
+    }
+
+    /**
+     * Closes all open files whose name starts with the given prefix.
+     *
+     * @param fileNamePrefix prefix of the file names, relative to the files location
+     */
+    public void closeFiles(String fileNamePrefix) {
+        String prefix = getFilePath(fileNamePrefix);
+        synchronized (openFiles) {
+            Iterator<Map.Entry<String, OpenFile>> iterator = openFiles.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, OpenFile> entry = iterator.next();
+                if (entry.getKey().startsWith(prefix)) {
+                    entry.getValue().close();
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private void closeIdleFiles(long now) {
+        if (now - lastIdleCheck < idleTimeout) {
+            return;
+        }
+        lastIdleCheck = now;
+        Iterator<OpenFile> iterator = openFiles.values().iterator();
+        while (iterator.hasNext()) {
+            OpenFile openFile = iterator.next();
+            if (now - openFile.lastAccess >= idleTimeout) {
+                openFile.close();
+                iterator.remove();
+            }
+        }
+    }
+
+    private String getFilePath(String fileName) {
         if (filesLocation != null) {
-            fileName = filesLocation + File.separator + fileName;
+            return filesLocation + File.separator + fileName;
         }
+        return fileName;
+    }
+
+    private RollingFileAppender createAppender(String fileName) throws IOException {
         File file = new File(fileName);
         if (!file.exists()) {
             try {
@@ -93,21 +239,22 @@ public class FileAppender extends WriterAppender {
             }
         }
 
-        try {
-            RollingFileAppender appender = new RollingFileAppender(getLayout(), fileName, true);
-            appender.setMaxBackupIndex(1);
-            if (maxFileSize != null) {
-                appender.setMaxFileSize(maxFileSize);
-            }
-            appender.append(event);
-            appender.close();
-        } catch (IOException e) {
-            Logger.getRootLogger().error(e.getMessage(), e);
+        RollingFileAppender appender = new RollingFileAppender(getLayout(), fileName, true);
+        appender.setMaxBackupIndex(1);
+        if (maxFileSize != null) {
+            appender.setMaxFileSize(maxFileSize);
         }
+        return appender;
     }
 
     @Override
     public void close() {
+        synchronized (openFiles) {
+            for (OpenFile openFile : openFiles.values()) {
+                openFile.close();
+            }
+            openFiles.clear();
+        }
     }
 
     @Override
@@ -130,4 +277,38 @@ public class FileAppender extends WriterAppender {
     public void setMaxFileSize(String maxFileSize) {
         this.maxFileSize = maxFileSize;
     }
+
+    public int getMaxOpenFiles() {
+        return maxOpenFiles;
+    }
+
+    public void setMaxOpenFiles(int maxOpenFiles) {
+        this.maxOpenFiles = maxOpenFiles;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    private static final class OpenFile {
+
+        private final RollingFileAppender appender;
+
+        private long lastAccess;
+
+        private boolean closed;
+
+        private OpenFile(RollingFileAppender appender) {
+            this.appender = appender;
+        }
+
+        private synchronized void close() {
+            closed = true;
+            appender.close();
+        }
+    }
 }
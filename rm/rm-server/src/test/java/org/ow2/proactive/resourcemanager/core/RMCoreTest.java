@@ -29,6 +29,8 @@ import static com.google.common.truth.Truth.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
@@ -559,6 +561,20 @@ public class RMCoreTest {
         assertEquals(3, rmState.getTotalAliveNodesNumber());
     }
 
+    @Test
+    public void testGetStateIsRebuiltOnlyWhenVersionChanges() {
+        RMState rmState = rmCore.getState();
+        assertEquals(rmState.getVersion(), rmCore.getStateVersion().getLongValue());
+        assertSame(rmState, rmCore.getState());
+
+        rmCore.setFreeNodes(ImmutableList.of(mockedUnremovableNode));
+
+        assertNotEquals(rmState.getVersion(), rmCore.getStateVersion().getLongValue());
+        RMState newRmState = rmCore.getState();
+        assertEquals(newRmState.getVersion(), rmCore.getStateVersion().getLongValue());
+        assertEquals(4, newRmState.getFreeNodesNumber());
+    }
+
     @Test
     public void testFreeNodeWithNodeThatIsAlreadyFree() {
         int numberOfNodeEligibleForSchedulingBeforeFreeing = getNumberOfFreeNodes();
@@ -110,7 +110,12 @@ public enum SchedulerEvent {
     /** A job has just been updated.*/
     JOB_UPDATED("job updated"),
     /** A task has just had an error, was marked as finished. */
-    TASK_IN_ERROR_TO_FINISHED("Task In-Error to finished");
+    TASK_IN_ERROR_TO_FINISHED("Task In-Error to finished"),
+    /**
+     * Periodic information about a job whose tasks changed, sent instead of one event per task change.
+     * Only sent to listeners which explicitly asked for it.
+     */
+    JOB_TASKS_SUMMARY("Job tasks summary");
 
     /** Name of the method */
     private String methodName;
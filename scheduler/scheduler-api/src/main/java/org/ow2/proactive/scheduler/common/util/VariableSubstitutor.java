@@ -26,8 +26,10 @@
 package org.ow2.proactive.scheduler.common.util;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeSet;
 
 import org.ow2.proactive.scripting.Script;
 
@@ -58,9 +60,17 @@ public class VariableSubstitutor {
             Map<String, ? extends Serializable> variables) {
 
         Map<String, String> result = new HashMap<>(variables.size());
+        Substitutes substitutes = null;
 
         for (Map.Entry<String, String> entry : input.entrySet()) {
-            result.put(entry.getKey(), filterAndUpdate(entry.getValue(), variables));
+            String value = entry.getValue();
+            if (containsVariable(value)) {
+                if (substitutes == null) {
+                    substitutes = new Substitutes(variables);
+                }
+                value = replaceRecursively(value, substitutes);
+            }
+            result.put(entry.getKey(), value);
         }
 
         return result;
@@ -76,38 +86,33 @@ public class VariableSubstitutor {
      * @see VariableSubstitutor#filterAndUpdate(String, Map)
      */
     public static String filterAndUpdate(String input, Map<? extends Serializable, ? extends Serializable> variables) {
-        if (input == null || input.isEmpty()) {
+        if (!containsVariable(input)) {
             return input;
         }
 
-        String output = input;
-        Map<String, String> substitutes = buildSubstitutes(variables);
-        output = replaceRecursively(output, substitutes);
+        return replaceRecursively(input, new Substitutes(variables));
+    }
 
-        return output;
+    private static boolean containsVariable(String input) {
+        return input != null && input.indexOf('$') >= 0;
     }
 
     /**
      * Replace the given string with a list of substitutions recursively. Recursion will be limited to MAXIMUM_DEPTH.
      *
      * @param value       string used to apply replacement
-     * @param substitutes map of substitutions
+     * @param substitutes substitutions
      * @return a new string where all replacements were performed
      */
-    private static String replaceRecursively(final String value, Map<String, String> substitutes) {
+    private static String replaceRecursively(final String value, Substitutes substitutes) {
         boolean anyReplacement;
         String output = value;
         int depthCount = 0;
         do {
-            anyReplacement = false;
             depthCount++;
-            for (Map.Entry<String, String> replacement : substitutes.entrySet()) {
-                if (replacement.getValue() != null) {
-                    String newOutput = output.replace(replacement.getKey(), replacement.getValue());
-                    anyReplacement = anyReplacement || !newOutput.equals(output);
-                    output = newOutput;
-                }
-            }
+            String newOutput = substitutes.replace(output);
+            anyReplacement = !newOutput.equals(output);
+            output = newOutput;
         } while (anyReplacement && depthCount < MAXIMUM_DEPTH);
         return output;
     }
@@ -122,12 +127,16 @@ public class VariableSubstitutor {
      */
     public static void filterAndUpdate(Script<?> script,
             Map<? extends Serializable, ? extends Serializable> variables) {
-        script.setScript(filterAndUpdate(script.getScript(), variables));
+        Substitutes substitutes = new Substitutes(variables);
+        if (containsVariable(script.getScript())) {
+            script.setScript(replaceRecursively(script.getScript(), substitutes));
+        }
         Serializable[] params = script.getParameters();
         if (params != null) {
             for (int i = 0; i < params.length; i++) {
                 if (params[i] != null) {
-                    params[i] = filterAndUpdate(params[i].toString(), variables);
+                    String param = params[i].toString();
+                    params[i] = containsVariable(param) ? replaceRecursively(param, substitutes) : param;
                 }
             }
         }
@@ -152,4 +161,64 @@ public class VariableSubstitutor {
         return replacements;
     }
 
+    /**
+     * Substitutions built from a variable map, applied in a single pass over a string:
+     * at each '$' the longest matching substitution is replaced.
+     */
+    private static final class Substitutes {
+
+        private final Map<String, String> replacements;
+
+        /** Distinct lengths of the replaced strings, in decreasing order */
+        private final int[] lengths;
+
+        private Substitutes(Map<? extends Serializable, ? extends Serializable> variables) {
+            replacements = buildSubstitutes(variables);
+            TreeSet<Integer> distinctLengths = new TreeSet<>(Collections.reverseOrder());
+            for (String key : replacements.keySet()) {
+                distinctLengths.add(key.length());
+            }
+            lengths = new int[distinctLengths.size()];
+            int i = 0;
+            for (Integer length : distinctLengths) {
+                lengths[i++] = length;
+            }
+        }
+
+        private String replace(String input) {
+            StringBuilder output = null;
+            int copied = 0;
+            int position = input.indexOf('$');
+            while (position >= 0) {
+                String key = findLongestKeyAt(input, position);
+                if (key == null) {
+                    position = input.indexOf('$', position + 1);
+                } else {
+                    if (output == null) {
+                        output = new StringBuilder(input.length() + 16);
+                    }
+                    output.append(input, copied, position).append(replacements.get(key));
+                    copied = position + key.length();
+                    position = input.indexOf('$', copied);
+                }
+            }
+            if (output == null) {
+                return input;
+            }
+            return output.append(input, copied, input.length()).toString();
+        }
+
+        private String findLongestKeyAt(String input, int position) {
+            for (int length : lengths) {
+                if (position + length <= input.length()) {
+                    String candidate = input.substring(position, position + length);
+                    if (replacements.containsKey(candidate)) {
+                        return candidate;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
 }
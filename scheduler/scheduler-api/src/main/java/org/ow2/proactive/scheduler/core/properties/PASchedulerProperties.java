@@ -60,10 +60,17 @@ public enum PASchedulerProperties implements PACommonProperties {
     /** Defines the maximum number of tasks to be scheduled in each scheduling loop. */
     SCHEDULER_POLICY_NBTASKPERLOOP("pa.scheduler.policy.nbtaskperloop", PropertyType.INTEGER, "10"),
 
+    /** Percentage of the waiting time of a job subtracted from the expected running time of its tasks by
+     * the shortest expected job first policy. Higher values prevent long tasks from waiting too long. */
+    SCHEDULER_POLICY_SHORTEST_JOB_FIRST_AGING(
+            "pa.scheduler.policy.shortestjobfirst.aging",
+            PropertyType.INTEGER,
+            "100"),
+
     /** Path of the license properties file. */
     SCHEDULER_LICENSE_POLICY_CONFIGURATION("pa.scheduler.license.policy.configuration", PropertyType.STRING),
 
-    /** Scheduler main loop time out */
+    /** Scheduler main loop time out, used when no scheduling event wakes up the scheduling thread */
     SCHEDULER_TIME_OUT("pa.scheduler.core.timeout", PropertyType.INTEGER, "100"),
 
     /** Scheduler auto reconnection to the RM when the connection is down */
@@ -123,11 +130,56 @@ public enum PASchedulerProperties implements PACommonProperties {
      * until the scheduling loop will block as well.*/
     SCHEDULER_STARTTASK_THREADNUMBER("pa.scheduler.core.starttask.threadnumber", PropertyType.INTEGER, "5"),
 
+    /** Maximum number of threads used to create task launchers. Launchers are created outside of the scheduling
+     * loop, a slow node only blocks one of these threads. */
+    SCHEDULER_STARTTASK_LAUNCHER_THREADNUMBER(
+            "pa.scheduler.core.starttask.launcher.threadnumber",
+            PropertyType.INTEGER,
+            "5"),
+
+    /** Timeout for the creation of a task launcher on a node (in millis). On timeout, the node is released and the
+     * task is scheduled again. */
+    SCHEDULER_STARTTASK_LAUNCHER_TIMEOUT(
+            "pa.scheduler.core.starttask.launcher.timeout",
+            PropertyType.INTEGER,
+            "60000"),
+
+    /** Maximum number of node requests sent concurrently to the resource manager. The scheduling loop does not
+     * wait for the selection of nodes, received nodes are used by the next scheduling pass. */
+    SCHEDULER_NODES_REQUEST_THREADNUMBER("pa.scheduler.core.nodes.request.threadnumber", PropertyType.INTEGER, "5"),
+
+    /** Maximum number of executable containers kept in memory by the scheduling loop for tasks waiting to be started */
+    SCHEDULER_STARTTASK_CONTAINERS_CACHE_SIZE(
+            "pa.scheduler.core.starttask.containers.cache.size",
+            PropertyType.INTEGER,
+            "1000"),
+
+    /** Maximum number of finished tasks whose propagated variables are kept in memory for their children */
+    SCHEDULER_PROPAGATED_VARIABLES_CACHE_SIZE(
+            "pa.scheduler.core.propagated.variables.cache.size",
+            PropertyType.INTEGER,
+            "10000"),
+
+    /** Maximum number of jobs whose decrypted credentials are kept in memory to start their tasks */
+    SCHEDULER_CREDENTIALS_CACHE_SIZE("pa.scheduler.core.credentials.cache.size", PropertyType.INTEGER, "1000"),
+
     /** Maximum number of threads used to send events to clients. This property defines the number of clients
      * than can block at the same time. If this number is reached, every clients won't receive events until
      * a thread unlock. */
     SCHEDULER_LISTENERS_THREADNUMBER("pa.scheduler.core.listener.threadnumber", PropertyType.INTEGER, "5"),
 
+    /** Maximum number of events kept in memory for each client before the slow client policy applies */
+    SCHEDULER_LISTENERS_BUFFER_SIZE("pa.scheduler.core.listener.buffer.size", PropertyType.INTEGER, "1000"),
+
+    /** What to do with the events of a client whose buffer is full : coalesce, drop or disconnect */
+    SCHEDULER_LISTENERS_SLOW_CLIENT_POLICY(
+            "pa.scheduler.core.listener.slowclient.policy",
+            PropertyType.STRING,
+            "coalesce"),
+
+    /** Minimum time in milliseconds between two job tasks summaries sent to a client */
+    SCHEDULER_LISTENERS_SUMMARY_PERIOD("pa.scheduler.core.listener.summary.period", PropertyType.INTEGER, "5000"),
+
     /** List of the scripts paths to execute at scheduler start. Paths are separated by a ';'. */
     SCHEDULER_STARTSCRIPTS_PATHS("pa.scheduler.startscripts.paths", PropertyType.LIST),
 
@@ -354,6 +406,27 @@ public enum PASchedulerProperties implements PACommonProperties {
             PropertyType.INTEGER,
             "100"),
 
+    /**
+     * Delay in milliseconds during which task state transitions are gathered to be
+     * committed in a single transaction. Zero disables group commit.
+     */
+    SCHEDULER_DB_TRANSACTION_GROUP_COMMIT_DELAY(
+            "pa.scheduler.db.transactions.group.commit.delay",
+            PropertyType.INTEGER,
+            "0"),
+
+    /** Maximum number of task state transitions committed in a single transaction */
+    SCHEDULER_DB_TRANSACTION_GROUP_COMMIT_MAX_SIZE(
+            "pa.scheduler.db.transactions.group.commit.max.size",
+            PropertyType.INTEGER,
+            "100"),
+
+    /**
+     * Number of rows sent to the database in a single JDBC batch, used when hibernate.jdbc.batch_size
+     * is not set in the Hibernate configuration. One or less disables JDBC batching.
+     */
+    SCHEDULER_DB_JDBC_BATCH_SIZE("pa.scheduler.db.jdbc.batch.size", PropertyType.INTEGER, "50"),
+
     /* ***************************************************************** */
     /* ***************** EMAIL NOTIFICATION PROPERTIES ***************** */
     /* ***************************************************************** */
@@ -370,6 +443,15 @@ public enum PASchedulerProperties implements PACommonProperties {
             PropertyType.STRING,
             "example@username.com"),
 
+    /** Maximum number of email notifications waiting to be sent, further notifications are dropped */
+    EMAIL_NOTIFICATIONS_QUEUE_SIZE("pa.scheduler.notifications.email.queue.size", PropertyType.INTEGER, "1000"),
+
+    /** Number of times the sending of an email notification is retried after a failure */
+    EMAIL_NOTIFICATIONS_RETRY_ATTEMPTS("pa.scheduler.notifications.email.retry.attempts", PropertyType.INTEGER, "2"),
+
+    /** Delay in milliseconds before retrying to send an email notification */
+    EMAIL_NOTIFICATIONS_RETRY_DELAY("pa.scheduler.notifications.email.retry.delay", PropertyType.INTEGER, "10000"),
+
     /* ***************************************************************** */
     /* ***************** LICENSE SCHEDULING POLICY PROPERTIES ***************** */
     /* ***************************************************************** */
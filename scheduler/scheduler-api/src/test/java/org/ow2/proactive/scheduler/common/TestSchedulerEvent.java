@@ -73,8 +73,9 @@ public class TestSchedulerEvent {
         Assert.assertEquals(SchedulerEvent.JOB_RESTARTED_FROM_ERROR.ordinal(), 29);
         Assert.assertEquals(SchedulerEvent.JOB_UPDATED.ordinal(), 30);
         Assert.assertEquals(SchedulerEvent.TASK_IN_ERROR_TO_FINISHED.ordinal(), 31);
+        Assert.assertEquals(SchedulerEvent.JOB_TASKS_SUMMARY.ordinal(), 32);
 
-        Assert.assertEquals(32, SchedulerEvent.values().length);
+        Assert.assertEquals(33, SchedulerEvent.values().length);
     }
 
 }
@@ -114,4 +114,22 @@ public class VariablesUtilTest {
                                                          Collections.<String, Serializable> singletonMap("foo",
                                                                                                          "bar")));
     }
+
+    @Test
+    public void longest_variable_name_is_replaced() throws Exception {
+        Map<String, String> variables = ImmutableMap.of("foo", "short", "foobar", "long");
+
+        assertEquals("long short", VariableSubstitutor.filterAndUpdate("$foobar $foo", variables));
+        assertEquals("shortbaz", VariableSubstitutor.filterAndUpdate("$foobaz", variables));
+    }
+
+    @Test
+    public void map_values_are_replaced() throws Exception {
+        Map<String, String> variables = ImmutableMap.of("foo", "bar");
+        Map<String, String> input = ImmutableMap.of("key1", "${foo}", "key2", "no variable", "key3", "$FOO$");
+
+        Map<String, String> updated = VariableSubstitutor.filterAndUpdate(input, variables);
+
+        assertEquals(ImmutableMap.of("key1", "bar", "key2", "no variable", "key3", "bar$"), updated);
+    }
 }
@@ -35,7 +35,9 @@ import java.security.PublicKey;
 import java.security.SecureRandom;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.log4j.Logger;
@@ -89,6 +91,14 @@ public class TaskLauncher implements InitActive {
 
     private static final Logger logger = Logger.getLogger(TaskLauncher.class);
 
+    /** When true, the key pair used to receive the task credentials is generated once and shared by the launchers of the node */
+    public static final String PA_NODE_LAUNCHER_KEYPAIR_REUSE = "pa.node.launcher.keypair.reuse";
+
+    private static KeyPair sharedKeyPair;
+
+    /** Progress readers of the tasks currently executed in this JVM, by task id */
+    private static final Map<String, ProgressFileReader> runningTasksProgress = new ConcurrentHashMap<>();
+
     final private TaskContextVariableExtractor taskContextVariableExtractor = new TaskContextVariableExtractor();
 
     private TaskLauncherFactory factory;
@@ -177,6 +187,7 @@ public class TaskLauncher implements InitActive {
             File taskLogFile = taskLogger.createFileAppender(dataspaces.getScratchFolder());
 
             progressFileReader.start(dataspaces.getScratchFolder(), taskId);
+            runningTasksProgress.put(taskId.toString(), progressFileReader);
 
             context = new TaskContext(executableContainer,
                                       initializer,
@@ -265,6 +276,7 @@ public class TaskLauncher implements InitActive {
             }
         } finally {
             try {
+                runningTasksProgress.remove(taskId.toString());
                 progressFileReader.stop();
                 taskLogger.close();
 
@@ -445,12 +457,23 @@ public class TaskLauncher implements InitActive {
     }
 
     public PublicKey generatePublicKey() throws NoSuchAlgorithmException {
+        KeyPair keyPair = Boolean.getBoolean(PA_NODE_LAUNCHER_KEYPAIR_REUSE) ? getSharedKeyPair() : generateKeyPair();
+        decrypter = new Decrypter(keyPair.getPrivate());
+        return keyPair.getPublic();
+    }
+
+    private static synchronized KeyPair getSharedKeyPair() throws NoSuchAlgorithmException {
+        if (sharedKeyPair == null) {
+            sharedKeyPair = generateKeyPair();
+        }
+        return sharedKeyPair;
+    }
+
+    private static KeyPair generateKeyPair() throws NoSuchAlgorithmException {
         KeyPairGenerator keyGen;
         keyGen = KeyPairGenerator.getInstance("RSA");
         keyGen.initialize(1024, new SecureRandom());
-        KeyPair keyPair = keyGen.generateKeyPair();
-        decrypter = new Decrypter(keyPair.getPrivate());
-        return keyPair.getPublic();
+        return keyGen.generateKeyPair();
     }
 
     @ImmediateService
@@ -476,6 +499,21 @@ public class TaskLauncher implements InitActive {
         return progressFileReader.getProgress();
     }
 
+    /**
+     * Get the progress of all the tasks currently executed by the task launchers of this JVM,
+     * so that the scheduler needs a single remote call per node to refresh them.
+     *
+     * @return the progress of the running tasks, indexed by {@link TaskId#toString()}
+     */
+    @ImmediateService
+    public Map<String, Integer> getProgressOfTasksOnNode() {
+        Map<String, Integer> progress = new HashMap<>(runningTasksProgress.size());
+        for (Map.Entry<String, ProgressFileReader> entry : runningTasksProgress.entrySet()) {
+            progress.put(entry.getKey(), entry.getValue().getProgress());
+        }
+        return progress;
+    }
+
     private static String getHostname() {
         return ProActiveInet.getInstance().getInetAddress().getHostName();
     }
@@ -0,0 +1,166 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.task;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Map;
+
+import org.ow2.proactive.scheduler.common.TaskResultProvider;
+import org.ow2.proactive.scheduler.common.exception.UnknownTaskException;
+import org.ow2.proactive.scheduler.common.task.TaskId;
+import org.ow2.proactive.scheduler.common.task.TaskLogs;
+import org.ow2.proactive.scheduler.common.task.TaskResult;
+import org.ow2.proactive.scheduler.common.task.flow.FlowAction;
+import org.ow2.proactive.utils.ObjectByteConverter;
+
+
+/**
+ * Lightweight reference to the result of a parent task, given to a task launcher instead of the full result.
+ * <p>
+ * Only the propagated variables, the metadata and whether the task failed are carried by the reference.
+ * The value, the exception and the output of the task are fetched from the {@link TaskResultProvider} the
+ * first time they are read, so that a task which only needs the variables of its parents does not transfer
+ * their values and logs.
+ *
+ * @author The ProActive Team
+ */
+public class TaskResultReference implements TaskResult {
+
+    private final TaskId id;
+
+    private final Map<String, byte[]> propagatedVariables;
+
+    private final Map<String, String> metadata;
+
+    private final boolean hadException;
+
+    private final boolean isRaw;
+
+    private final TaskResultProvider taskResultProvider;
+
+    /** The full result, fetched on demand */
+    private transient volatile TaskResult taskResult;
+
+    public TaskResultReference(TaskId id, Map<String, byte[]> propagatedVariables, Map<String, String> metadata,
+            boolean hadException, boolean isRaw, TaskResultProvider taskResultProvider) {
+        this.id = id;
+        this.propagatedVariables = propagatedVariables;
+        this.metadata = metadata;
+        this.hadException = hadException;
+        this.isRaw = isRaw;
+        this.taskResultProvider = taskResultProvider;
+    }
+
+    @Override
+    public boolean hadException() {
+        return hadException;
+    }
+
+    @Override
+    public TaskId getTaskId() {
+        return id;
+    }
+
+    @Override
+    public Serializable value() throws Throwable {
+        return getTaskResult().value();
+    }
+
+    @Override
+    public Serializable getValue() throws Throwable {
+        return getTaskResult().getValue();
+    }
+
+    @Override
+    public byte[] getSerializedValue() {
+        return getTaskResult().getSerializedValue();
+    }
+
+    @Override
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+
+    @Override
+    public FlowAction getAction() {
+        return getTaskResult().getAction();
+    }
+
+    @Override
+    public Throwable getException() {
+        if (!hadException) {
+            return null;
+        }
+        return getTaskResult().getException();
+    }
+
+    @Override
+    public TaskLogs getOutput() {
+        return getTaskResult().getOutput();
+    }
+
+    @Override
+    public Map<String, byte[]> getPropagatedVariables() {
+        return propagatedVariables;
+    }
+
+    @Override
+    public Map<String, Serializable> getVariables() throws IOException, ClassNotFoundException {
+        return ObjectByteConverter.mapOfByteArrayToSerializable(propagatedVariables);
+    }
+
+    @Override
+    public boolean isRaw() {
+        return isRaw;
+    }
+
+    private TaskResult getTaskResult() {
+        TaskResult result = taskResult;
+        if (result == null) {
+            synchronized (this) {
+                result = taskResult;
+                if (result == null) {
+                    try {
+                        result = taskResultProvider.getTaskResult(id);
+                    } catch (UnknownTaskException e) {
+                        throw new IllegalStateException("Cannot fetch the result of task " + id, e);
+                    }
+                    taskResult = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Describes the reference without fetching the result, so that logging it does not call the provider.
+     */
+    @Override
+    public String toString() {
+        return "Result of task " + id + ", metadata " + metadata;
+    }
+}
@@ -0,0 +1,467 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.task.executors;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+import org.objectweb.proactive.extensions.processbuilder.OSProcessBuilder;
+import org.ow2.proactive.scheduler.common.task.ForkEnvironment;
+import org.ow2.proactive.scheduler.task.context.TaskContext;
+import org.ow2.proactive.scheduler.task.executors.forked.env.ExecuteForkedTasksInsidePooledJvm;
+import org.ow2.proactive.scheduler.task.utils.ForkerUtils;
+import org.ow2.proactive.utils.CookieBasedProcessTreeKiller;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+
+/**
+ * Pool of pre-started forked JVMs, reused by {@link ForkedTaskExecutor} to avoid the startup cost of a new
+ * JVM for each task.
+ * <p>
+ * The pool is disabled by default and enabled by setting the {@value #PA_NODE_FORK_POOL_SIZE} system
+ * property on the node. Pooled JVMs are grouped by signature, i.e. the java command built from the fork
+ * environment (java home, JVM arguments and classpath), and only tasks that do not need a dedicated
+ * process are accepted: no runAsMe, no fork environment script, no system environment variables and no
+ * specific working directory. Such tasks run in the working directory of the node, like non forked tasks.
+ * <p>
+ * A pooled JVM is recycled after {@value #PA_NODE_FORK_POOL_MAX_TASKS} tasks or as soon as a task fails
+ * to execute, is interrupted or does not end in time. The end of a task is awaited for its walltime, or
+ * for {@value #PA_NODE_FORK_POOL_TASK_TIMEOUT} milliseconds when it has no walltime. A replacement JVM is
+ * then started in the background so that the next compatible task finds a warm JVM.
+ *
+ * @see ExecuteForkedTasksInsidePooledJvm
+ */
+public class ForkedJvmPool {
+
+    /** Maximum number of idle forked JVMs kept for each signature, the pool is disabled when not positive */
+    public static final String PA_NODE_FORK_POOL_SIZE = "pa.node.fork.pool.size";
+
+    /** Number of tasks executed by a pooled forked JVM before it is recycled */
+    public static final String PA_NODE_FORK_POOL_MAX_TASKS = "pa.node.fork.pool.max.tasks";
+
+    /**
+     * Maximum time in milliseconds to wait for the end of a task without walltime in a pooled JVM,
+     * the JVM is recycled when it is reached. The end of these tasks is awaited without limit when not positive.
+     */
+    public static final String PA_NODE_FORK_POOL_TASK_TIMEOUT = "pa.node.fork.pool.task.timeout";
+
+    private static final int DEFAULT_POOL_SIZE = 0;
+
+    private static final int DEFAULT_MAX_TASKS = 20;
+
+    private static final int DEFAULT_TASK_TIMEOUT = 0;
+
+    private static final Logger logger = Logger.getLogger(ForkedJvmPool.class);
+
+    private static ForkedJvmPool instance;
+
+    private final int poolSize;
+
+    private final int maxTasksPerJvm;
+
+    private final long taskTimeout;
+
+    private final Map<List<String>, Deque<PooledJvm>> idleJvms = new HashMap<>();
+
+    private final ExecutorService warmer;
+
+    private final AtomicInteger jvmCounter = new AtomicInteger();
+
+    public ForkedJvmPool(int poolSize, int maxTasksPerJvm) {
+        this(poolSize, maxTasksPerJvm, DEFAULT_TASK_TIMEOUT);
+    }
+
+    public ForkedJvmPool(int poolSize, int maxTasksPerJvm, long taskTimeout) {
+        this.poolSize = poolSize;
+        this.maxTasksPerJvm = maxTasksPerJvm;
+        this.taskTimeout = taskTimeout;
+        this.warmer = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("ForkedJvmPoolWarmer")
+                                                                                  .setDaemon(true)
+                                                                                  .build());
+    }
+
+    /**
+     * @return the pool of the node, configured from the system properties on first call
+     */
+    public static synchronized ForkedJvmPool getInstance() {
+        if (instance == null) {
+            instance = new ForkedJvmPool(getIntegerProperty(PA_NODE_FORK_POOL_SIZE, DEFAULT_POOL_SIZE),
+                                         getIntegerProperty(PA_NODE_FORK_POOL_MAX_TASKS, DEFAULT_MAX_TASKS),
+                                         getIntegerProperty(PA_NODE_FORK_POOL_TASK_TIMEOUT, DEFAULT_TASK_TIMEOUT));
+            if (instance.isEnabled()) {
+                final ForkedJvmPool pool = instance;
+                Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        pool.shutdown();
+                    }
+                }));
+            }
+        }
+        return instance;
+    }
+
+    private static int getIntegerProperty(String name, int defaultValue) {
+        String value = System.getProperty(name);
+        if (value != null && !value.isEmpty()) {
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                logger.warn(name + " property is not correctly defined, default value " + defaultValue +
+                            " is used", e);
+            }
+        }
+        return defaultValue;
+    }
+
+    public boolean isEnabled() {
+        return poolSize > 0;
+    }
+
+    /**
+     * @param context the context of the task to execute
+     * @return true if the task can be executed in a pooled JVM
+     */
+    public boolean accepts(TaskContext context) {
+        if (!isEnabled() || context.isRunAsUser()) {
+            return false;
+        }
+        ForkEnvironment forkEnvironment = context.getInitializer().getForkEnvironment();
+        return forkEnvironment == null ||
+               (forkEnvironment.getEnvScript() == null && forkEnvironment.getSystemEnvironment().isEmpty() &&
+                forkEnvironment.getWorkingDir() == null);
+    }
+
+    /**
+     * @param context the context of the task to execute
+     * @return the maximum time in milliseconds to wait for the end of the task, not bounded when not positive
+     */
+    public long getTaskTimeout(TaskContext context) {
+        long walltime = context.getInitializer().getWalltime();
+        return walltime > 0 ? walltime : taskTimeout;
+    }
+
+    /**
+     * Takes an idle JVM started with the given command, or starts a new one if none is available.
+     *
+     * @param command the command starting the JVM, without the task end marker
+     * @param nativeScriptPath path used to get the process builder factory
+     * @return a JVM ready to execute a task, to give back with {@link #release(PooledJvm, boolean)}
+     */
+    public PooledJvm acquire(List<String> command, String nativeScriptPath) throws IOException {
+        PooledJvm jvm = pollIdleJvm(command);
+        if (jvm == null) {
+            jvm = startJvm(command, nativeScriptPath);
+        }
+        return jvm;
+    }
+
+    /**
+     * Gives back a JVM after the execution of a task. The JVM is destroyed if the task did not complete
+     * normally, if it reached the maximum number of tasks or if enough JVMs are already idle. A destroyed
+     * JVM is replaced in the background.
+     *
+     * @param jvm the JVM acquired for the task
+     * @param reusable false if the JVM must be destroyed
+     */
+    public void release(PooledJvm jvm, boolean reusable) {
+        if (reusable && jvm.isAlive() && jvm.getExecutedTasks() < maxTasksPerJvm && offerIdleJvm(jvm)) {
+            return;
+        }
+        jvm.destroy();
+        prestartJvm(jvm.command, jvm.nativeScriptPath);
+    }
+
+    /**
+     * Destroys all idle JVMs, used JVMs are destroyed when they are given back.
+     */
+    public void shutdown() {
+        warmer.shutdownNow();
+        List<PooledJvm> toDestroy = new ArrayList<>();
+        synchronized (idleJvms) {
+            for (Deque<PooledJvm> jvms : idleJvms.values()) {
+                toDestroy.addAll(jvms);
+            }
+            idleJvms.clear();
+        }
+        for (PooledJvm jvm : toDestroy) {
+            jvm.destroy();
+        }
+    }
+
+    int getIdleJvmCount(List<String> command) {
+        synchronized (idleJvms) {
+            Deque<PooledJvm> jvms = idleJvms.get(command);
+            return jvms == null ? 0 : jvms.size();
+        }
+    }
+
+    private PooledJvm pollIdleJvm(List<String> command) {
+        synchronized (idleJvms) {
+            Deque<PooledJvm> jvms = idleJvms.get(command);
+            while (jvms != null && !jvms.isEmpty()) {
+                PooledJvm jvm = jvms.pollFirst();
+                if (jvm.isAlive()) {
+                    return jvm;
+                }
+                jvm.destroy();
+            }
+            return null;
+        }
+    }
+
+    private boolean offerIdleJvm(PooledJvm jvm) {
+        synchronized (idleJvms) {
+            Deque<PooledJvm> jvms = idleJvms.get(jvm.command);
+            if (jvms == null) {
+                jvms = new ArrayDeque<>(poolSize);
+                idleJvms.put(jvm.command, jvms);
+            }
+            if (jvms.size() >= poolSize || warmer.isShutdown()) {
+                return false;
+            }
+            jvms.offerLast(jvm);
+            return true;
+        }
+    }
+
+    private void prestartJvm(final List<String> command, final String nativeScriptPath) {
+        try {
+            warmer.submit(new Runnable() {
+                @Override
+                public void run() {
+                    if (getIdleJvmCount(command) >= poolSize) {
+                        return;
+                    }
+                    try {
+                        PooledJvm jvm = startJvm(command, nativeScriptPath);
+                        if (!offerIdleJvm(jvm)) {
+                            jvm.destroy();
+                        }
+                    } catch (Exception e) {
+                        logger.warn("Could not start a pooled forked JVM", e);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the pool has been shut down
+        }
+    }
+
+    PooledJvm startJvm(List<String> command, String nativeScriptPath) throws IOException {
+        OSProcessBuilder processBuilder = ForkerUtils.getOSProcessBuilderFactory(nativeScriptPath).getBuilder();
+        String taskEndMarker = "PA_FORKED_TASK_END_" + UUID.randomUUID();
+        processBuilder.command().addAll(command);
+        processBuilder.command().add(taskEndMarker);
+
+        CookieBasedProcessTreeKiller processTreeKiller = CookieBasedProcessTreeKiller.createProcessChildrenKiller("ForkedJvmPool" +
+                                                                                                                 jvmCounter.incrementAndGet(),
+                                                                                                                 processBuilder.environment());
+        return new PooledJvm(command,
+                             nativeScriptPath,
+                             processBuilder.start(),
+                             taskEndMarker,
+                             processTreeKiller);
+    }
+
+    /**
+     * A forked JVM running {@link ExecuteForkedTasksInsidePooledJvm}. The outputs of the JVM are piped to
+     * the sinks of the task being executed until the task end marker is read on both streams.
+     */
+    public static class PooledJvm {
+
+        private final List<String> command;
+
+        private final String nativeScriptPath;
+
+        private final Process process;
+
+        private final String taskEndMarker;
+
+        private final CookieBasedProcessTreeKiller processTreeKiller;
+
+        private final Writer input;
+
+        private final StreamPipe outputPipe;
+
+        private final StreamPipe errorPipe;
+
+        private volatile CountDownLatch taskEnd = new CountDownLatch(0);
+
+        private int executedTasks;
+
+        PooledJvm(List<String> command, String nativeScriptPath, Process process, String taskEndMarker,
+                CookieBasedProcessTreeKiller processTreeKiller) {
+            this.command = command;
+            this.nativeScriptPath = nativeScriptPath;
+            this.process = process;
+            this.taskEndMarker = taskEndMarker;
+            this.processTreeKiller = processTreeKiller;
+            this.input = new OutputStreamWriter(process.getOutputStream());
+            this.outputPipe = new StreamPipe(process.getInputStream());
+            this.errorPipe = new StreamPipe(process.getErrorStream());
+            startDaemon(outputPipe, "ForkedJvmPool_OUT");
+            startDaemon(errorPipe, "ForkedJvmPool_ERR");
+        }
+
+        private static void startDaemon(Runnable runnable, String name) {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        /**
+         * Executes the task serialized at the given path and waits until the task is finished and its
+         * outputs are flushed. The JVM is destroyed if the task does not end within the given timeout.
+         *
+         * @param timeout maximum time to wait for the end of the task in milliseconds, not bounded when not positive
+         * @return true if the task result has been written at the given path, false if the JVM died
+         * @throws IOException if the task could not be sent to the JVM or did not end in time
+         */
+        public boolean execute(String serializedContextPath, PrintStream outputSink, PrintStream errorSink,
+                long timeout) throws IOException, InterruptedException {
+            executedTasks++;
+            taskEnd = new CountDownLatch(2);
+            outputPipe.sink = outputSink;
+            errorPipe.sink = errorSink;
+            try {
+                input.write(serializedContextPath + System.lineSeparator());
+                input.flush();
+                if (timeout > 0) {
+                    if (!taskEnd.await(timeout, TimeUnit.MILLISECONDS)) {
+                        destroy();
+                        throw new IOException("Task did not end within " + timeout + " ms in the pooled forked JVM");
+                    }
+                } else {
+                    taskEnd.await();
+                }
+            } finally {
+                outputPipe.sink = null;
+                errorPipe.sink = null;
+            }
+            return outputPipe.alive && errorPipe.alive;
+        }
+
+        /**
+         * @return the exit code of the JVM, waiting for it to terminate
+         */
+        public int waitFor() throws InterruptedException {
+            return process.waitFor();
+        }
+
+        int getExecutedTasks() {
+            return executedTasks;
+        }
+
+        boolean isAlive() {
+            return outputPipe.alive && errorPipe.alive;
+        }
+
+        void destroy() {
+            try {
+                input.close();
+            } catch (IOException ignored) {
+                // the JVM is already dead
+            }
+            process.destroy();
+            processTreeKiller.kill();
+        }
+
+        private class StreamPipe implements Runnable {
+
+            private final BufferedReader in;
+
+            private volatile PrintStream sink;
+
+            private volatile boolean alive = true;
+
+            /** An empty line is held until the next line, as the one printed before the end marker is dropped */
+            private boolean emptyLinePending;
+
+            StreamPipe(InputStream in) {
+                this.in = new BufferedReader(new InputStreamReader(in));
+            }
+
+            @Override
+            public void run() {
+                try {
+                    String line;
+                    while ((line = in.readLine()) != null) {
+                        if (taskEndMarker.equals(line)) {
+                            // the line separator printed before the marker is not part of the task output
+                            emptyLinePending = false;
+                            taskEnd.countDown();
+                        } else if (line.isEmpty()) {
+                            if (emptyLinePending) {
+                                print(line);
+                            }
+                            emptyLinePending = true;
+                        } else {
+                            if (emptyLinePending) {
+                                print("");
+                                emptyLinePending = false;
+                            }
+                            print(line);
+                        }
+                    }
+                } catch (IOException e) {
+                    //nothing to do, the JVM is dead
+                } finally {
+                    alive = false;
+                    taskEnd.countDown();
+                    taskEnd.countDown();
+                }
+            }
+
+            private void print(String line) {
+                PrintStream currentSink = sink;
+                if (currentSink != null) {
+                    currentSink.println(line);
+                }
+            }
+        }
+    }
+}
@@ -39,12 +39,14 @@ import org.ow2.proactive.scheduler.task.context.TaskContext;
 import org.ow2.proactive.scheduler.task.context.TaskContextSerializer;
 import org.ow2.proactive.scheduler.task.exceptions.ForkedJvmProcessException;
 import org.ow2.proactive.scheduler.task.executors.forked.env.ExecuteForkedTaskInsideNewJvm;
+import org.ow2.proactive.scheduler.task.executors.forked.env.ForkedJvmTaskExecutionCommandCreator;
 import org.ow2.proactive.scheduler.task.utils.ProcessStreamsReader;
 import org.ow2.proactive.utils.CookieBasedProcessTreeKiller;
 
 
 /**
  * Executor in charge to fork a new process for running a non forked task in a dedicated JVM.
+ * When the {@link ForkedJvmPool} is enabled, compatible tasks are executed in a pre-started JVM instead.
  *
  * @see ExecuteForkedTaskInsideNewJvm#fromForkedJVM(String)
  * @see InProcessTaskExecutor
@@ -55,14 +57,30 @@ public class ForkedTaskExecutor implements TaskExecutor {
 
     private final TaskContextSerializer taskContextSerializer = new TaskContextSerializer();
 
+    private final ForkedJvmTaskExecutionCommandCreator forkedJvmTaskExecutionCommandCreator = new ForkedJvmTaskExecutionCommandCreator();
+
     private final File workingDir;
 
+    private ForkedJvmPool forkedJvmPool;
+
     public ForkedTaskExecutor(File workingDir) {
         this.workingDir = workingDir;
     }
 
+    public ForkedTaskExecutor(File workingDir, ForkedJvmPool forkedJvmPool) {
+        this.workingDir = workingDir;
+        this.forkedJvmPool = forkedJvmPool;
+    }
+
     @Override
     public TaskResultImpl execute(TaskContext context, PrintStream outputSink, PrintStream errorSink) {
+        if (forkedJvmPool == null) {
+            forkedJvmPool = ForkedJvmPool.getInstance();
+        }
+        if (forkedJvmPool.accepts(context)) {
+            return executeInPooledJvm(context, outputSink, errorSink);
+        }
+
         CookieBasedProcessTreeKiller taskProcessTreeKiller = null;
         Process process = null;
         ProcessStreamsReader processStreamsReader = null;
@@ -93,19 +111,7 @@ public class ForkedTaskExecutor implements TaskExecutor {
             int exitCode = process.waitFor();
 
             if (exitCode != 0) {
-                try {
-                    Object error = deserializeTaskResult(serializedContext);
-                    if (error instanceof TaskContext) {
-                        return createTaskResult(context,
-                                                new IOException("Forked JVM process returned with exit code " +
-                                                                exitCode + ", see task logs for more information"));
-                    } else {
-                        Throwable exception = (Throwable) error;
-                        return createTaskResult(context, exception);
-                    }
-                } catch (Throwable cannotDeserializeResult) {
-                    return createTaskResult(context, cannotDeserializeResult);
-                }
+                return createFailedTaskResult(context, serializedContext, exitCode);
             }
 
             return (TaskResultImpl) deserializeTaskResult(serializedContext);
@@ -126,6 +132,57 @@ public class ForkedTaskExecutor implements TaskExecutor {
         }
     }
 
+    private TaskResultImpl executeInPooledJvm(TaskContext context, PrintStream outputSink, PrintStream errorSink) {
+        ForkedJvmPool.PooledJvm jvm = null;
+        boolean reusable = false;
+        File serializedContext = null;
+
+        try {
+            if (!workingDir.exists()) {
+                FileUtils.forceMkdir(workingDir);
+            }
+            serializedContext = taskContextSerializer.serializeContext(context, workingDir);
+
+            jvm = forkedJvmPool.acquire(forkedJvmTaskExecutionCommandCreator.createPooledForkedJvmCommand(context),
+                                        context.getSchedulerHome());
+
+            if (!jvm.execute(serializedContext.getAbsolutePath(),
+                             outputSink,
+                             errorSink,
+                             forkedJvmPool.getTaskTimeout(context))) {
+                return createFailedTaskResult(context, serializedContext, jvm.waitFor());
+            }
+
+            TaskResultImpl result = (TaskResultImpl) deserializeTaskResult(serializedContext);
+            reusable = true;
+            return result;
+        } catch (Throwable throwable) {
+            return createTaskResult(context, throwable);
+        } finally {
+            FileUtils.deleteQuietly(serializedContext);
+
+            if (jvm != null) {
+                forkedJvmPool.release(jvm, reusable);
+            }
+        }
+    }
+
+    private TaskResultImpl createFailedTaskResult(TaskContext context, File serializedContext, int exitCode) {
+        try {
+            Object error = deserializeTaskResult(serializedContext);
+            if (error instanceof TaskContext) {
+                return createTaskResult(context,
+                                        new IOException("Forked JVM process returned with exit code " + exitCode +
+                                                        ", see task logs for more information"));
+            } else {
+                Throwable exception = (Throwable) error;
+                return createTaskResult(context, exception);
+            }
+        } catch (Throwable cannotDeserializeResult) {
+            return createTaskResult(context, cannotDeserializeResult);
+        }
+    }
+
     private TaskResultImpl createTaskResult(TaskContext context, Throwable throwable) {
         return new TaskResultImpl(context.getTaskId(),
                                   new ForkedJvmProcessException("Failed to execute task in a forked JVM", throwable));
@@ -102,19 +102,28 @@ public class ExecuteForkedTaskInsideNewJvm {
 
         ExecuteForkedTaskInsideNewJvm instance = ExecuteForkedTaskInsideNewJvm.getInstance();
 
-        instance.fromForkedJVM(args[0]);
+        if (!instance.fromForkedJVM(args[0])) {
+            System.exit(1);
+        }
 
         // Call to System.exit is necessary at this point (when the task is finished normally) as the forked JVM can keep alive non-daemon threads
         System.exit(0);
     }
 
-    private void fromForkedJVM(String contextPath) {
+    /**
+     * Executes the task whose context is serialized at the given path and writes its result (or the
+     * error preventing its execution) at the same path.
+     *
+     * @return true if the task result was written, false if the task could not be executed
+     */
+    boolean fromForkedJVM(String contextPath) {
         try {
             TaskContext container = deserializeContext(contextPath);
 
             TaskResultImpl result = new InProcessTaskExecutor().execute(container, System.out, System.err);
 
             serializeTaskResult(result, contextPath);
+            return true;
         } catch (Throwable throwable) {
             throwable.printStackTrace(System.err);
             try {
@@ -123,7 +132,7 @@ public class ExecuteForkedTaskInsideNewJvm {
                 System.err.println("Could not serialize exception as task result:");
                 couldNotSerializeException.printStackTrace(System.err);
             }
-            System.exit(1);
+            return false;
         }
     }
 }
@@ -0,0 +1,78 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.task.executors.forked.env;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+
+
+/**
+ * Entry point of a pooled forked JVM, see {@link org.ow2.proactive.scheduler.task.executors.ForkedJvmPool}.
+ * <p>
+ * Paths to serialized task contexts are read line by line from the standard input. Each task is executed
+ * as in {@link ExecuteForkedTaskInsideNewJvm} and, once its result is written, the end marker given as
+ * argument is printed on its own line on both the standard output and the standard error so that the forker
+ * knows that the task output has been fully flushed. A line separator is always printed before the marker,
+ * the forker removes it from the task output. The JVM exits when the standard input is closed or when a task
+ * could not be executed.
+ */
+public class ExecuteForkedTasksInsidePooledJvm {
+
+    private ExecuteForkedTasksInsidePooledJvm() {
+
+    }
+
+    /**
+     * Everything here and called from here should only use System.out and System.err
+     */
+    public static void main(String[] args) throws Throwable {
+        if (args.length != 1) {
+            System.err.println("Task end marker is expected");
+            System.exit(-1);
+        }
+        String taskEndMarker = args[0];
+
+        ExecuteForkedTaskInsideNewJvm instance = ExecuteForkedTaskInsideNewJvm.getInstance();
+
+        BufferedReader contextPaths = new BufferedReader(new InputStreamReader(System.in));
+        String contextPath;
+        while ((contextPath = contextPaths.readLine()) != null) {
+            if (!instance.fromForkedJVM(contextPath)) {
+                System.exit(1);
+            }
+            // the task output may not end with a line separator, the marker must be on its own line
+            System.out.println();
+            System.out.println(taskEndMarker);
+            System.out.flush();
+            System.err.println();
+            System.err.println(taskEndMarker);
+            System.err.flush();
+        }
+
+        // Call to System.exit is necessary at this point as the executed tasks can keep alive non-daemon threads
+        System.exit(0);
+    }
+}
@@ -72,6 +72,35 @@ public class ForkedJvmTaskExecutionCommandCreator implements Serializable {
         if (taskContext == null) {
             return new ArrayList<>(0);
         }
+        List<String> javaCommand = createJavaCommand(taskContext, forkEnvironmentScriptResult);
+        javaCommand.add(ExecuteForkedTaskInsideNewJvm.class.getName());
+        javaCommand.add(serializedContextAbsolutePath);
+
+        return javaCommand;
+    }
+
+    /**
+     * Creates a command to start a pooled java virtual machine able to run several tasks sharing
+     * the same fork environment, see {@link ExecuteForkedTasksInsidePooledJvm}. The task end marker
+     * argument must be appended to the returned command.
+     *
+     * @param taskContext TaskContext object describing the first task to run in the virtual machine.
+     * @return A List, empty if the TaskContext is null, otherwise filled with a command.
+     * @throws Exception If the {@link TaskContextVariableExtractor} could not extract all variables from the
+     *                   TaskContext.
+     */
+    public List<String> createPooledForkedJvmCommand(TaskContext taskContext) throws Exception {
+        if (taskContext == null) {
+            return new ArrayList<>(0);
+        }
+        List<String> javaCommand = createJavaCommand(taskContext, null);
+        javaCommand.add(ExecuteForkedTasksInsidePooledJvm.class.getName());
+
+        return javaCommand;
+    }
+
+    private List<String> createJavaCommand(TaskContext taskContext, ScriptResult forkEnvironmentScriptResult)
+            throws Exception {
         Map<String, Serializable> variables = taskContextVariableExtractor.extractVariables(taskContext, true);
         String javaHome = System.getProperty("java.home");
         ArrayList<String> jvmArguments = new ArrayList<>(1);
@@ -120,8 +149,6 @@ public class ForkedJvmTaskExecutionCommandCreator implements Serializable {
         javaCommand.add("-cp");
         javaCommand.add(classpath.toString());
         javaCommand.addAll(jvmArguments);
-        javaCommand.add(ExecuteForkedTaskInsideNewJvm.class.getName());
-        javaCommand.add(serializedContextAbsolutePath);
 
         return javaCommand;
     }
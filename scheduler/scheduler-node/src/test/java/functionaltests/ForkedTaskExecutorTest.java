@@ -26,6 +26,8 @@
 package functionaltests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -58,6 +60,7 @@ import org.ow2.proactive.scheduler.task.TestTaskOutput;
 import org.ow2.proactive.scheduler.task.containers.ScriptExecutableContainer;
 import org.ow2.proactive.scheduler.task.context.NodeDataSpacesURIs;
 import org.ow2.proactive.scheduler.task.context.TaskContext;
+import org.ow2.proactive.scheduler.task.executors.ForkedJvmPool;
 import org.ow2.proactive.scheduler.task.executors.ForkedTaskExecutor;
 import org.ow2.proactive.scheduler.task.utils.Decrypter;
 import org.ow2.proactive.scripting.SimpleScript;
@@ -309,6 +312,96 @@ public class ForkedTaskExecutorTest {
         assertTrue(taskResult.hadException());
     }
 
+    @Test(timeout = 60000)
+    public void pooledJvmIsReusedThenRecycled() throws Throwable {
+        ForkedJvmPool forkedJvmPool = new ForkedJvmPool(1, 2);
+        try {
+            ForkedTaskExecutor taskExecutor = new ForkedTaskExecutor(tmpFolder.newFolder(), forkedJvmPool);
+
+            TaskLauncherInitializer initializer = new TaskLauncherInitializer();
+            initializer.setTaskId((TaskIdImpl.createTaskId(JobIdImpl.makeJobId("1000"), "job", 1000L)));
+
+            String[] jvmNames = new String[3];
+            for (int i = 0; i < jvmNames.length; i++) {
+                TestTaskOutput taskOutput = new TestTaskOutput();
+
+                TaskResultImpl result = taskExecutor.execute(new TaskContext(new ScriptExecutableContainer(new TaskScript(new SimpleScript("println 'task" +
+                                                                                                                                           i +
+                                                                                                                                           "'; result=java.lang.management.ManagementFactory.getRuntimeMXBean().getName()",
+                                                                                                                                           "groovy"))),
+                                                                             initializer,
+                                                                             null,
+                                                                             new NodeDataSpacesURIs("",
+                                                                                                    "",
+                                                                                                    "",
+                                                                                                    "",
+                                                                                                    "",
+                                                                                                    ""),
+                                                                             "",
+                                                                             ""),
+                                                             taskOutput.outputStream,
+                                                             taskOutput.error);
+
+                assertEquals(String.format("task%d%n", i), taskOutput.output());
+                jvmNames[i] = (String) result.value();
+            }
+
+            assertEquals(jvmNames[0], jvmNames[1]);
+            assertNotEquals(jvmNames[1], jvmNames[2]);
+        } finally {
+            forkedJvmPool.shutdown();
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void pooledJvmTaskOutputWithoutLineSeparator() throws Throwable {
+        ForkedJvmPool forkedJvmPool = new ForkedJvmPool(1, 2);
+        try {
+            ForkedTaskExecutor taskExecutor = new ForkedTaskExecutor(tmpFolder.newFolder(), forkedJvmPool);
+
+            for (String script : new String[] { "print 'no line separator'", "println 'no line separator'" }) {
+                TestTaskOutput taskOutput = new TestTaskOutput();
+
+                TaskResultImpl result = taskExecutor.execute(createPooledTaskContext(script),
+                                                             taskOutput.outputStream,
+                                                             taskOutput.error);
+
+                assertFalse(result.hadException());
+                assertEquals(String.format("no line separator%n"), taskOutput.output());
+            }
+        } finally {
+            forkedJvmPool.shutdown();
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void pooledJvmIsRecycledWhenTaskDoesNotEndInTime() throws Throwable {
+        ForkedJvmPool forkedJvmPool = new ForkedJvmPool(1, 2, 1000);
+        try {
+            ForkedTaskExecutor taskExecutor = new ForkedTaskExecutor(tmpFolder.newFolder(), forkedJvmPool);
+            TestTaskOutput taskOutput = new TestTaskOutput();
+
+            TaskResultImpl result = taskExecutor.execute(createPooledTaskContext("Thread.sleep(30000)"),
+                                                         taskOutput.outputStream,
+                                                         taskOutput.error);
+
+            assertTrue(result.hadException());
+        } finally {
+            forkedJvmPool.shutdown();
+        }
+    }
+
+    private TaskContext createPooledTaskContext(String script) throws Exception {
+        TaskLauncherInitializer initializer = new TaskLauncherInitializer();
+        initializer.setTaskId((TaskIdImpl.createTaskId(JobIdImpl.makeJobId("1000"), "job", 1000L)));
+        return new TaskContext(new ScriptExecutableContainer(new TaskScript(new SimpleScript(script, "groovy"))),
+                               initializer,
+                               null,
+                               new NodeDataSpacesURIs("", "", "", "", "", ""),
+                               "",
+                               "");
+    }
+
     private Decrypter createCredentials(String username) throws NoSuchAlgorithmException, KeyException {
         CredData credData = new CredData(username, "pwd");
         KeyPairGenerator keyGen;
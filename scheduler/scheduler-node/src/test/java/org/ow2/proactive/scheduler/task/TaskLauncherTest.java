@@ -272,6 +272,18 @@ public class TaskLauncherTest extends TaskLauncherTestAbstract {
         verify(dataspacesMock).close();
     }
 
+    @Test
+    public void keyPairIsSharedByLaunchersOnlyWhenReuseIsEnabled() throws Exception {
+        assertNotEquals(new TaskLauncher().generatePublicKey(), new TaskLauncher().generatePublicKey());
+
+        System.setProperty(TaskLauncher.PA_NODE_LAUNCHER_KEYPAIR_REUSE, "true");
+        try {
+            assertEquals(new TaskLauncher().generatePublicKey(), new TaskLauncher().generatePublicKey());
+        } finally {
+            System.clearProperty(TaskLauncher.PA_NODE_LAUNCHER_KEYPAIR_REUSE);
+        }
+    }
+
     @Test
     public void testProgressFileReaderIntegration() throws Throwable {
         int nbIterations = 3;
@@ -25,25 +25,42 @@
  */
 package org.ow2.proactive.scheduler.core;
 
-import java.lang.reflect.Method;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.log4j.Logger;
 import org.objectweb.proactive.core.UniqueID;
 import org.objectweb.proactive.utils.NamedThreadFactory;
+import org.ow2.proactive.scheduler.common.NotificationData;
+import org.ow2.proactive.scheduler.common.SchedulerEvent;
 import org.ow2.proactive.scheduler.common.SchedulerEventListener;
+import org.ow2.proactive.scheduler.common.job.JobId;
+import org.ow2.proactive.scheduler.common.job.JobInfo;
+import org.ow2.proactive.scheduler.common.job.JobState;
+import org.ow2.proactive.scheduler.common.job.UserIdentification;
+import org.ow2.proactive.scheduler.common.task.TaskInfo;
 import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
-import org.ow2.proactive.threading.ReifiedMethodCall;
+import org.ow2.proactive.utils.TaskIdWrapper;
 
 
 /**
  * ClientRequestHandler is used to delegate event call to client.
- * This class should be used with the ThreadPoolController which handles threads.
+ * <p>
+ * Events are stored in a bounded ring buffer allocated once per client and are sent by
+ * the shared thread pool with direct calls on the client. When the buffer is full, the
+ * {@link SlowClientPolicy} decides what happens to the new event. Unless the client explicitly
+ * accepts to lose events, it is disconnected rather than missing an event, so that it registers
+ * again and gets a fresh state of the scheduler.
+ * <p>
+ * Clients which asked for {@link SchedulerEvent#JOB_TASKS_SUMMARY} also receive, at most once per
+ * period, the latest {@link JobInfo} of each job whose tasks changed during this period.
  *
  * @author The ProActive Team
  * @since ProActive Scheduling 2.0
@@ -55,10 +72,23 @@ public class ClientRequestHandler {
     /** Number of threads used by the thread pool for clients events sending */
     private static final int THREAD_NUMBER = PASchedulerProperties.SCHEDULER_LISTENERS_THREADNUMBER.getValueAsInt();
 
+    /** Number of events that can be stored for a client before the slow client policy applies */
+    private static final int BUFFER_SIZE = PASchedulerProperties.SCHEDULER_LISTENERS_BUFFER_SIZE.getValueAsInt();
+
+    /** What to do with the events of a client when its buffer is full */
+    private static final SlowClientPolicy SLOW_CLIENT_POLICY = SlowClientPolicy.fromProperty();
+
+    /** Minimum time between two summaries sent to a client, in milliseconds */
+    private static final long SUMMARY_PERIOD = PASchedulerProperties.SCHEDULER_LISTENERS_SUMMARY_PERIOD.getValueAsInt();
+
     /** thread pool */
     private static final ExecutorService threadPoolForNetworkCalls = Executors.newFixedThreadPool(THREAD_NUMBER,
                                                                                                   new NamedThreadFactory("ClientEventHandlerPool"));
 
+    /** Used to send the summaries of all clients */
+    private static final ScheduledExecutorService summaryTimer = Executors.newSingleThreadScheduledExecutor(
+            new NamedThreadFactory("ClientEventSummaryTimer"));
+
     private static final AtomicInteger requestLeft = new AtomicInteger();
 
     public static void terminate() {
@@ -70,14 +100,59 @@ public class ClientRequestHandler {
                     requestLeft.wait();
                 }
             }
+            summaryTimer.shutdownNow();
             threadPoolForNetworkCalls.shutdown();
             threadPoolForNetworkCalls.awaitTermination(13, TimeUnit.SECONDS);
         } catch (Exception e) {
         }
     }
 
-    /** Busy state of this client request queue */
-    private final AtomicBoolean busy = new AtomicBoolean(false);
+    /**
+     * Events that can be sent to a client, one per method of {@link SchedulerEventListener}.
+     */
+    enum EventType {
+        SCHEDULER_STATE_UPDATED,
+        JOB_SUBMITTED,
+        JOB_STATE_UPDATED,
+        JOB_UPDATED_FULL_DATA,
+        TASK_STATE_UPDATED,
+        USERS_UPDATED
+    }
+
+    /**
+     * What to do with a new event when the buffer of a client is full.
+     */
+    enum SlowClientPolicy {
+        /**
+         * an event about a task replaces the latest buffered event about the same task when both
+         * are of the same type, which is done whether the buffer is full or not; when a new event cannot
+         * replace a buffered one, the client is disconnected as with {@link #DISCONNECT}
+         */
+        COALESCE,
+        /** drop the new event, the client misses it and is not notified */
+        DROP,
+        /** forget every buffered event and remove the client */
+        DISCONNECT;
+
+        static SlowClientPolicy fromProperty() {
+            String value = PASchedulerProperties.SCHEDULER_LISTENERS_SLOW_CLIENT_POLICY.getValueAsString();
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                logger.warn("Unknown slow client policy '" + value + "', using " + COALESCE);
+                return COALESCE;
+            }
+        }
+    }
+
+    /** Busy state of this client request queue, guarded by the buffer lock */
+    private boolean busy = false;
+
+    /** Set when the client has been removed because it was too slow, guarded by the buffer lock */
+    private boolean disconnected = false;
+
+    /** Set while events of this client are being dropped, used to log only once per slow period */
+    private boolean dropping = false;
 
     /** Client id on which to send the request */
     private final UniqueID clientId;
@@ -85,12 +160,51 @@ public class ClientRequestHandler {
     /** Client (listener) on which to send the request */
     private final SchedulerEventListener client;
 
-    /** Events queue to be stored */
-    private final LinkedList<ReifiedMethodCall> eventCallsToStore;
-
     /** Cross reference to the front-end : used to mark client as dirty */
     private final SchedulerFrontendState frontend;
 
+    private final SlowClientPolicy slowClientPolicy;
+
+    /** Ring buffer of the events to be sent : type and data of each event */
+    private final EventType[] bufferedTypes;
+
+    private final Object[] bufferedData;
+
+    /** Index of the oldest buffered event */
+    private int head = 0;
+
+    /** Number of buffered events */
+    private int size = 0;
+
+    /** Events being sent, filled from the ring buffer by the sender */
+    private final EventType[] sentTypes;
+
+    private final Object[] sentData;
+
+    /** Position in the ring buffer of the latest event of each task waiting to be sent, when coalescing */
+    private final Map<TaskIdWrapper, Integer> bufferedTasks = new HashMap<>();
+
+    /** Latest information of the jobs whose tasks changed since the last summary */
+    private final Map<JobId, JobInfo> pendingSummaries = new LinkedHashMap<>();
+
+    private final long summaryPeriod;
+
+    /** Set when the next summary is planned, guarded by the buffer lock */
+    private boolean summaryScheduled = false;
+
+    /** Number of events dropped since the creation of this handler */
+    private long droppedEvents = 0;
+
+    /** The only task of this client, executed again each time new events are buffered */
+    private final Runnable sender = new EventSender();
+
+    private final Runnable summarySender = new Runnable() {
+        @Override
+        public void run() {
+            sendSummaries();
+        }
+    };
+
     /**
      * Create a new instance of ClientRequestHandler
      *
@@ -99,96 +213,274 @@ public class ClientRequestHandler {
      * @param client the reference on the client itself.
      */
     public ClientRequestHandler(SchedulerFrontendState frontend, UniqueID clientId, SchedulerEventListener client) {
+        this(frontend, clientId, client, BUFFER_SIZE, SLOW_CLIENT_POLICY, SUMMARY_PERIOD);
+    }
+
+    ClientRequestHandler(SchedulerFrontendState frontend, UniqueID clientId, SchedulerEventListener client,
+            int bufferSize, SlowClientPolicy slowClientPolicy, long summaryPeriod) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be positive : " + bufferSize);
+        }
         this.client = client;
         this.frontend = frontend;
         this.clientId = clientId;
-        this.eventCallsToStore = new LinkedList<>();
+        this.slowClientPolicy = slowClientPolicy;
+        this.summaryPeriod = summaryPeriod;
+        this.bufferedTypes = new EventType[bufferSize];
+        this.bufferedData = new Object[bufferSize];
+        this.sentTypes = new EventType[bufferSize];
+        this.sentData = new Object[bufferSize];
+    }
+
+    public void addSchedulerStateUpdatedEvent(SchedulerEvent eventType) {
+        addEvent(EventType.SCHEDULER_STATE_UPDATED, eventType);
+    }
+
+    public void addJobSubmittedEvent(JobState job) {
+        addEvent(EventType.JOB_SUBMITTED, job);
+    }
+
+    public void addJobStateUpdatedEvent(NotificationData<JobInfo> notification) {
+        addEvent(EventType.JOB_STATE_UPDATED, notification);
+    }
+
+    public void addJobUpdatedFullDataEvent(JobState job) {
+        addEvent(EventType.JOB_UPDATED_FULL_DATA, job);
+    }
+
+    public void addTaskStateUpdatedEvent(NotificationData<TaskInfo> notification) {
+        addEvent(EventType.TASK_STATE_UPDATED, notification);
+    }
+
+    public void addUsersUpdatedEvent(NotificationData<UserIdentification> notification) {
+        addEvent(EventType.USERS_UPDATED, notification);
+    }
+
+    /**
+     * Record that tasks of a job changed, the client will receive the given job information
+     * with the next summary.
+     *
+     * @param jobInfo the job information after the change
+     */
+    public void addJobTasksSummary(JobInfo jobInfo) {
+        synchronized (bufferedTypes) {
+            if (disconnected) {
+                return;
+            }
+            pendingSummaries.put(jobInfo.getJobId(), jobInfo);
+            if (!summaryScheduled) {
+                summaryScheduled = true;
+                summaryTimer.schedule(summarySender, summaryPeriod, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * @return the number of events of this client that were not sent because its buffer was full
+     */
+    public long getDroppedEvents() {
+        synchronized (bufferedTypes) {
+            return droppedEvents;
+        }
     }
 
     /**
      * Add an event to the request queue of this client
      *
-     * @param method the method to be called (must be a method implemented by the client)
-     * @param args the argument to be passed to the method
+     * @param type the type of the event, giving the method to be called on the client
+     * @param data the argument to be passed to the method
      */
-    public void addEvent(Method method, Object... args) {
-        synchronized (eventCallsToStore) {
-            eventCallsToStore.add(new ReifiedMethodCall(method, args));
+    private void addEvent(EventType type, Object data) {
+        synchronized (bufferedTypes) {
+            if (disconnected) {
+                return;
+            }
+            store(type, data);
+            tryStartTask();
+        }
+    }
+
+    /**
+     * Put an event in the ring buffer, called with the buffer lock held.
+     */
+    @SuppressWarnings("unchecked")
+    private void store(EventType type, Object data) {
+        TaskIdWrapper taskId = null;
+        if (type == EventType.TASK_STATE_UPDATED && slowClientPolicy == SlowClientPolicy.COALESCE) {
+            NotificationData<TaskInfo> notification = (NotificationData<TaskInfo>) data;
+            taskId = TaskIdWrapper.wrap(notification.getData().getTaskId());
+            Integer index = bufferedTasks.get(taskId);
+            if (index != null &&
+                ((NotificationData<TaskInfo>) bufferedData[index]).getEventType() == notification.getEventType()) {
+                // the client has not received the previous event yet and no other event of this task
+                // follows it, only the latest is useful
+                bufferedData[index] = data;
+                return;
+            }
+        }
+        if (size < bufferedTypes.length) {
+            int index = (head + size) % bufferedTypes.length;
+            bufferedTypes[index] = type;
+            bufferedData[index] = data;
+            size++;
             requestLeft.incrementAndGet();
+            dropping = false;
+            if (taskId != null) {
+                bufferedTasks.put(taskId, index);
+            }
+        } else {
+            bufferFull();
+        }
+    }
+
+    /**
+     * Send the pending summaries of this client as job state updated events.
+     */
+    private void sendSummaries() {
+        synchronized (bufferedTypes) {
+            summaryScheduled = false;
+            if (disconnected) {
+                return;
+            }
+            for (JobInfo jobInfo : pendingSummaries.values()) {
+                NotificationData<JobInfo> summary = new NotificationData<>(SchedulerEvent.JOB_TASKS_SUMMARY, jobInfo);
+                store(EventType.JOB_STATE_UPDATED, summary);
+                if (disconnected) {
+                    return;
+                }
+            }
+            pendingSummaries.clear();
+            tryStartTask();
+        }
+    }
+
+    /**
+     * Apply the slow client policy to an event that does not fit in the buffer.
+     * Only the {@link SlowClientPolicy#DROP} policy loses the event, the other policies
+     * disconnect the client. Called with the buffer lock held.
+     */
+    private void bufferFull() {
+        switch (slowClientPolicy) {
+            case DROP:
+                droppedEvents++;
+                if (!dropping) {
+                    dropping = true;
+                    logger.warn("Events buffer of client " + clientId + " is full (" + bufferedTypes.length +
+                                " events), new events are dropped");
+                }
+                return;
+            default:
+                logger.warn("Events buffer of client " + clientId + " is full (" + bufferedTypes.length +
+                            " events), disconnecting it");
+                disconnected = true;
+                droppedEvents += size + 1;
+                releaseRequests(size);
+                Arrays.fill(bufferedData, null);
+                head = 0;
+                size = 0;
+                bufferedTasks.clear();
+                pendingSummaries.clear();
+                //remove this client from Frontend, as if it was dead
+                frontend.markAsDirty(clientId);
         }
-        tryStartTask();
     }
 
     /**
-     * Try to create a task with new events to send, and start it in the thread pool.
+     * Try to start the sender of this client in the thread pool.
      * Can do nothing if some previous events are currently being sent.
-     *
-     * Can be called from two different thread, even if it is private!
+     * Called with the buffer lock held.
      */
-    @SuppressWarnings("unchecked")
     private void tryStartTask() {
-        synchronized (eventCallsToStore) {
-            if (eventCallsToStore.size() > 0 && !busy.get()) {
-                LinkedList<ReifiedMethodCall> tasks = (LinkedList<ReifiedMethodCall>) eventCallsToStore.clone();
-                eventCallsToStore.clear();
-                busy.set(true);
-                threadPoolForNetworkCalls.execute(new TaskRunnable(tasks));
+        if (size > 0 && !busy) {
+            busy = true;
+            threadPoolForNetworkCalls.execute(sender);
+        }
+    }
+
+    private static void releaseRequests(int count) {
+        //unlock shutdown request if needed
+        if (count > 0 && requestLeft.addAndGet(-count) == 0) {
+            synchronized (requestLeft) {
+                //inner synchronized OK since only used during termination (= no new event)
+                requestLeft.notify();
             }
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private void send(EventType type, Object data) {
+        switch (type) {
+            case SCHEDULER_STATE_UPDATED:
+                client.schedulerStateUpdatedEvent((SchedulerEvent) data);
+                break;
+            case JOB_SUBMITTED:
+                client.jobSubmittedEvent((JobState) data);
+                break;
+            case JOB_STATE_UPDATED:
+                client.jobStateUpdatedEvent((NotificationData<JobInfo>) data);
+                break;
+            case JOB_UPDATED_FULL_DATA:
+                client.jobUpdatedFullDataEvent((JobState) data);
+                break;
+            case TASK_STATE_UPDATED:
+                client.taskStateUpdatedEvent((NotificationData<TaskInfo>) data);
+                break;
+            case USERS_UPDATED:
+                client.usersUpdatedEvent((NotificationData<UserIdentification>) data);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown event type " + type);
+        }
+    }
+
     /**
-     * TaskRunnable is the task in charge to send the events in its list.
+     * EventSender is the task in charge to send the buffered events of this client.
+     * Only one sender runs at a time for a given client.
      *
      * @author The ProActive Team
      * @since ProActive Scheduling 2.0
      */
-    class TaskRunnable implements Runnable {
-
-        /** Events queue to be sent */
-        private final LinkedList<ReifiedMethodCall> eventCallsToSend;
-
-        /**
-         * Create a new instance of Task
-         *
-         * @param eventCallsToSend
-         */
-        public TaskRunnable(LinkedList<ReifiedMethodCall> eventCalls) {
-            if (eventCalls == null || eventCalls.size() == 0) {
-                throw new IllegalArgumentException("List argument must not be null nor empty !");
-            }
-            this.eventCallsToSend = eventCalls;
-        }
+    class EventSender implements Runnable {
 
         /**
          * {@inheritDoc}
          */
         public void run() {
+            int count;
+            synchronized (bufferedTypes) {
+                count = size;
+                for (int i = 0; i < count; i++) {
+                    int index = (head + i) % bufferedTypes.length;
+                    sentTypes[i] = bufferedTypes[index];
+                    sentData[i] = bufferedData[index];
+                    bufferedData[index] = null;
+                }
+                head = (head + count) % bufferedTypes.length;
+                size = 0;
+                bufferedTasks.clear();
+            }
+            releaseRequests(count);
             try {
-                //unlock shutdown request if needed
-                if (requestLeft.addAndGet(-eventCallsToSend.size()) == 0) {
-                    synchronized (requestLeft) {
-                        //inner synchronized OK since only used during termination (= no new event)
-                        requestLeft.notify();
-                    }
+                //loop on the batch and send events
+                for (int i = 0; i < count; i++) {
+                    send(sentTypes[i], sentData[i]);
+                    sentData[i] = null;
                 }
-                //loop on the list and send events
-                while (!eventCallsToSend.isEmpty()) {
-                    ReifiedMethodCall methodCall = eventCallsToSend.removeFirst();
-                    methodCall.getMethod().invoke(client, methodCall.getArguments());
+                synchronized (bufferedTypes) {
+                    busy = false;
+                    //try to empty the events buffer if no event comes from the core
+                    tryStartTask();
                 }
-                busy.set(false);
-                //try to empty the events list if no event comes from the core
-                tryStartTask();
             } catch (Throwable t) {
                 if (logger.isDebugEnabled()) {
                     logger.debug("Error during sending event to the cleint " + clientId, t);
                 }
+                Arrays.fill(sentData, 0, count, null);
                 //remove this client from Frontend (client dead or timed out)
                 frontend.markAsDirty(clientId);
-                //do not set busy here, we don't want to wait N times for the network timeout
-                //so when client is dead keep busy to avoid re-execution of this run method by another thread
-                busy.set(false);
+                synchronized (bufferedTypes) {
+                    busy = false;
+                }
             }
         }
 
@@ -0,0 +1,154 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import java.security.KeyException;
+import java.security.PublicKey;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.ow2.proactive.authentication.crypto.CredData;
+import org.ow2.proactive.authentication.crypto.Credentials;
+import org.ow2.proactive.scheduler.common.job.JobId;
+
+
+/**
+ * Bounded LRU cache of the decrypted credentials of jobs, enriched with the third party credentials of their owner.
+ * <p>
+ * An entry is only returned for the credentials object it was computed from, and entries of a user are
+ * invalidated when its third party credentials change. Each entry also keeps the credentials encrypted for the
+ * last public key received from a task launcher, so that launchers sharing their key pair get them without
+ * any new encryption.
+ */
+class CredentialsCache {
+
+    private final Map<JobId, Entry> entries;
+
+    /** Incremented each time the third party credentials of a user change */
+    private final Map<String, Integer> ownerVersions = new HashMap<>();
+
+    CredentialsCache(final int maxSize) {
+        this.entries = new LinkedHashMap<JobId, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<JobId, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return the cached entry of the given job, or null if it is missing or outdated
+     */
+    synchronized Entry get(JobId jobId, Credentials credentials, String owner) {
+        Entry entry = entries.get(jobId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.credentials != credentials || entry.version != getVersion(owner)) {
+            entries.remove(jobId);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * @return the current version of the third party credentials of the given user, to be passed
+     * to {@link #put(JobId, Entry)} through the entry computed from them
+     */
+    synchronized int getVersion(String owner) {
+        Integer version = ownerVersions.get(owner);
+        return version == null ? 0 : version;
+    }
+
+    /**
+     * Cache the given entry, unless the third party credentials of its owner changed during its computation.
+     */
+    synchronized void put(JobId jobId, Entry entry) {
+        if (entry.version == getVersion(entry.owner)) {
+            entries.put(jobId, entry);
+        }
+    }
+
+    /**
+     * Invalidate the entries of all the jobs of the given user.
+     */
+    synchronized void invalidate(String owner) {
+        ownerVersions.put(owner, getVersion(owner) + 1);
+    }
+
+    synchronized void remove(JobId jobId) {
+        entries.remove(jobId);
+    }
+
+    /**
+     * Decrypted credentials of a job, must not be modified once cached.
+     */
+    static class Entry {
+
+        private final Credentials credentials;
+
+        private final String owner;
+
+        private final int version;
+
+        private final CredData credData;
+
+        private volatile EncryptedCredentials lastEncrypted;
+
+        Entry(Credentials credentials, String owner, int version, CredData credData) {
+            this.credentials = credentials;
+            this.owner = owner;
+            this.version = version;
+            this.credData = credData;
+        }
+
+        /**
+         * @return the decrypted credentials encrypted with the given public key
+         */
+        Credentials encryptFor(PublicKey publicKey) throws KeyException {
+            EncryptedCredentials encrypted = lastEncrypted;
+            if (encrypted != null && encrypted.publicKey.equals(publicKey)) {
+                return encrypted.credentials;
+            }
+            Credentials credentials = Credentials.createCredentials(credData, publicKey);
+            lastEncrypted = new EncryptedCredentials(publicKey, credentials);
+            return credentials;
+        }
+    }
+
+    private static class EncryptedCredentials {
+
+        private final PublicKey publicKey;
+
+        private final Credentials credentials;
+
+        EncryptedCredentials(PublicKey publicKey, Credentials credentials) {
+            this.publicKey = publicKey;
+            this.credentials = credentials;
+        }
+    }
+}
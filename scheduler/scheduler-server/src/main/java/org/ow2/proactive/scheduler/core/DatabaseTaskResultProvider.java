@@ -0,0 +1,64 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import org.objectweb.proactive.annotation.ImmediateService;
+import org.objectweb.proactive.extensions.annotation.ActiveObject;
+import org.ow2.proactive.scheduler.common.TaskResultProvider;
+import org.ow2.proactive.scheduler.common.exception.UnknownTaskException;
+import org.ow2.proactive.scheduler.common.task.TaskId;
+import org.ow2.proactive.scheduler.common.task.TaskResult;
+
+
+/**
+ * Serves the results of parent tasks to the task launchers, which receive
+ * {@link org.ow2.proactive.scheduler.task.TaskResultReference} instead of the full results.
+ */
+@ActiveObject
+public class DatabaseTaskResultProvider implements TaskResultProvider {
+
+    private SchedulingService schedulingService;
+
+    public DatabaseTaskResultProvider() {
+    }
+
+    DatabaseTaskResultProvider(SchedulingService schedulingService) {
+        this.schedulingService = schedulingService;
+    }
+
+    // We need this method to be synchronous, hence the checked exception.
+    // It only reads the database, so launchers do not wait for the other requests served by this active object
+    @Override
+    @ImmediateService
+    public TaskResult getTaskResult(TaskId taskId) throws UnknownTaskException {
+        TaskResult taskResult = schedulingService.getInfrastructure().getDBManager().loadLastTaskResult(taskId);
+        if (taskResult == null) {
+            throw new UnknownTaskException(taskId, taskId.getJobId());
+        }
+        return taskResult;
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.ow2.proactive.scheduler.common.job.JobId;
+import org.ow2.proactive.scheduler.common.job.JobPriority;
+import org.ow2.proactive.scheduler.job.InternalJob;
+
+
+/**
+ * Index of the live jobs which have eligible tasks, ordered by decreasing priority and then by
+ * submission order (same order as {@link org.ow2.proactive.scheduler.policy.DefaultPolicy}).
+ * <p>
+ * The index entry of a job is refreshed each time the job lock is released, so a scheduling loop
+ * only visits jobs with runnable work instead of every live job.
+ *
+ * @author The ProActive Team
+ */
+class EligibleJobsIndex {
+
+    private final ConcurrentSkipListMap<Key, LiveJobs.JobData> index = new ConcurrentSkipListMap<>();
+
+    /**
+     * Add, move or remove the given job in the index according to its current state.
+     * Must be called by a thread holding the job lock (or before the job is published).
+     */
+    void update(LiveJobs.JobData jobData) {
+        InternalJob job = jobData.job;
+        Key previous = jobData.indexKey;
+        Key current = null;
+        if (job.getStatus().isJobAlive() && job.getJobDescriptor().hasEligibleTasks()) {
+            current = new Key(job.getPriority(), job.getId());
+        }
+        if (previous != null && !previous.equals(current)) {
+            index.remove(previous);
+        }
+        if (current != null) {
+            index.put(current, jobData);
+        }
+        jobData.indexKey = current;
+    }
+
+    /**
+     * Remove the given job from the index.
+     * Must be called by a thread holding the job lock.
+     */
+    void remove(LiveJobs.JobData jobData) {
+        if (jobData.indexKey != null) {
+            index.remove(jobData.indexKey);
+            jobData.indexKey = null;
+        }
+    }
+
+    /**
+     * @return a weakly consistent view of the indexed jobs, ordered by decreasing priority then by submission order
+     */
+    Collection<LiveJobs.JobData> getJobs() {
+        return index.values();
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    static final class Key implements Comparable<Key> {
+
+        private final JobPriority priority;
+
+        private final JobId jobId;
+
+        Key(JobPriority priority, JobId jobId) {
+            this.priority = priority;
+            this.jobId = jobId;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int result = other.priority.compareTo(priority);
+            if (result == 0) {
+                result = jobId.compareTo(other.jobId);
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return priority == key.priority && jobId.equals(key.jobId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * priority.hashCode() + jobId.hashCode();
+        }
+    }
+
+}
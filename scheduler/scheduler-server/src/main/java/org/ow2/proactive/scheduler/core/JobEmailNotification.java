@@ -75,6 +75,59 @@ public class JobEmailNotification {
     }
 
     public boolean doCheckAndSend() throws JobEmailNotificationException {
+        if (!isNotificationRequired()) {
+            return false;
+        }
+        try {
+            sender.sender(getTo(), getSubject(), getBody(jobState.getStatus().toString()));
+            return true;
+        } catch (EmailException e) {
+            throw new JobEmailNotificationException("Error sending email: " + e.getMessage(), e);
+        }
+    }
+
+    public void checkAndSend() {
+        try {
+            boolean sent = doCheckAndSend();
+            if (sent) {
+                jlogger.info(jobState.getId(), "sent notification email for finished job");
+            }
+        } catch (JobEmailNotificationException e) {
+            jlogger.warn(jobState.getId(), "failed to send email notification: " + e.getMessage());
+            logger.trace("Stack trace:", e);
+        }
+    }
+
+    /**
+     * Check if the notification has to be sent and hand it over to the given queue.
+     * The recipient, subject and job status are read synchronously, as the job state
+     * keeps on changing once the event has been handled.
+     *
+     * @param queue the queue sending the notification in the background
+     * @return true if the notification has been queued
+     */
+    boolean checkAndSendAsync(JobEmailNotificationQueue queue) {
+        try {
+            if (!isNotificationRequired()) {
+                return false;
+            }
+            final String to = getTo();
+            final String subject = getSubject();
+            final String status = jobState.getStatus().toString();
+            return queue.submit(jobState.getId(), new Runnable() {
+                @Override
+                public void run() {
+                    sender.sender(to, subject, getBody(status));
+                }
+            });
+        } catch (JobEmailNotificationException e) {
+            jlogger.warn(jobState.getId(), "failed to send email notification: " + e.getMessage());
+            logger.trace("Stack trace:", e);
+            return false;
+        }
+    }
+
+    private boolean isNotificationRequired() {
         String jobStatus = jobState.getGenericInformation().get(GENERIC_INFORMATION_KEY_NOTIFICATION_EVENT);
         List<String> jobStatusList = new ArrayList<>();
         if (jobStatus != null) {
@@ -100,27 +153,7 @@ public class JobEmailNotification {
             logger.debug("Notification emails disabled, doing nothing");
             return false;
         }
-        if (!jobStatusList.contains(eventType.toString().toLowerCase())) {
-            return false;
-        }
-        try {
-            sender.sender(getTo(), getSubject(), getBody());
-            return true;
-        } catch (EmailException e) {
-            throw new JobEmailNotificationException("Error sending email: " + e.getMessage(), e);
-        }
-    }
-
-    public void checkAndSend() {
-        try {
-            boolean sent = doCheckAndSend();
-            if (sent) {
-                jlogger.info(jobState.getId(), "sent notification email for finished job");
-            }
-        } catch (JobEmailNotificationException e) {
-            jlogger.warn(jobState.getId(), "failed to send email notification: " + e.getMessage());
-            logger.trace("Stack trace:", e);
-        }
+        return jobStatusList.contains(eventType.toString().toLowerCase());
     }
 
     private static String getFrom() throws JobEmailNotificationException {
@@ -145,9 +178,8 @@ public class JobEmailNotification {
         return String.format(SUBJECT_TEMPLATE, jobID, event);
     }
 
-    private String getBody() {
+    private String getBody(String status) {
         String jobID = jobState.getId().value();
-        String status = jobState.getStatus().toString();
         String hostname = "UNKNOWN";
         try {
             hostname = InetAddress.getLocalHost().getCanonicalHostName();
@@ -0,0 +1,158 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+import org.objectweb.proactive.utils.NamedThreadFactory;
+import org.ow2.proactive.scheduler.common.job.JobId;
+import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
+import org.ow2.proactive.scheduler.util.JobLogger;
+
+
+/**
+ * Sends the job email notifications in the background, so that a slow or unreachable
+ * mail server does not delay the dispatch of the scheduler events.
+ * <p>
+ * Notifications are queued in a bounded queue and sent one at a time. A notification
+ * which cannot be sent is retried a fixed number of times. When the queue is full,
+ * new notifications are dropped and counted.
+ */
+final class JobEmailNotificationQueue {
+
+    private static final Logger logger = Logger.getLogger(JobEmailNotificationQueue.class);
+
+    private static final JobLogger jlogger = JobLogger.getInstance();
+
+    private final ThreadPoolExecutor senderThread;
+
+    private final int retryAttempts;
+
+    private final long retryDelay;
+
+    private final AtomicLong sentNotifications = new AtomicLong();
+
+    private final AtomicLong failedNotifications = new AtomicLong();
+
+    private final AtomicLong droppedNotifications = new AtomicLong();
+
+    JobEmailNotificationQueue() {
+        this(PASchedulerProperties.EMAIL_NOTIFICATIONS_QUEUE_SIZE.getValueAsInt(),
+             PASchedulerProperties.EMAIL_NOTIFICATIONS_RETRY_ATTEMPTS.getValueAsInt(),
+             PASchedulerProperties.EMAIL_NOTIFICATIONS_RETRY_DELAY.getValueAsInt());
+    }
+
+    /**
+     * @param capacity maximum number of notifications waiting to be sent
+     * @param retryAttempts number of times a notification is retried after a failure
+     * @param retryDelay delay in milliseconds between two attempts
+     */
+    JobEmailNotificationQueue(int capacity, int retryAttempts, long retryDelay) {
+        this.retryAttempts = retryAttempts;
+        this.retryDelay = retryDelay;
+        this.senderThread = new ThreadPoolExecutor(1,
+                                                   1,
+                                                   0L,
+                                                   TimeUnit.MILLISECONDS,
+                                                   new ArrayBlockingQueue<Runnable>(capacity),
+                                                   new NamedThreadFactory("JobEmailNotificationSender"));
+    }
+
+    /**
+     * Queue a notification of the given job.
+     *
+     * @param jobId the job the notification is about
+     * @param sendAction the action sending the email, which throws a runtime exception on failure
+     * @return true if the notification has been queued, false if it has been dropped
+     */
+    boolean submit(final JobId jobId, final Runnable sendAction) {
+        try {
+            senderThread.execute(new Runnable() {
+                @Override
+                public void run() {
+                    send(jobId, sendAction);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            jlogger.warn(jobId,
+                         "email notification dropped, too many notifications are waiting to be sent (" +
+                                droppedNotifications.incrementAndGet() + " dropped so far)");
+            return false;
+        }
+    }
+
+    private void send(JobId jobId, Runnable sendAction) {
+        for (int attempt = 0;; attempt++) {
+            try {
+                sendAction.run();
+                sentNotifications.incrementAndGet();
+                jlogger.info(jobId, "sent notification email");
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= retryAttempts) {
+                    failedNotifications.incrementAndGet();
+                    jlogger.warn(jobId, "failed to send email notification: " + e.getMessage());
+                    logger.trace("Stack trace:", e);
+                    return;
+                }
+                jlogger.info(jobId, "failed to send email notification, retrying in " + retryDelay + " ms");
+            }
+            try {
+                Thread.sleep(retryDelay);
+            } catch (InterruptedException e) {
+                failedNotifications.incrementAndGet();
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    long getSentNotifications() {
+        return sentNotifications.get();
+    }
+
+    long getFailedNotifications() {
+        return failedNotifications.get();
+    }
+
+    long getDroppedNotifications() {
+        return droppedNotifications.get();
+    }
+
+    /**
+     * Stop accepting notifications, the queued ones are still sent.
+     */
+    void shutdown() {
+        senderThread.shutdown();
+    }
+
+}
@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -89,11 +90,24 @@ class LiveJobs {
 
         final ReentrantLock jobLock = new ReentrantLock();
 
-        private JobData(InternalJob job) {
+        private final EligibleJobsIndex eligibleJobs;
+
+        /** key of this job in the eligible jobs index, guarded by jobLock */
+        EligibleJobsIndex.Key indexKey;
+
+        /** false once the job has been removed from the live jobs */
+        private volatile boolean live = true;
+
+        private JobData(InternalJob job, EligibleJobsIndex eligibleJobs) {
             this.job = job;
+            this.eligibleJobs = eligibleJobs;
         }
 
         void unlock() {
+            // the job may have been modified while it was locked
+            if (live) {
+                eligibleJobs.update(this);
+            }
             jobLock.unlock();
         }
     }
@@ -104,6 +118,8 @@ class LiveJobs {
 
     private final Map<JobId, JobData> jobs = new ConcurrentHashMap<>();
 
+    private final EligibleJobsIndex eligibleJobs = new EligibleJobsIndex();
+
     private final ConcurrentHashMap<TaskIdWrapper, RunningTaskData> runningTasksData = new ConcurrentHashMap<>();
 
     private final OnErrorPolicyInterpreter onErrorPolicyInterpreter = new OnErrorPolicyInterpreter();
@@ -124,7 +140,7 @@ class LiveJobs {
     }
 
     void jobRecovered(InternalJob job) {
-        jobs.put(job.getId(), new JobData(job));
+        jobs.put(job.getId(), new JobData(job, eligibleJobs));
         for (InternalTask task : job.getITasks()) {
             if (task.getStatus() == TaskStatus.RUNNING) {
                 logger.info("Recover task " + task.getId() + " (" + task.getName() + ") of job " + job.getId() + " (" +
@@ -294,7 +310,9 @@ class LiveJobs {
         job.submitAction();
         dbManager.newJobSubmitted(job);
         ClientJobState clientJobState = new ClientJobState(job);
-        jobs.put(job.getId(), new JobData(job));
+        JobData jobData = new JobData(job, eligibleJobs);
+        eligibleJobs.update(jobData);
+        jobs.put(job.getId(), jobData);
         listener.jobSubmitted(clientJobState);
     }
 
@@ -323,6 +341,57 @@ class LiveJobs {
         return result;
     }
 
+    /**
+     * Lock the jobs which have eligible tasks, using the eligible jobs index instead of visiting every live job.
+     * <p>
+     * Jobs are returned by decreasing priority then by submission order. If a job cannot be locked,
+     * jobs with a strictly lower priority are not returned, so that no priority inversion can happen.
+     *
+     * @return the locked jobs, in scheduling order
+     */
+    Map<JobId, JobDescriptor> lockJobsWithEligibleTasks() {
+        Map<JobId, JobDescriptor> result = new LinkedHashMap<>();
+        JobPriority notLockedPriority = null;
+
+        for (JobData jobData : eligibleJobs.getJobs()) {
+            InternalJob job = jobData.job;
+            if (notLockedPriority != null && job.getPriority().compareTo(notLockedPriority) < 0) {
+                break;
+            }
+            // a job whose priority changed during the iteration can be visited twice
+            if (result.containsKey(job.getId())) {
+                continue;
+            }
+            if (jobData.jobLock.tryLock()) {
+                if (jobs.containsKey(job.getId()) && job.getJobDescriptor().hasEligibleTasks()) {
+                    result.put(job.getId(), job.getJobDescriptor());
+                } else {
+                    jobData.unlock();
+                }
+            } else if (notLockedPriority == null) {
+                notLockedPriority = job.getPriority();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Refresh the eligible jobs index for all live jobs.
+     * Used after the recovery, as recovered jobs are modified without holding their lock.
+     */
+    void updateEligibleJobsIndex() {
+        for (JobId jobId : jobs.keySet()) {
+            JobData jobData = lockJob(jobId);
+            if (jobData != null) {
+                jobData.unlock();
+            }
+        }
+    }
+
+    int getNumberOfJobsWithEligibleTasks() {
+        return eligibleJobs.size();
+    }
+
     private boolean unlockIfConflict(TreeSet<JobPriority> prioritiesScheduled,
             TreeSet<JobPriority> prioritiesNotScheduled, Map<JobId, JobDescriptor> result) {
         if (priorityConflict(prioritiesScheduled, prioritiesNotScheduled)) {
@@ -731,7 +800,7 @@ class LiveJobs {
                 // terminating job
                 job.terminate();
                 jlogger.debug(job.getId(), "terminated");
-                jobs.remove(job.getId());
+                removeLiveJob(jobData);
                 terminationData.addJobToTerminate(job.getId());
             }
 
@@ -990,7 +1059,7 @@ class LiveJobs {
             String errorMsg, JobStatus jobStatus) {
         JobId jobId = jobData.job.getId();
 
-        jobs.remove(jobId);
+        removeLiveJob(jobData);
         terminationData.addJobToTerminate(jobId);
 
         InternalJob job = jobData.job;
@@ -1063,6 +1132,12 @@ class LiveJobs {
         }
     }
 
+    private void removeLiveJob(JobData jobData) {
+        jobData.live = false;
+        jobs.remove(jobData.job.getId());
+        eligibleJobs.remove(jobData);
+    }
+
     public JobData lockJob(JobId jobId) {
         JobData jobData = jobs.get(jobId);
         if (jobData == null) {
@@ -25,10 +25,27 @@
  */
 package org.ow2.proactive.scheduler.core;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.apache.log4j.Logger;
 import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
 
 
+/**
+ * Periodically checks the running tasks.
+ * Tasks are grouped by the node where their launcher is deployed, so that a single
+ * pinger thread fetches the progress of all the tasks of a node with one remote call
+ * and the node itself is pinged at most once.
+ * The tasks of a node are not checked again while the previous check of this node is not over,
+ * so at most one check per node is queued in the task pinger thread pool.
+ */
 class NodePingThread extends Thread {
 
     private final SchedulingService service;
@@ -38,6 +55,9 @@ class NodePingThread extends Thread {
     private static final long SCHEDULER_NODE_PING_FREQUENCY = PASchedulerProperties.SCHEDULER_NODE_PING_FREQUENCY.getValueAsInt() *
                                                               1000;
 
+    /** Urls of the nodes whose tasks are being checked */
+    private final Set<String> nodesBeingPinged = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
     NodePingThread(SchedulingService service) {
         super("NodePingThread");
         this.service = service;
@@ -47,12 +67,28 @@ class NodePingThread extends Thread {
         while (!isInterrupted()) {
             try {
                 Thread.sleep(SCHEDULER_NODE_PING_FREQUENCY);
-                for (final RunningTaskData taskData : service.getJobs().getRunningTasks()) {
-                    service.getInfrastructure().getTaskPingerThreadPool().submit(new Runnable() {
-                        public void run() {
-                            service.getProgressAndPingTaskNode(taskData);
-                        }
-                    });
+                for (Map.Entry<String, List<RunningTaskData>> entry : groupByNode(service.getJobs()
+                                                                                         .getRunningTasks()).entrySet()) {
+                    final String nodeUrl = entry.getKey();
+                    final List<RunningTaskData> tasksOnNode = entry.getValue();
+                    if (!nodesBeingPinged.add(nodeUrl)) {
+                        logger.debug("Tasks running on " + nodeUrl + " are still being checked");
+                        continue;
+                    }
+                    try {
+                        service.getInfrastructure().getTaskPingerThreadPool().submit(new Runnable() {
+                            public void run() {
+                                try {
+                                    service.getProgressAndPingTaskNode(tasksOnNode);
+                                } finally {
+                                    nodesBeingPinged.remove(nodeUrl);
+                                }
+                            }
+                        });
+                    } catch (RuntimeException e) {
+                        nodesBeingPinged.remove(nodeUrl);
+                        throw e;
+                    }
                 }
             } catch (InterruptedException e) {
                 break;
@@ -62,4 +98,27 @@ class NodePingThread extends Thread {
         }
     }
 
+    /**
+     * Group the running tasks by the url of the node executing them.
+     * A task which has no executor node is put in its own group.
+     */
+    static Map<String, List<RunningTaskData>> groupByNode(Collection<RunningTaskData> runningTasks) {
+        Map<String, List<RunningTaskData>> tasksByNode = new HashMap<>();
+        for (RunningTaskData taskData : runningTasks) {
+            String key;
+            if (taskData.getNodes().isEmpty()) {
+                key = taskData.getTask().getId().toString();
+            } else {
+                key = taskData.getNodeExecutor().getNodeInformation().getURL();
+            }
+            List<RunningTaskData> tasksOnNode = tasksByNode.get(key);
+            if (tasksOnNode == null) {
+                tasksOnNode = new ArrayList<>();
+                tasksByNode.put(key, tasksOnNode);
+            }
+            tasksOnNode.add(taskData);
+        }
+        return tasksByNode;
+    }
+
 }
@@ -1103,6 +1103,7 @@ public class SchedulerFrontend implements InitActive, Scheduler, RunActive {
         }
 
         ClientRequestHandler.terminate();
+        frontendState.terminate();
 
         PAActiveObject.terminateActiveObject(false);
         logger.info("Scheduler frontend is now shutdown !");
@@ -1272,6 +1273,7 @@ public class SchedulerFrontend implements InitActive, Scheduler, RunActive {
         HybridEncryptionUtil.HybridEncryptedData encryptedData = HybridEncryptionUtil.encryptString(value,
                                                                                                     corePublicKey);
         dbManager.putThirdPartyCredential(ident.getUsername(), key, encryptedData);
+        schedulingService.getCredentialsCache().invalidate(ident.getUsername());
     }
 
     @Override
@@ -1286,6 +1288,7 @@ public class SchedulerFrontend implements InitActive, Scheduler, RunActive {
         UserIdentificationImpl ident = frontendState.checkPermission("removeThirdPartyCredential",
                                                                      YOU_DO_NOT_HAVE_PERMISSION_TO_REMOVE_THIRD_PARTY_CREDENTIALS_FROM_THE_SCHEDULER);
         dbManager.removeThirdPartyCredential(ident.getUsername(), key);
+        schedulingService.getCredentialsCache().invalidate(ident.getUsername());
     }
 
     @Override
@@ -26,10 +26,8 @@
 package org.ow2.proactive.scheduler.core;
 
 import java.io.IOException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +35,8 @@ import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.log4j.Logger;
 import org.objectweb.proactive.api.PAActiveObject;
@@ -152,18 +152,6 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
 
     public static final String YOU_DO_NOT_HAVE_PERMISSION_TO_FINISH_THIS_TASK = "You do not have permission to finish this task!";
 
-    private static final String USERS_UPDATED_EVENT_METHOD = "usersUpdatedEvent";
-
-    private static final String TASK_STATE_UPDATED_EVENT_METHOD = "taskStateUpdatedEvent";
-
-    private static final String JOB_UPDATED_FULL_DATA_EVENT_METHOD = "jobUpdatedFullDataEvent";
-
-    private static final String JOB_STATE_UPDATED_EVENT_METHOD = "jobStateUpdatedEvent";
-
-    private static final String JOB_SUBMITTED_EVENT_METHOD = "jobSubmittedEvent";
-
-    private static final String SCHEDULER_STATE_UPDATED_EVENT_METHOD = "schedulerStateUpdatedEvent";
-
     /** Scheduler logger */
     private static final Logger logger = Logger.getLogger(SchedulingService.class);
 
@@ -178,16 +166,6 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
     private static final long USER_SESSION_DURATION = PASchedulerProperties.SCHEDULER_USER_SESSION_TIME.getValueAsInt() *
                                                       1000;
 
-    /** Stores methods that will be called on clients */
-    private static final Map<String, Method> eventMethods;
-
-    static {
-        eventMethods = new HashMap<>();
-        for (Method m : SchedulerEventListener.class.getMethods()) {
-            eventMethods.put(m.getName(), m);
-        }
-    }
-
     /**
      * Mapping on the UniqueId of the sender and the user/admin identifications
      */
@@ -205,6 +183,9 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
     /** Session timer */
     private final Timer sessionTimer;
 
+    /** Email notifications of the jobs, sent in the background */
+    private final JobEmailNotificationQueue emailNotifications;
+
     /** JMX Helper reference */
     private final SchedulerJMXHelper jmxHelper;
 
@@ -216,14 +197,27 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
 
     private final Map<JobId, ClientJobState> jobsMap;
 
+    /**
+     * Lock protecting the connected users and the scheduler state.
+     * Client queries and task events hold the read lock, so they do not wait for each other.
+     * Connections, listener registrations and job state transitions hold the write lock.
+     * Updates and reads of a given job are additionally synchronized on its job state.
+     */
+    private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+
+    private final ReentrantReadWriteLock.ReadLock readLock = stateLock.readLock();
+
+    private final ReentrantReadWriteLock.WriteLock writeLock = stateLock.writeLock();
+
     SchedulerFrontendState(SchedulerStateImpl sState, SchedulerJMXHelper jmxHelper) {
-        this.identifications = new HashMap<>();
-        this.credentials = new HashMap<>();
+        this.identifications = new ConcurrentHashMap<>();
+        this.credentials = new ConcurrentHashMap<>();
         this.dirtyList = new HashSet<>();
         this.jmxHelper = jmxHelper;
-        this.jobsMap = new HashMap<>();
-        this.jobs = new HashMap<>();
+        this.jobsMap = new ConcurrentHashMap<>();
+        this.jobs = new ConcurrentHashMap<>();
         this.sessionTimer = new Timer("SessionTimer");
+        this.emailNotifications = new JobEmailNotificationQueue();
         this.sState = sState;
         recover(sState);
     }
@@ -286,20 +280,28 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
      * @throws SchedulerException
      *             If an error occurred during connection with the front-end.
      */
-    synchronized void connect(UniqueID sourceBodyID, UserIdentificationImpl identification, Credentials cred)
+    void connect(UniqueID sourceBodyID, UserIdentificationImpl identification, Credentials cred)
             throws AlreadyConnectedException {
-        if (identifications.containsKey(sourceBodyID)) {
-            logger.warn("Active object already connected for this user :" + identification.getUsername());
-            throw new AlreadyConnectedException("This active object is already connected to the scheduler !");
+        writeLock.lock();
+        try {
+            if (identifications.containsKey(sourceBodyID)) {
+                logger.warn("Active object already connected for this user :" + identification.getUsername());
+                throw new AlreadyConnectedException("This active object is already connected to the scheduler !");
+            }
+            logger.info(identification.getUsername() + " successfully connected !");
+            identifications.put(sourceBodyID, new ListeningUser(identification));
+            // credentials can be absent, the concurrent map does not accept null values
+            if (cred != null) {
+                credentials.put(sourceBodyID, cred);
+            }
+            renewUserSession(sourceBodyID, identification);
+            // add this new user in the list of connected user
+            sState.getUsers().update(identification);
+            // send events
+            usersUpdated(new NotificationData<UserIdentification>(SchedulerEvent.USERS_UPDATE, identification));
+        } finally {
+            writeLock.unlock();
         }
-        logger.info(identification.getUsername() + " successfully connected !");
-        identifications.put(sourceBodyID, new ListeningUser(identification));
-        credentials.put(sourceBodyID, cred);
-        renewUserSession(sourceBodyID, identification);
-        // add this new user in the list of connected user
-        sState.getUsers().update(identification);
-        // send events
-        usersUpdated(new NotificationData<UserIdentification>(SchedulerEvent.USERS_UPDATE, identification));
     }
 
     /**
@@ -318,40 +320,52 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
             return;
         }
         final String userName = identification.getUsername();
-        TimerTask session = identification.getSession();
-        if (session != null) {
-            session.cancel();
-        }
-        identification.setSession(new TimerTask() {
-            @Override
-            public void run() {
-                logger.info("End of session for user " + userName + ", id=" + id);
-                disconnect(id);
+        // sessions of a user can be renewed concurrently by requests holding the read lock
+        synchronized (identification) {
+            TimerTask session = identification.getSession();
+            if (session != null) {
+                session.cancel();
             }
-        });
-        sessionTimer.purge();
-        sessionTimer.schedule(identification.getSession(), USER_SESSION_DURATION);
+            identification.setSession(new TimerTask() {
+                @Override
+                public void run() {
+                    logger.info("End of session for user " + userName + ", id=" + id);
+                    disconnect(id);
+                }
+            });
+            sessionTimer.purge();
+            sessionTimer.schedule(identification.getSession(), USER_SESSION_DURATION);
+        }
     }
 
-    synchronized SchedulerStatus getStatus() throws NotConnectedException, PermissionException {
-        // checking permissions
-        checkPermission("getStatus", YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATUS);
+    SchedulerStatus getStatus() throws NotConnectedException, PermissionException {
+        readLock.lock();
+        try {
+            // checking permissions
+            checkPermission("getStatus", YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATUS);
 
-        return sState.getStatus();
+            return sState.getStatus();
+        } finally {
+            readLock.unlock();
+        }
     }
 
-    synchronized SchedulerState getState() throws NotConnectedException, PermissionException {
+    SchedulerState getState() throws NotConnectedException, PermissionException {
         return getState(false);
     }
 
-    synchronized SchedulerState getState(boolean myJobsOnly) throws NotConnectedException, PermissionException {
-        // checking permissions
-        checkPermission("getState", YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATE);
-
-        ListeningUser ui = identifications.get(PAActiveObject.getContext().getCurrentRequest().getSourceBodyID());
+    SchedulerState getState(boolean myJobsOnly) throws NotConnectedException, PermissionException {
+        readLock.lock();
+        try {
+            // checking permissions
+            checkPermission("getState", YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATE);
 
-        return myJobsOnly ? sState.filterOnUser(ui.getUser().getUsername()) : sState;
+            ListeningUser ui = identifications.get(PAActiveObject.getContext().getCurrentRequest().getSourceBodyID());
 
+            return myJobsOnly ? sState.filterOnUser(ui.getUser().getUsername()) : sState;
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
@@ -366,7 +380,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
      * @throws PermissionException
      *             if permission is denied
      */
-    synchronized void handleOnlyMyJobsPermission(boolean myOnly, UserIdentificationImpl ui, String errorMessage)
+    void handleOnlyMyJobsPermission(boolean myOnly, UserIdentificationImpl ui, String errorMessage)
             throws PermissionException {
         ui.checkPermission(new HandleOnlyMyJobsPermission(myOnly),
                            ui.getUsername() + " does not have permissions to handle other users jobs (" + errorMessage +
@@ -387,67 +401,79 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
      * @throws PermissionException
      *             if permission is denied
      */
-    synchronized void handleJobsWithGenericInformationPermission(Map<String, String> genericInformation,
+    void handleJobsWithGenericInformationPermission(Map<String, String> genericInformation,
             UserIdentificationImpl ui, String errorMessage) throws PermissionException {
         ui.checkPermission(new HandleJobsWithGenericInformationPermission(genericInformation),
                            ui.getUsername() + " does not have permissions to handle this job (" + errorMessage + ")");
     }
 
-    synchronized void addEventListener(SchedulerEventListener sel, boolean myEventsOnly, SchedulerEvent... events)
+    void addEventListener(SchedulerEventListener sel, boolean myEventsOnly, SchedulerEvent... events)
             throws NotConnectedException, PermissionException {
         addEventListener(sel, myEventsOnly, false, events);
     }
 
-    synchronized SchedulerState addEventListener(SchedulerEventListener sel, boolean myEventsOnly,
+    SchedulerState addEventListener(SchedulerEventListener sel, boolean myEventsOnly,
             boolean getCurrentState, SchedulerEvent... events) throws NotConnectedException, PermissionException {
-        // checking permissions
-        ListeningUser uIdent = checkPermissionReturningListeningUser("addEventListener",
-                                                                     YOU_DO_NOT_HAVE_PERMISSION_TO_ADD_A_LISTENER);
-
-        // check if listener is not null
-        if (sel == null) {
-            String msg = "Scheduler listener must be not null";
-            logger.info(msg);
-            throw new IllegalArgumentException(msg);
-        }
-        // check if the listener is a reified remote object
-        if (!MOP.isReifiedObject(sel)) {
-            String msg = "Scheduler listener must be a remote object";
-            logger.info(msg);
-            throw new IllegalArgumentException(msg);
-        }
+        writeLock.lock();
+        try {
+            // checking permissions
+            ListeningUser uIdent = checkPermissionReturningListeningUser("addEventListener",
+                                                                         YOU_DO_NOT_HAVE_PERMISSION_TO_ADD_A_LISTENER);
+
+            // check if listener is not null
+            if (sel == null) {
+                String msg = "Scheduler listener must be not null";
+                logger.info(msg);
+                throw new IllegalArgumentException(msg);
+            }
+            // check if the listener is a reified remote object
+            if (!MOP.isReifiedObject(sel)) {
+                String msg = "Scheduler listener must be a remote object";
+                logger.info(msg);
+                throw new IllegalArgumentException(msg);
+            }
 
-        // get the scheduler State
-        SchedulerState currentState = null;
-        if (getCurrentState) {
-            // check get state permission is checked in getState method
-            currentState = getState(myEventsOnly);
-        } else {
-            // check get state permission
-            handleOnlyMyJobsPermission(myEventsOnly, uIdent.getUser(), YOU_DO_NOT_HAVE_PERMISSION_TO_ADD_A_LISTENER);
+            // get the scheduler State
+            SchedulerState currentState = null;
+            if (getCurrentState) {
+                // check get state permission is checked in getState method
+                currentState = getState(myEventsOnly);
+            } else {
+                // check get state permission
+                handleOnlyMyJobsPermission(myEventsOnly,
+                                           uIdent.getUser(),
+                                           YOU_DO_NOT_HAVE_PERMISSION_TO_ADD_A_LISTENER);
+            }
+            // prepare user for receiving events
+            uIdent.getUser().setUserEvents(events);
+            // set if the user wants to get its events only or every events
+            uIdent.getUser().setMyEventsOnly(myEventsOnly);
+            // add the listener to the list of listener for this user.
+            UniqueID id = PAActiveObject.getContext().getCurrentRequest().getSourceBodyID();
+            uIdent.setListener(new ClientRequestHandler(this, id, sel));
+            // cancel timer for this user : session is now managed by events
+            uIdent.getUser().getSession().cancel();
+            // return to the user
+            return currentState;
+        } finally {
+            writeLock.unlock();
         }
-        // prepare user for receiving events
-        uIdent.getUser().setUserEvents(events);
-        // set if the user wants to get its events only or every events
-        uIdent.getUser().setMyEventsOnly(myEventsOnly);
-        // add the listener to the list of listener for this user.
-        UniqueID id = PAActiveObject.getContext().getCurrentRequest().getSourceBodyID();
-        uIdent.setListener(new ClientRequestHandler(this, id, sel));
-        // cancel timer for this user : session is now managed by events
-        uIdent.getUser().getSession().cancel();
-        // return to the user
-        return currentState;
     }
 
-    synchronized void removeEventListener() throws NotConnectedException, PermissionException {
-        // Remove the listener on that user designated by its given UniqueID,
-        // then renew its user session as it is no more managed by the listener.
-        UniqueID id = checkAccess();
-        ListeningUser uIdent = identifications.get(id);
-        uIdent.clearListener();
-        // recreate the session for this user which is no more managed by
-        // listener
-        renewUserSession(id, uIdent.getUser());
+    void removeEventListener() throws NotConnectedException, PermissionException {
+        writeLock.lock();
+        try {
+            // Remove the listener on that user designated by its given UniqueID,
+            // then renew its user session as it is no more managed by the listener.
+            UniqueID id = checkAccess();
+            ListeningUser uIdent = identifications.get(id);
+            uIdent.clearListener();
+            // recreate the session for this user which is no more managed by
+            // listener
+            renewUserSession(id, uIdent.getUser());
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     private UniqueID checkAccess() throws NotConnectedException {
@@ -459,45 +485,58 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         return id;
     }
 
-    synchronized InternalJob createJob(Job userJob, UserIdentificationImpl ident)
+    InternalJob createJob(Job userJob, UserIdentificationImpl ident)
             throws NotConnectedException, PermissionException, SubmissionClosedException, JobCreationException {
-        UniqueID id = checkAccess();
+        readLock.lock();
+        try {
+            UniqueID id = checkAccess();
 
-        // get the internal job.
-        InternalJob job = InternalJobFactory.createJob(userJob, this.credentials.get(id));
+            // get the internal job.
+            InternalJob job = InternalJobFactory.createJob(userJob, this.credentials.get(id));
 
-        // setting job informations
-        if (job.getTasks().size() == 0) {
-            String msg = "Job " + job.getId().value() +
-                         " contains no task. You need to insert at least one task before submitting job";
-            logger.info(msg);
-            throw new JobCreationException(msg);
-        }
+            // setting job informations
+            if (job.getTasks().size() == 0) {
+                String msg = "Job " + job.getId().value() +
+                             " contains no task. You need to insert at least one task before submitting job";
+                logger.info(msg);
+                throw new JobCreationException(msg);
+            }
 
-        // verifying that the user has right to set the given priority to his
-        // job.
-        try {
-            ident.checkPermission(new ChangePriorityPermission(job.getPriority().ordinal()),
-                                  ident.getUsername() + " does not have rights to set job priority " +
-                                                                                             job.getPriority());
-        } catch (PermissionException ex) {
-            logger.info(ex.getMessage());
-            throw ex;
-        }
-        // setting the job properties
-        job.setOwner(ident.getUsername());
+            // verifying that the user has right to set the given priority to his
+            // job.
+            try {
+                ident.checkPermission(new ChangePriorityPermission(job.getPriority().ordinal()),
+                                      ident.getUsername() + " does not have rights to set job priority " +
+                                                                                                 job.getPriority());
+            } catch (PermissionException ex) {
+                logger.info(ex.getMessage());
+                throw ex;
+            }
+            // setting the job properties
+            job.setOwner(ident.getUsername());
 
-        return job;
+            return job;
+        } finally {
+            readLock.unlock();
+        }
     }
 
-    synchronized void jobSubmitted(InternalJob job, UserIdentificationImpl ident)
+    void jobSubmitted(InternalJob job, UserIdentificationImpl ident)
             throws NotConnectedException, PermissionException, SubmissionClosedException, JobCreationException {
-        // put the job inside the frontend management list
-        jobs.put(job.getId(), new IdentifiedJob(job.getId(), ident, job.getGenericInformation()));
-        // increase number of submit for this user
-        ident.addSubmit();
-        // send update user event
-        usersUpdated(new NotificationData<UserIdentification>(SchedulerEvent.USERS_UPDATE, ident));
+        readLock.lock();
+        try {
+            // put the job inside the frontend management list
+            jobs.put(job.getId(), new IdentifiedJob(job.getId(), ident, job.getGenericInformation()));
+            // increase number of submit for this user
+            synchronized (ident) {
+                ident.addSubmit();
+            }
+            // send update user event
+            usersUpdated(new NotificationData<UserIdentification>(SchedulerEvent.USERS_UPDATE, ident));
+        } finally {
+            readLock.unlock();
+        }
+        clearListeners();
         jlogger.info(job.getId(),
                      "submitted: name '" + job.getName() + "', tasks '" + job.getTotalNumberOfTasks() + "', owner '" +
                                   job.getOwner() + "'");
@@ -508,32 +547,37 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         }
     }
 
-    synchronized ListeningUser checkPermissionReturningListeningUser(String methodName, String permissionMsg)
+    ListeningUser checkPermissionReturningListeningUser(String methodName, String permissionMsg)
             throws NotConnectedException, PermissionException {
-        UniqueID id = checkAccess();
+        readLock.lock();
+        try {
+            UniqueID id = checkAccess();
 
-        ListeningUser ident = identifications.get(id);
-        // renew session for this user
-        renewUserSession(id, ident.getUser());
+            ListeningUser ident = identifications.get(id);
+            // renew session for this user
+            renewUserSession(id, ident.getUser());
 
-        final String fullMethodName = SchedulerFrontend.class.getName() + "." + methodName;
-        final MethodCallPermission methodCallPermission = new MethodCallPermission(fullMethodName);
+            final String fullMethodName = SchedulerFrontend.class.getName() + "." + methodName;
+            final MethodCallPermission methodCallPermission = new MethodCallPermission(fullMethodName);
 
-        try {
-            ident.getUser().checkPermission(methodCallPermission, permissionMsg);
-        } catch (PermissionException ex) {
-            logger.warn(permissionMsg);
-            throw ex;
+            try {
+                ident.getUser().checkPermission(methodCallPermission, permissionMsg);
+            } catch (PermissionException ex) {
+                logger.warn(permissionMsg);
+                throw ex;
+            }
+            return ident;
+        } finally {
+            readLock.unlock();
         }
-        return ident;
     }
 
-    synchronized UserIdentificationImpl checkPermission(String methodName, String permissionMsg)
+    UserIdentificationImpl checkPermission(String methodName, String permissionMsg)
             throws NotConnectedException, PermissionException {
         return checkPermissionReturningListeningUser(methodName, permissionMsg).getUser();
     }
 
-    synchronized void disconnect() throws NotConnectedException, PermissionException {
+    void disconnect() throws NotConnectedException, PermissionException {
         UniqueID id = checkAccess();
         disconnect(id);
     }
@@ -544,43 +588,59 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
      * @param id
      *            the uniqueID of the user
      */
-    private synchronized void disconnect(UniqueID id) {
-        credentials.remove(id);
-        ListeningUser ident = identifications.remove(id);
-        if (ident != null) {
-            // remove listeners if needed
-            ident.clearListener();
-            // remove this user to the list of connected user if it has not
-            // already been removed
-            ident.getUser().setToRemove();
-            sState.getUsers().update(ident.getUser());
-            // cancel the timer
-            ident.getUser().getSession().cancel();
-            // log and send events
-            String user = ident.getUser().getUsername();
-            logger.info("User '" + user + "' has disconnect the scheduler !");
-            dispatchUsersUpdated(new NotificationData<UserIdentification>(SchedulerEvent.USERS_UPDATE, ident.getUser()),
-                                 false);
+    private void disconnect(UniqueID id) {
+        writeLock.lock();
+        try {
+            credentials.remove(id);
+            ListeningUser ident = identifications.remove(id);
+            if (ident != null) {
+                // remove listeners if needed
+                ident.clearListener();
+                // remove this user to the list of connected user if it has not
+                // already been removed
+                ident.getUser().setToRemove();
+                sState.getUsers().update(ident.getUser());
+                // cancel the timer
+                ident.getUser().getSession().cancel();
+                // log and send events
+                String user = ident.getUser().getUsername();
+                logger.info("User '" + user + "' has disconnect the scheduler !");
+                dispatchUsersUpdated(new NotificationData<UserIdentification>(SchedulerEvent.USERS_UPDATE,
+                                                                              ident.getUser()),
+                                     false);
+            }
+        } finally {
+            writeLock.unlock();
         }
     }
 
-    synchronized boolean isConnected() {
+    boolean isConnected() {
+        readLock.lock();
         try {
-            checkAccess();
-            return true;
-        } catch (NotConnectedException nce) {
-            return false;
+            try {
+                checkAccess();
+                return true;
+            } catch (NotConnectedException nce) {
+                return false;
+            }
+        } finally {
+            readLock.unlock();
         }
     }
 
-    synchronized void renewSession() throws NotConnectedException {
-        UniqueID id = checkAccess();
-        UserIdentificationImpl ident = identifications.get(id).getUser();
-        // renew session for this user
-        renewUserSession(id, ident);
+    void renewSession() throws NotConnectedException {
+        readLock.lock();
+        try {
+            UniqueID id = checkAccess();
+            UserIdentificationImpl ident = identifications.get(id).getUser();
+            // renew session for this user
+            renewUserSession(id, ident);
+        } finally {
+            readLock.unlock();
+        }
     }
 
-    synchronized IdentifiedJob getIdentifiedJob(JobId jobId) throws UnknownJobException {
+    IdentifiedJob getIdentifiedJob(JobId jobId) throws UnknownJobException {
         IdentifiedJob ij = jobs.get(jobId);
 
         if (ij == null) {
@@ -593,34 +653,38 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
 
     }
 
-    synchronized void checkChangeJobPriority(JobId jobId, JobPriority priority)
+    void checkChangeJobPriority(JobId jobId, JobPriority priority)
             throws NotConnectedException, UnknownJobException, PermissionException, JobAlreadyFinishedException {
+        readLock.lock();
+        try {
+            checkPermissions("changeJobPriority",
+                             getIdentifiedJob(jobId),
+                             YOU_DO_NOT_HAVE_PERMISSION_TO_CHANGE_THE_PRIORITY_OF_THIS_JOB);
 
-        checkPermissions("changeJobPriority",
-                         getIdentifiedJob(jobId),
-                         YOU_DO_NOT_HAVE_PERMISSION_TO_CHANGE_THE_PRIORITY_OF_THIS_JOB);
-
-        UserIdentificationImpl ui = identifications.get(PAActiveObject.getContext()
-                                                                      .getCurrentRequest()
-                                                                      .getSourceBodyID())
-                                                   .getUser();
+            UserIdentificationImpl ui = identifications.get(PAActiveObject.getContext()
+                                                                          .getCurrentRequest()
+                                                                          .getSourceBodyID())
+                                                       .getUser();
 
-        try {
-            ui.checkPermission(new ChangePriorityPermission(priority.getPriority()),
-                               ui.getUsername() + " does not have permissions to set job priority to " + priority);
-        } catch (PermissionException ex) {
-            logger.info(ex.getMessage());
-            throw ex;
-        }
+            try {
+                ui.checkPermission(new ChangePriorityPermission(priority.getPriority()),
+                                   ui.getUsername() + " does not have permissions to set job priority to " + priority);
+            } catch (PermissionException ex) {
+                logger.info(ex.getMessage());
+                throw ex;
+            }
 
-        if (jobs.get(jobId).isFinished()) {
-            String msg = " is already finished";
-            jlogger.info(jobId, msg);
-            throw new JobAlreadyFinishedException("Job " + jobId + msg);
+            if (jobs.get(jobId).isFinished()) {
+                String msg = " is already finished";
+                jlogger.info(jobId, msg);
+                throw new JobAlreadyFinishedException("Job " + jobId + msg);
+            }
+        } finally {
+            readLock.unlock();
         }
     }
 
-    synchronized void checkPermissions(String methodName, IdentifiedJob identifiedJob, String errorMessage)
+    void checkPermissions(String methodName, IdentifiedJob identifiedJob, String errorMessage)
             throws NotConnectedException, UnknownJobException, PermissionException {
         try {
             checkJobOwner(methodName, identifiedJob, errorMessage);
@@ -638,7 +702,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         }
     }
 
-    synchronized void checkJobOwner(String methodName, IdentifiedJob IdentifiedJob, String permissionMsg)
+    void checkJobOwner(String methodName, IdentifiedJob IdentifiedJob, String permissionMsg)
             throws NotConnectedException, UnknownJobException, PermissionException {
         ListeningUser ident = checkPermissionReturningListeningUser(methodName, permissionMsg);
 
@@ -647,131 +711,165 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         }
     }
 
-    synchronized Set<TaskId> getJobTasks(JobId jobId) {
-        JobState jobState = jobsMap.get(jobId);
-        synchronized (jobState) {
-            if (jobState == null) {
-                return Collections.emptySet();
-            } else {
-                Set<TaskId> tasks = new HashSet<>(jobState.getTasks().size());
-                for (TaskState task : jobState.getTasks()) {
-                    tasks.add(task.getId());
+    Set<TaskId> getJobTasks(JobId jobId) {
+        readLock.lock();
+        try {
+            JobState jobState = jobsMap.get(jobId);
+            synchronized (jobState) {
+                if (jobState == null) {
+                    return Collections.emptySet();
+                } else {
+                    Set<TaskId> tasks = new HashSet<>(jobState.getTasks().size());
+                    for (TaskState task : jobState.getTasks()) {
+                        tasks.add(task.getId());
+                    }
+                    return tasks;
                 }
-                return tasks;
             }
+        } finally {
+            readLock.unlock();
         }
     }
 
-    synchronized JobState getJobState(JobId jobId)
+    JobState getJobState(JobId jobId)
             throws NotConnectedException, UnknownJobException, PermissionException {
-        checkPermissions("getJobState",
-                         getIdentifiedJob(jobId),
-                         YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATE_OF_THIS_JOB);
-        ClientJobState jobState = jobsMap.get(jobId);
-        ClientJobState jobStateCopy;
-        synchronized (jobState) {
-            try {
-                jobStateCopy = (ClientJobState) ProActiveMakeDeepCopy.WithProActiveObjectStream.makeDeepCopy(jobState);
-            } catch (Exception e) {
-                logger.error("Error when copying job state", e);
-                throw new IllegalStateException(e);
+        readLock.lock();
+        try {
+            checkPermissions("getJobState",
+                             getIdentifiedJob(jobId),
+                             YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATE_OF_THIS_JOB);
+            ClientJobState jobState = jobsMap.get(jobId);
+            ClientJobState jobStateCopy;
+            synchronized (jobState) {
+                try {
+                    jobStateCopy = (ClientJobState) ProActiveMakeDeepCopy.WithProActiveObjectStream.makeDeepCopy(jobState);
+                } catch (Exception e) {
+                    logger.error("Error when copying job state", e);
+                    throw new IllegalStateException(e);
+                }
             }
+            return jobStateCopy;
+        } finally {
+            readLock.unlock();
         }
-        return jobStateCopy;
     }
 
-    synchronized TaskState getTaskState(JobId jobId, TaskId taskId)
+    TaskState getTaskState(JobId jobId, TaskId taskId)
             throws NotConnectedException, UnknownJobException, UnknownTaskException, PermissionException {
-        checkPermissions("getJobState",
-                         getIdentifiedJob(jobId),
-                         YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATE_OF_THIS_TASK);
-        if (jobsMap.get(jobId) == null) {
-            throw new UnknownJobException(jobId);
-        }
-        JobState jobState = jobsMap.get(jobId);
-        synchronized (jobState) {
-            TaskState ts = jobState.getHMTasks().get(taskId);
-            if (ts == null) {
-                throw new UnknownTaskException(taskId, jobId);
+        readLock.lock();
+        try {
+            checkPermissions("getJobState",
+                             getIdentifiedJob(jobId),
+                             YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATE_OF_THIS_TASK);
+            if (jobsMap.get(jobId) == null) {
+                throw new UnknownJobException(jobId);
             }
-            return ts;
+            JobState jobState = jobsMap.get(jobId);
+            synchronized (jobState) {
+                TaskState ts = jobState.getHMTasks().get(taskId);
+                if (ts == null) {
+                    throw new UnknownTaskException(taskId, jobId);
+                }
+                return ts;
+            }
+        } finally {
+            readLock.unlock();
         }
     }
 
-    synchronized TaskState getTaskState(JobId jobId, String taskName)
+    TaskState getTaskState(JobId jobId, String taskName)
             throws NotConnectedException, UnknownJobException, UnknownTaskException, PermissionException {
+        readLock.lock();
+        try {
+            checkPermissions("getJobState",
+                             getIdentifiedJob(jobId),
+                             YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATE_OF_THIS_TASK);
 
-        checkPermissions("getJobState",
-                         getIdentifiedJob(jobId),
-                         YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATE_OF_THIS_TASK);
-
-        if (jobsMap.get(jobId) == null) {
-            throw new UnknownJobException(jobId);
-        }
-        TaskId taskId = null;
-        for (TaskId t : getJobTasks(jobId)) {
-            if (t.getReadableName().equals(taskName)) {
-                taskId = t;
+            if (jobsMap.get(jobId) == null) {
+                throw new UnknownJobException(jobId);
             }
-        }
-        if (taskId == null) {
-            throw new UnknownTaskException(taskName, jobId);
-        }
-        JobState jobState = jobsMap.get(jobId);
-        synchronized (jobState) {
-            TaskState ts = jobState.getHMTasks().get(taskId);
-            if (ts == null) {
-                throw new UnknownTaskException(taskId, jobId);
+            TaskId taskId = null;
+            for (TaskId t : getJobTasks(jobId)) {
+                if (t.getReadableName().equals(taskName)) {
+                    taskId = t;
+                }
+            }
+            if (taskId == null) {
+                throw new UnknownTaskException(taskName, jobId);
+            }
+            JobState jobState = jobsMap.get(jobId);
+            synchronized (jobState) {
+                TaskState ts = jobState.getHMTasks().get(taskId);
+                if (ts == null) {
+                    throw new UnknownTaskException(taskId, jobId);
+                }
+                return ts;
             }
-            return ts;
+        } finally {
+            readLock.unlock();
         }
     }
 
-    synchronized TaskId getTaskId(JobId jobId, String taskName) throws UnknownTaskException, UnknownJobException {
-        if (jobsMap.get(jobId) == null) {
-            throw new UnknownJobException(jobId);
-        }
-        TaskId taskId = null;
-        for (TaskId t : getJobTasks(jobId)) {
-            if (t.getReadableName().equals(taskName)) {
-                taskId = t;
+    TaskId getTaskId(JobId jobId, String taskName) throws UnknownTaskException, UnknownJobException {
+        readLock.lock();
+        try {
+            if (jobsMap.get(jobId) == null) {
+                throw new UnknownJobException(jobId);
             }
+            TaskId taskId = null;
+            for (TaskId t : getJobTasks(jobId)) {
+                if (t.getReadableName().equals(taskName)) {
+                    taskId = t;
+                }
+            }
+            if (taskId == null) {
+                throw new UnknownTaskException(taskName, jobId);
+            }
+            return taskId;
+        } finally {
+            readLock.unlock();
         }
-        if (taskId == null) {
-            throw new UnknownTaskException(taskName, jobId);
-        }
-        return taskId;
     }
 
-    synchronized void checkChangePolicy() throws NotConnectedException, PermissionException {
-        UniqueID id = checkAccess();
+    void checkChangePolicy() throws NotConnectedException, PermissionException {
+        readLock.lock();
+        try {
+            UniqueID id = checkAccess();
 
-        UserIdentificationImpl ident = identifications.get(id).getUser();
-        // renew session for this user
-        renewUserSession(id, ident);
+            UserIdentificationImpl ident = identifications.get(id).getUser();
+            // renew session for this user
+            renewUserSession(id, ident);
 
-        try {
-            ident.checkPermission(new ChangePolicyPermission(),
-                                  ident.getUsername() + " does not have permissions to change the policy of the scheduler");
-        } catch (PermissionException ex) {
-            logger.info(ex.getMessage());
-            throw ex;
+            try {
+                ident.checkPermission(new ChangePolicyPermission(),
+                                      ident.getUsername() + " does not have permissions to change the policy of the scheduler");
+            } catch (PermissionException ex) {
+                logger.info(ex.getMessage());
+                throw ex;
+            }
+        } finally {
+            readLock.unlock();
         }
     }
 
-    synchronized void checkLinkResourceManager() throws NotConnectedException, PermissionException {
-        UniqueID id = checkAccess();
+    void checkLinkResourceManager() throws NotConnectedException, PermissionException {
+        readLock.lock();
+        try {
+            UniqueID id = checkAccess();
 
-        UserIdentificationImpl ident = identifications.get(id).getUser();
-        // renew session for this user
-        renewUserSession(id, ident);
+            UserIdentificationImpl ident = identifications.get(id).getUser();
+            // renew session for this user
+            renewUserSession(id, ident);
 
-        try {
-            ident.checkPermission(new ConnectToResourceManagerPermission(),
-                                  ident.getUsername() + " does not have permissions to change RM in the scheduler");
-        } catch (PermissionException ex) {
-            logger.info(ex.getMessage());
-            throw ex;
+            try {
+                ident.checkPermission(new ConnectToResourceManagerPermission(),
+                                      ident.getUsername() + " does not have permissions to change RM in the scheduler");
+            } catch (PermissionException ex) {
+                logger.info(ex.getMessage());
+                throw ex;
+            }
+        } finally {
+            readLock.unlock();
         }
     }
 
@@ -791,6 +889,12 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
      * Clear every dirty listeners that are no more responding
      */
     private void clearListeners() {
+        // users are disconnected under the write lock, which cannot be acquired while holding the read lock.
+        // In this case, they will be disconnected by the next call made without the read lock.
+        if (stateLock.getReadHoldCount() > 0 && !stateLock.isWriteLockedByCurrentThread()) {
+            return;
+        }
+
         Set<UniqueID> toRemove;
 
         synchronized (dirtyList) {
@@ -836,8 +940,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                     // is allowed
                     if ((userId.getUser().getUserEvents() == null) ||
                         userId.getUser().getUserEvents().contains(eventType)) {
-                        userId.getListener().addEvent(eventMethods.get(SCHEDULER_STATE_UPDATED_EVENT_METHOD),
-                                                      eventType);
+                        userId.getListener().addSchedulerStateUpdatedEvent(eventType);
                     }
                 }
             }
@@ -870,7 +973,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                         // (myEventOnly=true and it is its event)
                         if (!userId.isMyEventsOnly() ||
                             (userId.isMyEventsOnly() && userId.getUsername().equals(job.getOwner()))) {
-                            listeningUserId.getListener().addEvent(eventMethods.get(JOB_SUBMITTED_EVENT_METHOD), job);
+                            listeningUserId.getListener().addJobSubmittedEvent(job);
                         }
                     }
 
@@ -915,8 +1018,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                         // (myEventOnly=true and it is its event)
                         if (!userId.isMyEventsOnly() ||
                             (userId.isMyEventsOnly() && userId.getUsername().equals(owner))) {
-                            listeningUserId.getListener().addEvent(eventMethods.get(JOB_STATE_UPDATED_EVENT_METHOD),
-                                                                   notification);
+                            listeningUserId.getListener().addJobStateUpdatedEvent(notification);
                         }
                     }
                 }
@@ -950,8 +1052,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                         // (myEventOnly=true and it is its event)
                         if (!userId.isMyEventsOnly() ||
                             (userId.isMyEventsOnly() && userId.getUsername().equals(job.getOwner()))) {
-                            listeningUserId.getListener().addEvent(eventMethods.get(JOB_UPDATED_FULL_DATA_EVENT_METHOD),
-                                                                   job);
+                            listeningUserId.getListener().addJobUpdatedFullDataEvent(job);
                         }
                     }
 
@@ -980,16 +1081,20 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                 // if this user has a listener
                 if (listeningUserId.isListening()) {
                     UserIdentificationImpl userId = listeningUserId.getUser();
-                    // if there is no specified event OR if the specified event
-                    // is allowed
-                    if ((userId.getUserEvents() == null) ||
-                        userId.getUserEvents().contains(notification.getEventType())) {
-                        // if this userId have the myEventOnly=false or
-                        // (myEventOnly=true and it is its event)
-                        if (!userId.isMyEventsOnly() ||
-                            (userId.isMyEventsOnly() && userId.getUsername().equals(owner))) {
-                            listeningUserId.getListener().addEvent(eventMethods.get(TASK_STATE_UPDATED_EVENT_METHOD),
-                                                                   notification);
+                    // if this userId have the myEventOnly=false or
+                    // (myEventOnly=true and it is its event)
+                    if (!userId.isMyEventsOnly() || (userId.isMyEventsOnly() && userId.getUsername().equals(owner))) {
+                        // if there is no specified event OR if the specified event
+                        // is allowed
+                        if ((userId.getUserEvents() == null) ||
+                            userId.getUserEvents().contains(notification.getEventType())) {
+                            listeningUserId.getListener().addTaskStateUpdatedEvent(notification);
+                        }
+                        // summaries are only sent when explicitly asked
+                        if (userId.getUserEvents() != null &&
+                            userId.getUserEvents().contains(SchedulerEvent.JOB_TASKS_SUMMARY) &&
+                            notification.getData().getJobInfo() != null) {
+                            listeningUserId.getListener().addJobTasksSummary(notification.getData().getJobInfo());
                         }
                     }
                 }
@@ -1024,8 +1129,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                         if (!userId.isMyEventsOnly() ||
                             (userId.isMyEventsOnly() &&
                              userId.getUsername().equals(notification.getData().getUsername()))) {
-                            listeningUserId.getListener().addEvent(eventMethods.get(USERS_UPDATED_EVENT_METHOD),
-                                                                   notification);
+                            listeningUserId.getListener().addUsersUpdatedEvent(notification);
                         }
                     }
                 }
@@ -1041,146 +1145,186 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
     }
 
     @Override
-    public synchronized void schedulerStateUpdated(SchedulerEvent eventType) {
-        switch (eventType) {
-            case STARTED:
-                sState.setState(SchedulerStatus.STARTED);
-                break;
-            case STOPPED:
-                sState.setState(SchedulerStatus.STOPPED);
-                break;
-            case PAUSED:
-                sState.setState(SchedulerStatus.PAUSED);
-                break;
-            case FROZEN:
-                sState.setState(SchedulerStatus.FROZEN);
-                break;
-            case RESUMED:
-                sState.setState(SchedulerStatus.STARTED);
-                break;
-            case SHUTTING_DOWN:
-                sState.setState(SchedulerStatus.SHUTTING_DOWN);
-                break;
-            case SHUTDOWN:
-                sState.setState(SchedulerStatus.STOPPED);
-                break;
-            case KILLED:
-                sState.setState(SchedulerStatus.KILLED);
-                break;
-            case DB_DOWN:
-                sState.setState(SchedulerStatus.DB_DOWN);
-                break;
-            case RM_DOWN:
-            case RM_UP:
-            case POLICY_CHANGED:
-                break;
-            default:
-                logger.warn("**WARNING** - Unconsistent update type received from Scheduler Core : " + eventType);
-                return;
-        }
-        // send the event for all case, except default
-        dispatchSchedulerStateUpdated(eventType);
-        this.jmxHelper.getSchedulerRuntimeMBean().schedulerStateUpdatedEvent(eventType);
-    }
-
-    @Override
-    public synchronized void jobSubmitted(JobState job) {
-        ClientJobState storedJobState = new ClientJobState(job);
-        jobsMap.put(job.getId(), storedJobState);
-        sState.update(storedJobState);
-        dispatchJobSubmitted(job);
-    }
-
-    @Override
-    public synchronized void jobStateUpdated(String owner, NotificationData<JobInfo> notification) {
-        ClientJobState js = jobsMap.get(notification.getData().getJobId());
-        synchronized (js) {
-            js.update(notification.getData());
-            switch (notification.getEventType()) {
-                case JOB_PENDING_TO_RUNNING:
-                    sState.pendingToRunning(js);
+    public void schedulerStateUpdated(SchedulerEvent eventType) {
+        writeLock.lock();
+        try {
+            switch (eventType) {
+                case STARTED:
+                    sState.setState(SchedulerStatus.STARTED);
+                    break;
+                case STOPPED:
+                    sState.setState(SchedulerStatus.STOPPED);
                     break;
-                case JOB_PAUSED:
-                case JOB_IN_ERROR:
-                case JOB_RESUMED:
-                case JOB_RESTARTED_FROM_ERROR:
-                case JOB_CHANGE_PRIORITY:
-                case TASK_REPLICATED:
-                case TASK_SKIPPED:
+                case PAUSED:
+                    sState.setState(SchedulerStatus.PAUSED);
                     break;
-                case JOB_PENDING_TO_FINISHED:
-                    sState.pendingToFinished(js);
-                    // set this job finished, user can get its result
-                    jobs.get(notification.getData().getJobId()).setFinished(true);
+                case FROZEN:
+                    sState.setState(SchedulerStatus.FROZEN);
                     break;
-                case JOB_RUNNING_TO_FINISHED:
-                    sState.runningToFinished(js);
-                    // set this job finished, user can get its result
-                    jobs.get(notification.getData().getJobId()).setFinished(true);
+                case RESUMED:
+                    sState.setState(SchedulerStatus.STARTED);
                     break;
-                case JOB_REMOVE_FINISHED:
-                    // removing jobs from the global list : this job is no more managed
-                    sState.removeFinished(js);
-                    jobsMap.remove(js.getId());
-                    jobs.remove(notification.getData().getJobId());
+                case SHUTTING_DOWN:
+                    sState.setState(SchedulerStatus.SHUTTING_DOWN);
+                    break;
+                case SHUTDOWN:
+                    sState.setState(SchedulerStatus.STOPPED);
+                    break;
+                case KILLED:
+                    sState.setState(SchedulerStatus.KILLED);
+                    break;
+                case DB_DOWN:
+                    sState.setState(SchedulerStatus.DB_DOWN);
+                    break;
+                case RM_DOWN:
+                case RM_UP:
+                case POLICY_CHANGED:
                     break;
                 default:
-                    logger.warn("**WARNING** - Unconsistent update type received from Scheduler Core : " +
-                                notification.getEventType());
+                    logger.warn("**WARNING** - Unconsistent update type received from Scheduler Core : " + eventType);
                     return;
             }
-            dispatchJobStateUpdated(owner, notification);
-            new JobEmailNotification(js, notification).checkAndSend();
+            // send the event for all case, except default
+            dispatchSchedulerStateUpdated(eventType);
+            this.jmxHelper.getSchedulerRuntimeMBean().schedulerStateUpdatedEvent(eventType);
+        } finally {
+            writeLock.unlock();
         }
     }
 
     @Override
-    public synchronized void jobUpdatedFullData(JobState jobstate) {
-        ClientJobState storedJobState = new ClientJobState(jobstate);
-        dispatchJobUpdatedFullData(storedJobState);
+    public void jobSubmitted(JobState job) {
+        writeLock.lock();
+        try {
+            ClientJobState storedJobState = new ClientJobState(job);
+            jobsMap.put(job.getId(), storedJobState);
+            sState.update(storedJobState);
+            dispatchJobSubmitted(job);
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     @Override
-    public synchronized void taskStateUpdated(String owner, NotificationData<TaskInfo> notification) {
-        JobState jobState = jobsMap.get(notification.getData().getJobId());
-        synchronized (jobState) {
-            jobState.update(notification.getData());
-            switch (notification.getEventType()) {
-                case TASK_PENDING_TO_RUNNING:
-                case TASK_RUNNING_TO_FINISHED:
-                case TASK_WAITING_FOR_RESTART:
-                case TASK_IN_ERROR:
-                case TASK_SKIPPED:
-                case TASK_REPLICATED:
-                case TASK_IN_ERROR_TO_FINISHED:
-                    dispatchTaskStateUpdated(owner, notification);
-                    break;
-                case TASK_PROGRESS:
-                    // this event can be sent while task is already finished,
-                    // as it is not a correct behavior, event is dropped if task is
-                    // already finished.
-                    // so if task is not finished, send event
-                    if (notification.getData().getFinishedTime() <= 0) {
+    public void jobStateUpdated(String owner, NotificationData<JobInfo> notification) {
+        writeLock.lock();
+        try {
+            ClientJobState js = jobsMap.get(notification.getData().getJobId());
+            synchronized (js) {
+                js.update(notification.getData());
+                switch (notification.getEventType()) {
+                    case JOB_PENDING_TO_RUNNING:
+                        sState.pendingToRunning(js);
+                        break;
+                    case JOB_PAUSED:
+                    case JOB_IN_ERROR:
+                    case JOB_RESUMED:
+                    case JOB_RESTARTED_FROM_ERROR:
+                    case JOB_CHANGE_PRIORITY:
+                    case TASK_REPLICATED:
+                    case TASK_SKIPPED:
+                        break;
+                    case JOB_PENDING_TO_FINISHED:
+                        sState.pendingToFinished(js);
+                        // set this job finished, user can get its result
+                        jobs.get(notification.getData().getJobId()).setFinished(true);
+                        break;
+                    case JOB_RUNNING_TO_FINISHED:
+                        sState.runningToFinished(js);
+                        // set this job finished, user can get its result
+                        jobs.get(notification.getData().getJobId()).setFinished(true);
+                        break;
+                    case JOB_REMOVE_FINISHED:
+                        // removing jobs from the global list : this job is no more managed
+                        sState.removeFinished(js);
+                        jobsMap.remove(js.getId());
+                        jobs.remove(notification.getData().getJobId());
+                        break;
+                    default:
+                        logger.warn("**WARNING** - Unconsistent update type received from Scheduler Core : " +
+                                    notification.getEventType());
+                        return;
+                }
+                dispatchJobStateUpdated(owner, notification);
+                new JobEmailNotification(js, notification).checkAndSendAsync(emailNotifications);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void jobUpdatedFullData(JobState jobstate) {
+        readLock.lock();
+        try {
+            ClientJobState storedJobState = new ClientJobState(jobstate);
+            dispatchJobUpdatedFullData(storedJobState);
+        } finally {
+            readLock.unlock();
+        }
+        clearListeners();
+    }
+
+    @Override
+    public void taskStateUpdated(String owner, NotificationData<TaskInfo> notification) {
+        readLock.lock();
+        try {
+            JobState jobState = jobsMap.get(notification.getData().getJobId());
+            synchronized (jobState) {
+                jobState.update(notification.getData());
+                switch (notification.getEventType()) {
+                    case TASK_PENDING_TO_RUNNING:
+                    case TASK_RUNNING_TO_FINISHED:
+                    case TASK_WAITING_FOR_RESTART:
+                    case TASK_IN_ERROR:
+                    case TASK_SKIPPED:
+                    case TASK_REPLICATED:
+                    case TASK_IN_ERROR_TO_FINISHED:
                         dispatchTaskStateUpdated(owner, notification);
-                    }
+                        break;
+                    case TASK_PROGRESS:
+                        // this event can be sent while task is already finished,
+                        // as it is not a correct behavior, event is dropped if task is
+                        // already finished.
+                        // so if task is not finished, send event
+                        if (notification.getData().getFinishedTime() <= 0) {
+                            dispatchTaskStateUpdated(owner, notification);
+                        }
+                        break;
+                    default:
+                        logger.warn("**WARNING** - Unconsistent update type received from Scheduler Core : " +
+                                    notification.getEventType());
+                }
+            }
+        } finally {
+            readLock.unlock();
+        }
+        clearListeners();
+    }
+
+    @Override
+    public void usersUpdated(NotificationData<UserIdentification> notification) {
+        readLock.lock();
+        try {
+            switch (notification.getEventType()) {
+                case USERS_UPDATE:
+                    dispatchUsersUpdated(notification, true);
                     break;
                 default:
                     logger.warn("**WARNING** - Unconsistent update type received from Scheduler Core : " +
                                 notification.getEventType());
             }
+        } finally {
+            readLock.unlock();
         }
+        clearListeners();
     }
 
-    @Override
-    public synchronized void usersUpdated(NotificationData<UserIdentification> notification) {
-        switch (notification.getEventType()) {
-            case USERS_UPDATE:
-                dispatchUsersUpdated(notification, true);
-                break;
-            default:
-                logger.warn("**WARNING** - Unconsistent update type received from Scheduler Core : " +
-                            notification.getEventType());
-        }
+    /**
+     * Stop sending the job email notifications, once the queued ones are sent.
+     */
+    void terminate() {
+        emailNotifications.shutdown();
     }
 
     public String getCurrentUser() throws NotConnectedException {
@@ -1204,17 +1348,22 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         return userData;
     }
 
-    synchronized List<SchedulerUserInfo> getUsers() {
-        List<SchedulerUserInfo> users = new ArrayList<>(identifications.size());
-        for (ListeningUser listeningUser : identifications.values()) {
-            UserIdentificationImpl user = listeningUser.getUser();
-            users.add(new SchedulerUserInfo(user.getHostName(),
-                                            user.getUsername(),
-                                            user.getConnectionTime(),
-                                            user.getLastSubmitTime(),
-                                            user.getSubmitNumber()));
+    List<SchedulerUserInfo> getUsers() {
+        readLock.lock();
+        try {
+            List<SchedulerUserInfo> users = new ArrayList<>(identifications.size());
+            for (ListeningUser listeningUser : identifications.values()) {
+                UserIdentificationImpl user = listeningUser.getUser();
+                users.add(new SchedulerUserInfo(user.getHostName(),
+                                                user.getUsername(),
+                                                user.getConnectionTime(),
+                                                user.getLastSubmitTime(),
+                                                user.getSubmitNumber()));
+            }
+            return users;
+        } finally {
+            readLock.unlock();
         }
-        return users;
     }
 
     public Map<String, Object> getSchedulerProperties() throws NotConnectedException {
@@ -35,7 +35,14 @@ public interface SchedulingMethod {
 
     /**
      * Scheduling process.
+     *
+     * @return the number of tasks handed over to be started during this pass
      */
     int schedule();
 
+    /**
+     * Releases the resources used by the scheduling process, called once the scheduling thread stops.
+     */
+    void shutdown();
+
 }
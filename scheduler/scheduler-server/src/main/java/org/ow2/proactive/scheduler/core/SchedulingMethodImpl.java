@@ -30,16 +30,25 @@ import java.io.Serializable;
 import java.security.PrivateKey;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.log4j.Logger;
-import org.objectweb.proactive.ActiveObjectCreationException;
 import org.objectweb.proactive.api.PAActiveObject;
 import org.objectweb.proactive.api.PAFuture;
 import org.objectweb.proactive.core.node.Node;
@@ -51,6 +60,7 @@ import org.ow2.proactive.resourcemanager.frontend.topology.TopologyDisabledExcep
 import org.ow2.proactive.scheduler.common.JobDescriptor;
 import org.ow2.proactive.scheduler.common.SchedulerConstants;
 import org.ow2.proactive.scheduler.common.TaskDescriptor;
+import org.ow2.proactive.scheduler.common.TaskResultProvider;
 import org.ow2.proactive.scheduler.common.TaskTerminateNotification;
 import org.ow2.proactive.scheduler.common.job.JobId;
 import org.ow2.proactive.scheduler.common.job.JobType;
@@ -72,10 +82,12 @@ import org.ow2.proactive.scheduler.util.JobLogger;
 import org.ow2.proactive.scheduler.util.TaskLogger;
 import org.ow2.proactive.scripting.InvalidScriptException;
 import org.ow2.proactive.scripting.SelectionScript;
+import org.ow2.proactive.threading.CallableWithTimeoutAction;
 import org.ow2.proactive.threading.TimeoutThreadPoolExecutor;
 import org.ow2.proactive.topology.descriptor.TopologyDescriptor;
 import org.ow2.proactive.utils.Criteria;
 import org.ow2.proactive.utils.NodeSet;
+import org.ow2.proactive.utils.TaskIdWrapper;
 
 import com.google.common.collect.ImmutableList;
 
@@ -95,24 +107,43 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
 
     public static final JobLogger jlogger = JobLogger.getInstance();
 
-    /** Number of time to retry an active object creation if it fails to create */
-    protected static final int ACTIVEOBJECT_CREATION_RETRY_TIME_NUMBER = 3;
-
     /** Maximum blocking time for the do task action */
     protected static final int DOTASK_ACTION_TIMEOUT = PASchedulerProperties.SCHEDULER_STARTTASK_TIMEOUT.getValueAsInt();
 
-    protected int activeObjectCreationRetryTimeNumber;
+    /** Maximum time to create a task launcher on a node */
+    protected static final int CREATE_LAUNCHER_ACTION_TIMEOUT = PASchedulerProperties.SCHEDULER_STARTTASK_LAUNCHER_TIMEOUT.getValueAsInt();
+
+    /** Maximum number of executable containers kept for tasks waiting to be started */
+    protected static final int EXECUTABLE_CONTAINERS_CACHE_SIZE = PASchedulerProperties.SCHEDULER_STARTTASK_CONTAINERS_CACHE_SIZE.getValueAsInt();
 
     protected final SchedulingService schedulingService;
 
     protected TimeoutThreadPoolExecutor threadPool;
 
+    protected TimeoutThreadPoolExecutor launcherCreationThreadPool;
+
+    protected ExecutorService nodesRequestThreadPool;
+
     protected PrivateKey corePrivateKey;
 
     private TaskTerminateNotification terminateNotification;
 
+    private TaskResultProvider taskResultProvider;
+
     private CheckEligibleTaskDescriptorScript checkEligibleTaskDescriptorScript;
 
+    /** Executable containers recently loaded for tasks not started yet, only accessed by the scheduling thread */
+    private final ExecutableContainersCache executableContainersCache = new ExecutableContainersCache(EXECUTABLE_CONTAINERS_CACHE_SIZE);
+
+    /** Tasks whose launcher is being created, they must not be scheduled again */
+    private final Set<TaskIdWrapper> startingTasks = Collections.newSetFromMap(new ConcurrentHashMap<TaskIdWrapper, Boolean>());
+
+    /** Node requests sent to the RM and not processed yet, only accessed by the scheduling thread */
+    private final List<PendingNodesRequest> pendingNodesRequests = new LinkedList<>();
+
+    /** Tasks waiting for the nodes of a pending request, only accessed by the scheduling thread */
+    private final Set<TaskIdWrapper> requestingTasks = new HashSet<>();
+
     public SchedulingMethodImpl(SchedulingService schedulingService) throws Exception {
         this.schedulingService = schedulingService;
         this.checkEligibleTaskDescriptorScript = new CheckEligibleTaskDescriptorScript();
@@ -122,9 +153,18 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
                                                           NodeFactory.createLocalNode("taskTerminationNode",
                                                                                       true,
                                                                                       "taskTerminationVNode"));
+        taskResultProvider = PAActiveObject.turnActive(new DatabaseTaskResultProvider(schedulingService),
+                                                       TaskResultProvider.class.getName(),
+                                                       NodeFactory.createLocalNode("taskResultProviderNode",
+                                                                                   true,
+                                                                                   "taskResultProviderVNode"));
 
         this.threadPool = TimeoutThreadPoolExecutor.newFixedThreadPool(PASchedulerProperties.SCHEDULER_STARTTASK_THREADNUMBER.getValueAsInt(),
                                                                        new NamedThreadFactory("DoTask_Action"));
+        this.launcherCreationThreadPool = TimeoutThreadPoolExecutor.newFixedThreadPool(PASchedulerProperties.SCHEDULER_STARTTASK_LAUNCHER_THREADNUMBER.getValueAsInt(),
+                                                                                       new NamedThreadFactory("CreateLauncher_Action"));
+        this.nodesRequestThreadPool = Executors.newFixedThreadPool(PASchedulerProperties.SCHEDULER_NODES_REQUEST_THREADNUMBER.getValueAsInt(),
+                                                                   new NamedThreadFactory("NodesRequest_Action"));
         this.corePrivateKey = Credentials.getPrivateKey(PASchedulerProperties.getAbsolutePath(PASchedulerProperties.SCHEDULER_AUTH_PRIVKEY_PATH.getValueAsString()));
     }
 
@@ -144,25 +184,29 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
      * 	<li>While returned tasks list is not empty :
      * 		<ul>
      * 			<li>Get n first compatible tasks (same selection script, same node exclusion)
-     * 			<li>Ask nodes to RM according to the previous specification
-     * 			<li>Try to start each tasks
-     * 			<li>Job started event if needed
-     * 			<li>Task started event
+     * 			<li>Ask nodes to RM according to the previous specification, without waiting for the answer
      * 		</ul>
+     * </ul>
+     * Tasks are handed over to the launcher creation by the first pass following the reception of their nodes.
+     * Their launchers are then created in the background :
+     * <ul>
+     * 	<li>Try to start each tasks
+     * 	<li>Job started event if needed
+     * 	<li>Task started event
      * 	<li>Manage exception while deploying tasks on nodes
      * </ul>
      *
-     * @return the number of tasks that have been started
+     * @return the number of tasks handed over to the launcher creation, whose start may still fail
      */
+    @Override
     public int schedule() {
         Policy currentPolicy = schedulingService.getPolicy();
 
-        int numberOfTaskStarted = 0;
-        //Number of time to retry an active object creation before leaving scheduling loop
-        activeObjectCreationRetryTimeNumber = ACTIVEOBJECT_CREATION_RETRY_TIME_NUMBER;
+        // start the tasks whose nodes were received since the last pass
+        int numberOfTasksHandedOver = startTasksWithReceivedNodes(currentPolicy);
 
-        //get job Descriptor list with eligible jobs (running and pending)
-        Map<JobId, JobDescriptor> jobMap = schedulingService.lockJobsToSchedule();
+        //get job Descriptor list with eligible jobs (running and pending), ordered by priority
+        Map<JobId, JobDescriptor> jobMap = schedulingService.lockJobsWithEligibleTasks();
 
         Map<JobId, JobDescriptor> toUnlock = jobMap;
 
@@ -173,10 +217,10 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
             logger.debug("jobs selected to be scheduled : " + jobMap);
         }
 
-        // If there are some jobs which could not be locked it is not possible to do any priority scheduling decision,
-        // we wait for next scheduling loop
+        // No job with eligible tasks could be locked, jobs locked by another thread are visited again
+        // in the next scheduling loop
         if (jobMap.isEmpty()) {
-            return numberOfTaskStarted;
+            return numberOfTasksHandedOver;
         }
 
         try {
@@ -189,18 +233,28 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
             if (logger.isDebugEnabled()) {
                 logger.debug("eligible nodes : " + freeResources);
             }
+            // nodes selected for pending requests are still free in the RM state
+            int freeNodesNumber = freeResources.size();
+            for (PendingNodesRequest request : pendingNodesRequests) {
+                freeNodesNumber -= request.neededResourcesNumber;
+            }
             //if there is no free resources, stop it right now
-            if (freeResources.isEmpty()) {
-                return numberOfTaskStarted;
+            if (freeNodesNumber <= 0) {
+                return numberOfTasksHandedOver;
             }
 
             // ask the policy all the tasks to be schedule according to the jobs list.
 
             LinkedList<EligibleTaskDescriptor> taskRetrievedFromPolicy = currentPolicy.getOrderedTasks(descriptors);
 
+            // tasks waiting for nodes or whose launcher is being created are already being started
+            if (taskRetrievedFromPolicy != null && (!startingTasks.isEmpty() || !requestingTasks.isEmpty())) {
+                removeStartingTasks(taskRetrievedFromPolicy);
+            }
+
             //if there is no task to scheduled, return
             if (taskRetrievedFromPolicy == null || taskRetrievedFromPolicy.isEmpty()) {
-                return numberOfTaskStarted;
+                return numberOfTasksHandedOver;
             }
 
             if (logger.isDebugEnabled()) {
@@ -212,15 +266,15 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
 
             updateVariablesForTasksToSchedule(jobMap, taskRetrievedFromPolicy);
 
-            for (EligibleTaskDescriptor etd : taskRetrievedFromPolicy) {
-                // load and Initialize the executable container
-                loadAndInit(((EligibleTaskDescriptorImpl) etd).getInternal());
+            if (!PASchedulerProperties.SCHEDULER_REST_URL.isSet()) {
+                // checking the api binding of the tasks requires their executable containers
+                loadAndInit(taskRetrievedFromPolicy);
             }
 
             while (!taskRetrievedFromPolicy.isEmpty()) {
 
-                if (freeResources.isEmpty()) {
-                    return numberOfTaskStarted;
+                if (freeNodesNumber <= 0) {
+                    return numberOfTasksHandedOver;
                 }
 
                 //get the next compatible tasks from the whole returned policy tasks
@@ -231,7 +285,7 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
                     //the loop will search for next compatible task until it find something
                     neededResourcesNumber = getNextcompatibleTasks(jobMap,
                                                                    taskRetrievedFromPolicy,
-                                                                   freeResources.size(),
+                                                                   freeNodesNumber,
                                                                    tasksToSchedule);
                 }
                 if (logger.isDebugEnabled()) {
@@ -243,69 +297,20 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
                     break;
                 }
 
-                NodeSet nodeSet = getRMNodes(jobMap, neededResourcesNumber, tasksToSchedule, freeResources);
+                Future<NodeSet> nodeSet = getRMNodes(jobMap, neededResourcesNumber, tasksToSchedule, freeResources);
 
                 if (nodeSet != null) {
-                    freeResources.removeAll(nodeSet.getAllNodesUrls());
-                }
-
-                //start selected tasks
-                Node node = null;
-                InternalJob currentJob = null;
-                try {
-                    while (nodeSet != null && !nodeSet.isEmpty()) {
-                        EligibleTaskDescriptor taskDescriptor = tasksToSchedule.removeFirst();
-                        currentJob = ((JobDescriptorImpl) jobMap.get(taskDescriptor.getJobId())).getInternal();
-                        InternalTask internalTask = currentJob.getIHMTasks().get(taskDescriptor.getTaskId());
-
-                        if (currentPolicy.isTaskExecutable(nodeSet, taskDescriptor)) {
-                            //create launcher and try to start the task
-                            node = nodeSet.get(0);
-
-                            if (createExecution(nodeSet, node, currentJob, internalTask, taskDescriptor)) {
-                                numberOfTaskStarted++;
-                            }
-
-                        }
-
-                        //if every task that should be launched have been removed
-                        if (tasksToSchedule.isEmpty()) {
-                            //get back unused nodes to the RManager
-                            if (!nodeSet.isEmpty()) {
-                                releaseNodes(currentJob, nodeSet);
-                                freeResources.addAll(nodeSet.getAllNodesUrls());
-                            }
-                            //and leave the loop
-                            break;
-                        }
-                    }
-                } catch (ActiveObjectCreationException e1) {
-                    //Something goes wrong with the active object creation (createLauncher)
-                    logger.warn("An exception occured while creating the task launcher.", e1);
-                    //so try to get back every remaining nodes to the resource manager
-                    try {
-                        releaseNodes(currentJob, nodeSet);
-                        freeResources.addAll(nodeSet.getAllNodesUrls());
-                    } catch (Exception e2) {
-                        logger.info("Unable to get back the nodeSet to the RM", e2);
-                    }
-                    if (--activeObjectCreationRetryTimeNumber == 0) {
-                        return numberOfTaskStarted;
-                    }
-                } catch (Exception e1) {
-                    //if we are here, it is that something append while launching the current task.
-                    logger.warn("An exception occured while starting task.", e1);
-                    //so try to get back every remaining nodes to the resource manager
-                    try {
-                        releaseNodes(currentJob, nodeSet);
-                        freeResources.addAll(nodeSet.getAllNodesUrls());
-                    } catch (Exception e2) {
-                        logger.info("Unable to get back the nodeSet to the RM", e2);
-                    }
+                    PendingNodesRequest request = new PendingNodesRequest(jobMap,
+                                                                          tasksToSchedule,
+                                                                          neededResourcesNumber,
+                                                                          nodeSet);
+                    pendingNodesRequests.add(request);
+                    requestingTasks.addAll(request.statuses.keySet());
+                    freeNodesNumber -= neededResourcesNumber;
                 }
             }
 
-            return numberOfTaskStarted;
+            return numberOfTasksHandedOver;
         } finally {
             if (toUnlock != null) {
                 schedulingService.unlockJobsToSchedule(toUnlock.values());
@@ -313,6 +318,15 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
         }
     }
 
+    /**
+     * Stops the threads creating task launchers and requesting nodes.
+     */
+    @Override
+    public void shutdown() {
+        launcherCreationThreadPool.shutdownNow();
+        nodesRequestThreadPool.shutdownNow();
+    }
+
     /**
      * Extract the n first compatible tasks from the first argument list,
      * and return them according that the extraction is stopped when the maxResource number is reached.<br>
@@ -392,26 +406,23 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
 
     /**
      * Ask to the RM the given number of node resources.<br>
-     * If there is a problem with these task selection (such as bad selectionScript) this method
-     * will terminate the corresponding tasks and jobs. As the selection scripts contain errors, the task
-     * and its surrounding jobs must be stopped.
+     * The request is sent by a thread of the nodes request pool, which wakes up the scheduling thread
+     * once the RM has answered. If the selection criteria cannot be built, this method
+     * will terminate the corresponding tasks and jobs.
      *
      * @param neededResourcesNumber the number of resources to ask for (must be &gt; 0).
      * @param tasksToSchedule the task to be scheduled
-     * @return A nodeSet that contains at most 'neededResourcesNumber' available compatible resources.
-     * 		   An empty nodeSet if no nodes could be found
-     * 		   null if the their was an exception when asking for the nodes (ie : selection script has failed)
+     * @return A future nodeSet that will contain at most 'neededResourcesNumber' available compatible resources.
+     * 		   null if the their was an exception when building the request
      */
-    protected NodeSet getRMNodes(Map<JobId, JobDescriptor> jobMap, int neededResourcesNumber,
+    protected Future<NodeSet> getRMNodes(Map<JobId, JobDescriptor> jobMap, int neededResourcesNumber,
             LinkedList<EligibleTaskDescriptor> tasksToSchedule, Set<String> freeResources) {
-        NodeSet nodeSet = new NodeSet();
-
         if (neededResourcesNumber <= 0) {
             throw new IllegalArgumentException("'neededResourcesNumber' must be greater than 0");
         }
 
         EligibleTaskDescriptor etd = tasksToSchedule.getFirst();
-        InternalJob currentJob = ((JobDescriptorImpl) jobMap.get(etd.getJobId())).getInternal();
+        final InternalJob currentJob = ((JobDescriptorImpl) jobMap.get(etd.getJobId())).getInternal();
         InternalTask internalTask0 = currentJob.getIHMTasks().get(etd.getTaskId());
 
         try {
@@ -431,41 +442,48 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
                 descriptor = TopologyDescriptor.ARBITRARY;
             }
 
-            try {
-                Criteria criteria = new Criteria(neededResourcesNumber);
-                criteria.setTopology(descriptor);
-                // resolve script variables (if any) in the list of selection
-                // scripts and then set it as the selection criteria.
-                criteria.setScripts(resolveScriptVariables(internalTask0.getSelectionScripts(),
-                                                           internalTask0.getRuntimeVariables()));
-                criteria.setBlackList(internalTask0.getNodeExclusion());
-                criteria.setBestEffort(bestEffort);
-                criteria.setAcceptableNodesUrls(freeResources);
-                criteria.setBindings(createBindingsForSelectionScripts(currentJob, internalTask0));
-
-                if (internalTask0.getRuntimeGenericInformation().containsKey(SchedulerConstants.NODE_ACCESS_TOKEN)) {
-                    criteria.setNodeAccessToken(internalTask0.getRuntimeGenericInformation()
-                                                             .get(SchedulerConstants.NODE_ACCESS_TOKEN));
-                }
-
-                Collection<String> computationDescriptors = new ArrayList<>(tasksToSchedule.size());
-                for (EligibleTaskDescriptor task : tasksToSchedule) {
-                    computationDescriptors.add(TaskLogger.getTaskLogRelativePath(task.getTaskId()));
-                }
-
-                criteria.setComputationDescriptors(computationDescriptors);
+            final Criteria criteria = new Criteria(neededResourcesNumber);
+            criteria.setTopology(descriptor);
+            // resolve script variables (if any) in the list of selection
+            // scripts and then set it as the selection criteria.
+            criteria.setScripts(resolveScriptVariables(internalTask0.getSelectionScripts(),
+                                                       internalTask0.getRuntimeVariables()));
+            criteria.setBlackList(internalTask0.getNodeExclusion());
+            criteria.setBestEffort(bestEffort);
+            criteria.setAcceptableNodesUrls(new HashSet<>(freeResources));
+            criteria.setBindings(createBindingsForSelectionScripts(currentJob, internalTask0));
+
+            if (internalTask0.getRuntimeGenericInformation().containsKey(SchedulerConstants.NODE_ACCESS_TOKEN)) {
+                criteria.setNodeAccessToken(internalTask0.getRuntimeGenericInformation()
+                                                         .get(SchedulerConstants.NODE_ACCESS_TOKEN));
+            }
 
-                nodeSet = getRMProxiesManager().getUserRMProxy(currentJob.getOwner(), currentJob.getCredentials())
-                                               .getNodes(criteria);
-            } catch (TopologyDisabledException tde) {
-                jlogger.warn(currentJob.getId(), "will be canceled as the topology is disabled");
-                schedulingService.simulateJobStartAndCancelIt(tasksToSchedule, "Topology is disabled");
-                return null;
+            Collection<String> computationDescriptors = new ArrayList<>(tasksToSchedule.size());
+            for (EligibleTaskDescriptor task : tasksToSchedule) {
+                computationDescriptors.add(TaskLogger.getTaskLogRelativePath(task.getTaskId()));
             }
-            //the following line is used to unwrap the future, warning when moving or removing
-            //it may also throw a ScriptException which is a RuntimeException
-            PAFuture.waitFor(nodeSet, true);
-            logger.debug("provided nodes " + nodeSet.size());
+
+            criteria.setComputationDescriptors(computationDescriptors);
+
+            FutureTask<NodeSet> nodeSet = new FutureTask<NodeSet>(new Callable<NodeSet>() {
+                @Override
+                public NodeSet call() throws Exception {
+                    NodeSet nodeSet = getRMProxiesManager().getUserRMProxy(currentJob.getOwner(),
+                                                                           currentJob.getCredentials())
+                                                           .getNodes(criteria);
+                    //the following line is used to unwrap the future, warning when moving or removing
+                    //it may also throw a ScriptException which is a RuntimeException
+                    PAFuture.waitFor(nodeSet, true);
+                    return nodeSet;
+                }
+            }) {
+                @Override
+                protected void done() {
+                    // the nodes will be used by the next scheduling pass
+                    schedulingService.wakeUpSchedulingThread();
+                }
+            };
+            nodesRequestThreadPool.execute(nodeSet);
             return nodeSet;
 
         } catch (IOException | ClassNotFoundException e) {
@@ -475,15 +493,137 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
                                                           "Failed to deserialize previous task variables before selection for task " +
                                                                            internalTask0.getId().toString());
             return null;
-        } catch (RMProxyCreationException e) {
-            logger.warn("Failed to create User RM Proxy", e);
-            //simulate jobs starts and cancel it
-            schedulingService.simulateJobStartAndCancelIt(tasksToSchedule,
-                                                          "Failed to create User RM Proxy : Authentication Failed to Resource Manager for user '" +
-                                                                           currentJob.getOwner() + "'");
-            //leave the method by ss failure
+        }
+    }
+
+    /**
+     * Start the tasks of the node requests answered by the RM.
+     *
+     * @param currentPolicy the policy used to check that tasks can be executed on the received nodes
+     * @return the number of tasks handed over to the launcher creation
+     */
+    private int startTasksWithReceivedNodes(Policy currentPolicy) {
+        int numberOfTasksHandedOver = 0;
+        Iterator<PendingNodesRequest> iterator = pendingNodesRequests.iterator();
+        while (iterator.hasNext()) {
+            PendingNodesRequest request = iterator.next();
+            if (!request.nodeSet.isDone()) {
+                continue;
+            }
+            iterator.remove();
+            requestingTasks.removeAll(request.statuses.keySet());
+
+            NodeSet nodeSet = getReceivedNodes(request);
+            if (nodeSet != null && !nodeSet.isEmpty()) {
+                numberOfTasksHandedOver += startTasks(currentPolicy, request, nodeSet);
+            }
+        }
+        return numberOfTasksHandedOver;
+    }
+
+    /**
+     * Get the nodes of an answered request.<br>
+     * If the request failed because of the tasks (topology disabled, authentication failure), this method
+     * will terminate the corresponding tasks and jobs.
+     *
+     * @param request the answered request
+     * @return the received nodeSet, or null if the request failed
+     */
+    private NodeSet getReceivedNodes(PendingNodesRequest request) {
+        LinkedList<EligibleTaskDescriptor> tasksToSchedule = request.tasks;
+        InternalJob currentJob = request.getJob(tasksToSchedule.getFirst());
+        try {
+            NodeSet nodeSet = request.nodeSet.get();
+            logger.debug("provided nodes " + nodeSet.size());
+            return nodeSet;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             return null;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TopologyDisabledException) {
+                jlogger.warn(currentJob.getId(), "will be canceled as the topology is disabled");
+                schedulingService.simulateJobStartAndCancelIt(tasksToSchedule, "Topology is disabled");
+                return null;
+            } else if (cause instanceof RMProxyCreationException) {
+                logger.warn("Failed to create User RM Proxy", cause);
+                //simulate jobs starts and cancel it
+                schedulingService.simulateJobStartAndCancelIt(tasksToSchedule,
+                                                              "Failed to create User RM Proxy : Authentication Failed to Resource Manager for user '" +
+                                                                               currentJob.getOwner() + "'");
+                //leave the method by ss failure
+                return null;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw new IllegalStateException("Failed to get nodes from the RM", cause);
+            }
+        }
+    }
+
+    /**
+     * Try to start the tasks of a request on the received nodes. Unused nodes are given back to the RM.
+     *
+     * @param currentPolicy the policy used to check that tasks can be executed on the received nodes
+     * @param request the answered request
+     * @param nodeSet the received nodes
+     * @return the number of tasks handed over to the launcher creation
+     */
+    private int startTasks(Policy currentPolicy, PendingNodesRequest request, NodeSet nodeSet) {
+        int numberOfTasksHandedOver = 0;
+        LinkedList<EligibleTaskDescriptor> tasksToSchedule = request.tasks;
+        Node node = null;
+        InternalJob currentJob = request.getJob(tasksToSchedule.getFirst());
+        try {
+            // executable containers are only needed by tasks which obtained nodes
+            loadAndInit(tasksToSchedule);
+            while (!nodeSet.isEmpty()) {
+                EligibleTaskDescriptor taskDescriptor = tasksToSchedule.removeFirst();
+                currentJob = request.getJob(taskDescriptor);
+                InternalTask internalTask = currentJob.getIHMTasks().get(taskDescriptor.getTaskId());
+
+                // the task may have been killed or restarted while waiting for its nodes
+                if (internalTask.getStatus() == request.getStatus(taskDescriptor) &&
+                    currentPolicy.isTaskExecutable(nodeSet, taskDescriptor)) {
+                    //hand the task over to the launcher creation
+                    node = nodeSet.get(0);
+
+                    boolean handedOver = false;
+                    try {
+                        handedOver = createExecution(nodeSet, node, currentJob, internalTask, taskDescriptor);
+                    } finally {
+                        if (!handedOver) {
+                            // give back to the policy what it associated to the task when accepting it
+                            currentPolicy.taskTerminated(internalTask.getId());
+                        }
+                    }
+                    if (handedOver) {
+                        numberOfTasksHandedOver++;
+                    }
+
+                }
+
+                //if every task that should be launched have been removed
+                if (tasksToSchedule.isEmpty()) {
+                    //get back unused nodes to the RManager
+                    if (!nodeSet.isEmpty()) {
+                        releaseNodes(currentJob, nodeSet);
+                    }
+                    //and leave the loop
+                    break;
+                }
+            }
+        } catch (Exception e1) {
+            //if we are here, it is that something append while launching the current task.
+            logger.warn("An exception occured while starting task.", e1);
+            //so try to get back every remaining nodes to the resource manager
+            try {
+                releaseNodes(currentJob, nodeSet);
+            } catch (Exception e2) {
+                logger.info("Unable to get back the nodeSet to the RM", e2);
+            }
         }
+        return numberOfTasksHandedOver;
     }
 
     /**
@@ -541,18 +681,39 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
     }
 
     /**
-     * Load and initialize the task to be started
+     * Load and initialize the executable containers of the tasks to be started.
+     * Recently loaded containers are taken from the cache, the other ones are loaded with a batch query.
      *
-     * @param task the task to be initialized
+     * @param tasksToSchedule the tasks to be initialized
      */
-    protected void loadAndInit(InternalTask task) {
-        tlogger.debug(task.getId(), "initializing the executable container");
-        ExecutableContainer container = getDBManager().loadExecutableContainer(task);
-        task.setExecutableContainer(container);
+    protected void loadAndInit(List<EligibleTaskDescriptor> tasksToSchedule) {
+        List<InternalTask> tasksToLoad = new ArrayList<>(tasksToSchedule.size());
+        for (EligibleTaskDescriptor etd : tasksToSchedule) {
+            InternalTask task = ((EligibleTaskDescriptorImpl) etd).getInternal();
+            ExecutableContainer container = executableContainersCache.get(TaskIdWrapper.wrap(task.getId()));
+            if (container != null) {
+                task.setExecutableContainer(container);
+            } else {
+                tasksToLoad.add(task);
+            }
+        }
+
+        if (tasksToLoad.isEmpty()) {
+            return;
+        }
+
+        List<ExecutableContainer> containers = getDBManager().loadExecutableContainers(tasksToLoad);
+        for (int i = 0; i < tasksToLoad.size(); i++) {
+            InternalTask task = tasksToLoad.get(i);
+            tlogger.debug(task.getId(), "initializing the executable container");
+            task.setExecutableContainer(containers.get(i));
+            executableContainersCache.put(TaskIdWrapper.wrap(task.getId()), containers.get(i));
+        }
     }
 
     /**
-     * Create launcher and try to start the task.
+     * Reserve the nodes of the task and submit the creation of its launcher.
+     * The task is started once its launcher has been created, see {@link CreateLauncherAction}.
      *
      * @param nodeSet the node set containing every available nodes that can be used for execution
      * @param node the node on which to start the task
@@ -563,7 +724,6 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
      */
     protected boolean createExecution(NodeSet nodeSet, Node node, InternalJob job, InternalTask task,
             TaskDescriptor taskDescriptor) throws Exception {
-        TaskLauncher launcher = null;
         LiveJobs.JobData jobData = null;
         try {
             jobData = schedulingService.lockJob(job.getId());
@@ -576,40 +736,36 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
                 job.startDataSpaceApplication(dsStarter.getNamingService(), ImmutableList.of(task));
 
                 NodeSet nodes = new NodeSet();
+                TaskIdWrapper taskId = TaskIdWrapper.wrap(task.getId());
                 try {
-
-                    // create launcher
-                    launcher = task.createLauncher(node);
-
-                    activeObjectCreationRetryTimeNumber = ACTIVEOBJECT_CREATION_RETRY_TIME_NUMBER;
-
                     nodeSet.remove(0);
 
                     //if topology is enabled and it is a multi task, give every nodes to the multi-nodes task
                     // we will need to update this code once topology will be allowed for single-node task
                     if (task.isParallel()) {
                         nodes = new NodeSet(nodeSet);
-                        task.getExecuterInformation().addNodes(nodes);
                         nodeSet.clear();
                     }
 
                     //set nodes in the executable container
                     task.getExecutableContainer().setNodes(nodes);
 
-                    tlogger.debug(task.getId(), "deploying");
+                    // the starting task now holds its container
+                    executableContainersCache.remove(taskId);
 
-                    finalizeStarting(job, task, node, launcher);
+                    tlogger.debug(task.getId(), "creating launcher");
 
-                    threadPool.submitWithTimeout(new TimedDoTaskAction(job,
-                                                                       taskDescriptor,
-                                                                       launcher,
-                                                                       schedulingService,
-                                                                       terminateNotification,
-                                                                       corePrivateKey),
-                                                 DOTASK_ACTION_TIMEOUT,
-                                                 TimeUnit.MILLISECONDS);
+                    startingTasks.add(taskId);
+                    launcherCreationThreadPool.submitWithTimeout(new CreateLauncherAction(job,
+                                                                                          task,
+                                                                                          taskDescriptor,
+                                                                                          node,
+                                                                                          nodes),
+                                                                 CREATE_LAUNCHER_ACTION_TIMEOUT,
+                                                                 TimeUnit.MILLISECONDS);
                     return true;
                 } catch (Exception t) {
+                    startingTasks.remove(taskId);
                     try {
                         //if there was a problem, free nodeSet for multi-nodes task
                         nodes.add(node);
@@ -631,6 +787,20 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
 
     }
 
+    /**
+     * Remove from the given list the tasks whose launcher is still being created.
+     *
+     * @param tasks the tasks returned by the policy
+     */
+    private void removeStartingTasks(List<EligibleTaskDescriptor> tasks) {
+        Iterator<EligibleTaskDescriptor> iterator = tasks.iterator();
+        while (iterator.hasNext()) {
+            if (startingTasks.contains(TaskIdWrapper.wrap(iterator.next().getTaskId()))) {
+                iterator.remove();
+            }
+        }
+    }
+
     /**
      * Finalize the start of the task by mark it as started. Also mark the job if it is not already started.
      *
@@ -651,6 +821,204 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
         return schedulingService.getInfrastructure().getDBManager();
     }
 
+    /**
+     * Nodes asked to the RM for a group of compatible tasks, with the state of these tasks when asking.
+     */
+    private static class PendingNodesRequest {
+
+        private final Map<JobId, JobDescriptor> jobMap;
+
+        private final LinkedList<EligibleTaskDescriptor> tasks;
+
+        private final Map<TaskIdWrapper, TaskStatus> statuses;
+
+        private final int neededResourcesNumber;
+
+        private final Future<NodeSet> nodeSet;
+
+        PendingNodesRequest(Map<JobId, JobDescriptor> jobMap, LinkedList<EligibleTaskDescriptor> tasks,
+                int neededResourcesNumber, Future<NodeSet> nodeSet) {
+            this.jobMap = jobMap;
+            this.tasks = tasks;
+            this.neededResourcesNumber = neededResourcesNumber;
+            this.nodeSet = nodeSet;
+            this.statuses = new HashMap<>(tasks.size());
+            for (EligibleTaskDescriptor task : tasks) {
+                statuses.put(TaskIdWrapper.wrap(task.getTaskId()),
+                             ((EligibleTaskDescriptorImpl) task).getInternal().getStatus());
+            }
+        }
+
+        InternalJob getJob(EligibleTaskDescriptor task) {
+            return ((JobDescriptorImpl) jobMap.get(task.getJobId())).getInternal();
+        }
+
+        TaskStatus getStatus(EligibleTaskDescriptor task) {
+            return statuses.get(TaskIdWrapper.wrap(task.getTaskId()));
+        }
+    }
+
+    /**
+     * Create the launcher of a task on its node, then mark the task as started and submit it.
+     * If the launcher cannot be created in time, or if the task changed meanwhile, its nodes are released
+     * and the task will be scheduled again.
+     */
+    private class CreateLauncherAction implements CallableWithTimeoutAction<Void> {
+
+        private final InternalJob job;
+
+        private final InternalTask task;
+
+        private final TaskDescriptor taskDescriptor;
+
+        private final Node node;
+
+        private final NodeSet nodes;
+
+        private final TaskStatus status;
+
+        private boolean completed;
+
+        CreateLauncherAction(InternalJob job, InternalTask task, TaskDescriptor taskDescriptor, Node node,
+                NodeSet nodes) {
+            this.job = job;
+            this.task = task;
+            this.taskDescriptor = taskDescriptor;
+            this.node = node;
+            this.nodes = nodes;
+            this.status = task.getStatus();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Void call() throws Exception {
+            TaskLauncher launcher;
+            try {
+                launcher = task.createLauncher(node);
+            } catch (Throwable e) {
+                tlogger.warn(task.getId(), "An exception occured while creating the task launcher", e);
+                if (complete()) {
+                    abort();
+                }
+                return null;
+            }
+            if (!complete()) {
+                // timeout already expired, nodes were released
+                terminateLauncher(launcher);
+                return null;
+            }
+
+            LiveJobs.JobData jobData = null;
+            boolean started = false;
+            try {
+                jobData = schedulingService.lockJob(job.getId());
+                if (jobData != null && task.getStatus() == status) {
+                    if (task.isParallel()) {
+                        task.getExecuterInformation().addNodes(nodes);
+                    }
+                    tlogger.debug(task.getId(), "deploying");
+                    finalizeStarting(job, task, node, launcher);
+                    started = true;
+                } else {
+                    tlogger.info(task.getId(), "task changed while its launcher was created, releasing its nodes");
+                }
+            } catch (Throwable e) {
+                tlogger.warn(task.getId(), "An exception occured while starting task", e);
+            } finally {
+                if (jobData != null) {
+                    jobData.unlock();
+                }
+            }
+
+            if (!started) {
+                terminateLauncher(launcher);
+                abort();
+                return null;
+            }
+
+            startingTasks.remove(TaskIdWrapper.wrap(task.getId()));
+            threadPool.submitWithTimeout(new TimedDoTaskAction(job,
+                                                               taskDescriptor,
+                                                               launcher,
+                                                               schedulingService,
+                                                               terminateNotification,
+                                                               taskResultProvider,
+                                                               corePrivateKey),
+                                         DOTASK_ACTION_TIMEOUT,
+                                         TimeUnit.MILLISECONDS);
+            return null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void timeoutAction() {
+            tlogger.warn(task.getId(), "Task launcher creation timeout");
+            if (complete()) {
+                abort();
+            }
+        }
+
+        /**
+         * Mark this action as completed, either by the launcher creation or by the timeout.
+         *
+         * @return true if this call completed the action, false if it was already completed
+         */
+        private synchronized boolean complete() {
+            if (completed) {
+                return false;
+            }
+            completed = true;
+            return true;
+        }
+
+        /**
+         * Terminates a launcher which will not run the task, before its nodes are used by another task.
+         */
+        private void terminateLauncher(TaskLauncher launcher) {
+            try {
+                PAActiveObject.terminateActiveObject(launcher, true);
+            } catch (Throwable e) {
+                tlogger.debug(task.getId(), "Unable to terminate the unused task launcher", e);
+            }
+        }
+
+        private void abort() {
+            try {
+                NodeSet toRelease = new NodeSet(nodes);
+                toRelease.add(node);
+                releaseNodes(job, toRelease);
+            } catch (Throwable e) {
+                tlogger.warn(task.getId(), "Unable to get back the nodeSet to the RM", e);
+            } finally {
+                startingTasks.remove(TaskIdWrapper.wrap(task.getId()));
+                schedulingService.getPolicy().taskTerminated(task.getId());
+                schedulingService.wakeUpSchedulingThread();
+            }
+        }
+    }
+
+    /**
+     * Bounded LRU map of executable containers, indexed by task
+     */
+    private static class ExecutableContainersCache extends LinkedHashMap<TaskIdWrapper, ExecutableContainer> {
+
+        private final int maxSize;
+
+        ExecutableContainersCache(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<TaskIdWrapper, ExecutableContainer> eldest) {
+            return size() > maxSize;
+        }
+    }
+
     /*
      * Replace selection script variables with values specified in the map.
      */
@@ -29,6 +29,7 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -58,6 +59,7 @@ import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor;
 import org.ow2.proactive.scheduler.job.InternalJob;
 import org.ow2.proactive.scheduler.job.JobInfoImpl;
 import org.ow2.proactive.scheduler.policy.Policy;
+import org.ow2.proactive.scheduler.policy.PolicyContext;
 import org.ow2.proactive.scheduler.task.TaskInfoImpl;
 import org.ow2.proactive.scheduler.task.TaskLauncher;
 import org.ow2.proactive.scheduler.task.TaskResultImpl;
@@ -96,6 +98,8 @@ public class SchedulingService {
 
     private final ListenJobLogsSupport listenJobLogsSupport;
 
+    private final CredentialsCache credentialsCache = new CredentialsCache(PASchedulerProperties.SCHEDULER_CREDENTIALS_CACHE_SIZE.getValueAsInt());
+
     volatile SchedulerStatus status = SchedulerStatus.STOPPED;
 
     private volatile Policy policy;
@@ -126,6 +130,7 @@ public class SchedulingService {
         if (!this.policy.reloadConfig()) {
             throw new RuntimeException("Scheduling policy cannot be started, see log file for details.");
         }
+        initPolicy(this.policy);
         logger.debug("Instantiated policy : " + policyClassName);
 
         lastRmUrl = infrastructure.getRMProxiesManager().getRmUrl();
@@ -298,6 +303,10 @@ public class SchedulingService {
         return listenJobLogsSupport;
     }
 
+    CredentialsCache getCredentialsCache() {
+        return credentialsCache;
+    }
+
     public boolean reloadPolicyConfiguration() {
         if (status.isShuttingDown()) {
             logger.warn("Policy configuration can only be reloaded when Scheduler is up, current state : " + status);
@@ -318,6 +327,7 @@ public class SchedulingService {
             if (!newPolicy.reloadConfig()) {
                 return false;
             }
+            initPolicy(newPolicy);
             //if success, change current policy
             policy = newPolicy;
             listener.schedulerStateUpdated(SchedulerEvent.POLICY_CHANGED);
@@ -335,6 +345,23 @@ public class SchedulingService {
         }
     }
 
+    /**
+     * Give to the policy the history and the callbacks it relies on.
+     */
+    private void initPolicy(Policy policy) {
+        policy.init(new PolicyContext() {
+            @Override
+            public void wakeUpSchedulingThread() {
+                SchedulingService.this.wakeUpSchedulingThread();
+            }
+
+            @Override
+            public Map<String, Map<String, Double>> getMeanTaskRunningTimes() {
+                return infrastructure.getDBManager().getMeanTaskRunningTimes();
+            }
+        });
+    }
+
     public boolean linkResourceManager(String rmURL) {
         try {
             //re-link the RM
@@ -364,6 +391,13 @@ public class SchedulingService {
         return jobs.lockJobsToSchedule();
     }
 
+    /*
+     * Should be called only by scheduling method impl when job scheduling starts
+     */
+    public Map<JobId, JobDescriptor> lockJobsWithEligibleTasks() {
+        return jobs.lockJobsWithEligibleTasks();
+    }
+
     /*
      * Should be called only by scheduling method impl when job scheduling starts
      */
@@ -887,6 +921,8 @@ public class SchedulingService {
     void terminateJobHandling(final JobId jobId) {
         try {
             listenJobLogsSupport.cleanLoggers(jobId);
+            credentialsCache.remove(jobId);
+            policy.jobTerminated(jobId);
 
             // auto remove
             if (SchedulingService.SCHEDULER_AUTO_REMOVED_JOB_DELAY > 0) {
@@ -914,6 +950,9 @@ public class SchedulingService {
 
         recoverTasksState(pendingJobs, true);
 
+        // eligible tasks of recovered jobs have been restored without holding job locks
+        jobs.updateEligibleJobsIndex();
+
         if (SCHEDULER_REMOVED_JOB_DELAY > 0 || SCHEDULER_AUTO_REMOVED_JOB_DELAY > 0) {
             logger.debug("Removing non-managed jobs");
             Iterator<InternalJob> iterJob = recoveredState.getFinishedJobs().iterator();
@@ -994,54 +1033,109 @@ public class SchedulingService {
         }
     }
 
-    void getProgressAndPingTaskNode(RunningTaskData taskData) {
-        if (!jobs.canPingTask(taskData) ||
-            taskData.getPingAttempts() > PASchedulerProperties.SCHEDULER_NODE_PING_ATTEMPTS.getValueAsInt()) {
+    /**
+     * Update the progress of tasks running on the same node.
+     * The progress of all the tasks is fetched with a single call to one of the launchers of the node.
+     * When this call fails, the node is pinged once and the result of this ping is used for all the tasks of the node.
+     *
+     * @param tasksOnNode the running tasks whose launcher is deployed on the same node
+     */
+    void getProgressAndPingTaskNode(List<RunningTaskData> tasksOnNode) {
+        List<RunningTaskData> tasksToPing = new ArrayList<>(tasksOnNode.size());
+        for (RunningTaskData taskData : tasksOnNode) {
+            if (jobs.canPingTask(taskData) &&
+                taskData.getPingAttempts() <= PASchedulerProperties.SCHEDULER_NODE_PING_ATTEMPTS.getValueAsInt()) {
+                tasksToPing.add(taskData);
+            }
+        }
+        if (tasksToPing.isEmpty()) {
             return;
         }
 
-        InternalTask task = taskData.getTask();
+        Map<String, Integer> progressOnNode;
         try {
-            int progress = taskData.getLauncher().getProgress();//(2)
-            //get previous inside td
-            if (progress != task.getProgress()) {
-                task.setProgress(progress);//(1)
-                //if progress != previously set progress (0 by default) -> update
-                listener.taskStateUpdated(taskData.getUser(),
-                                          new NotificationData<TaskInfo>(SchedulerEvent.TASK_PROGRESS,
-                                                                         new TaskInfoImpl((TaskInfoImpl) task.getTaskInfo())));
+            progressOnNode = new HashMap<>(tasksToPing.get(0).getLauncher().getProgressOfTasksOnNode());
+        } catch (Throwable t) {
+            logger.debug("TaskLaunchers of node " + tasksToPing.get(0).getNodeExecutor().getNodeInformation().getURL() +
+                         " are not accessible, checking if the node can be reached.",
+                         t);
+            Exception nodeFailure = pingTaskNode(tasksToPing.get(0));
+            if (nodeFailure != null) {
+                for (RunningTaskData taskData : tasksToPing) {
+                    handleTaskNodeFailure(taskData, nodeFailure);
+                }
+            } else {
+                // the node is alive, only the queried launcher failed
+                for (RunningTaskData taskData : tasksToPing) {
+                    getProgressAndPingTaskNodeOfTask(taskData);
+                }
             }
+            return;
+        }
+
+        for (RunningTaskData taskData : tasksToPing) {
+            Integer progress = progressOnNode.get(taskData.getTask().getId().toString());
+            if (progress != null) {
+                updateTaskProgress(taskData, progress);
+            }
+        }
+    }
+
+    private void getProgressAndPingTaskNodeOfTask(RunningTaskData taskData) {
+        InternalTask task = taskData.getTask();
+        try {
+            updateTaskProgress(taskData, taskData.getLauncher().getProgress());
         } catch (Throwable t) {
             tlogger.debug(task.getId(), "TaskLauncher is not accessible, checking if the node can be reached.", t);
-            pingTaskNodeAndInitiateRestart(task);
+            Exception nodeFailure = pingTaskNode(taskData);
+            if (nodeFailure != null) {
+                handleTaskNodeFailure(taskData, nodeFailure);
+            }
         }
     }
 
-    private void pingTaskNodeAndInitiateRestart(InternalTask task) {
-
-        RunningTaskData runningTask = jobs.getRunningTask(task.getId());
-        if (runningTask != null) {
-            // We try to ping the node where the task is running to make sure the exception raised is due to a node failure.
-            // We don't consider here other nodes reserved for the task,
-            // as it is the responsibility of the task itself to manage extra nodes lifecycle
-            // in case of complex multinodes task deployment.
-            Node nodeUsedToExecuteTask = runningTask.getNodeExecutor();
+    private void updateTaskProgress(RunningTaskData taskData, int progress) {
+        InternalTask task = taskData.getTask();
+        //get previous inside td
+        if (progress != task.getProgress()) {
+            task.setProgress(progress);
+            //if progress != previously set progress (0 by default) -> update
+            listener.taskStateUpdated(taskData.getUser(),
+                                      new NotificationData<TaskInfo>(SchedulerEvent.TASK_PROGRESS,
+                                                                     new TaskInfoImpl((TaskInfoImpl) task.getTaskInfo())));
+        }
+    }
 
-            try {
-                nodeUsedToExecuteTask.getNumberOfActiveObjects();
+    /**
+     * Ping the node where the task is running to make sure the exception raised is due to a node failure.
+     * We don't consider here other nodes reserved for the task,
+     * as it is the responsibility of the task itself to manage extra nodes lifecycle
+     * in case of complex multinodes task deployment.
+     *
+     * @return the exception raised by the ping, or null if the node can be reached
+     */
+    private Exception pingTaskNode(RunningTaskData runningTask) {
+        try {
+            runningTask.getNodeExecutor().getNumberOfActiveObjects();
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
 
-            } catch (Exception e) {
-                int attempts = runningTask.increaseAndGetPingAttempts();
-                String nodeUrl = nodeUsedToExecuteTask.getNodeInformation().getURL();
-                if (attempts > PASchedulerProperties.SCHEDULER_NODE_PING_ATTEMPTS.getValueAsInt()) {
-                    tlogger.error(task.getId(), "node failed " + nodeUrl + ", initiate task restart.", e);
-                    restartTaskOnNodeFailure(task);
-                } else {
-                    tlogger.warn(task.getId(),
-                                 "cannot contact node " + nodeUrl + " - waiting while it comes back, attempt " +
-                                               attempts,
-                                 e);
-                }
+    private void handleTaskNodeFailure(RunningTaskData taskData, Exception e) {
+        RunningTaskData runningTask = jobs.getRunningTask(taskData.getTask().getId());
+        if (runningTask != null) {
+            InternalTask task = runningTask.getTask();
+            int attempts = runningTask.increaseAndGetPingAttempts();
+            String nodeUrl = runningTask.getNodeExecutor().getNodeInformation().getURL();
+            if (attempts > PASchedulerProperties.SCHEDULER_NODE_PING_ATTEMPTS.getValueAsInt()) {
+                tlogger.error(task.getId(), "node failed " + nodeUrl + ", initiate task restart.", e);
+                restartTaskOnNodeFailure(task);
+            } else {
+                tlogger.warn(task.getId(),
+                             "cannot contact node " + nodeUrl + " - waiting while it comes back, attempt " + attempts,
+                             e);
             }
         }
     }
@@ -25,21 +25,32 @@
  */
 package org.ow2.proactive.scheduler.core;
 
-import java.util.Timer;
-import java.util.TimerTask;
-
 import org.ow2.proactive.scheduler.common.SchedulerStatus;
 import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
 
 
+/**
+ * SchedulingThread runs the scheduling passes.
+ * <p>
+ * Every event which may allow a task to start (job submission, task termination, node release...)
+ * calls {@link #wakeUpSchedulingThread()}, which raises a single pending work flag. Several signals
+ * received while a pass is running are coalesced into one new pass, and the thread only waits for
+ * {@link PASchedulerProperties#SCHEDULER_TIME_OUT} when nothing has been signaled. This timeout remains
+ * as a fallback for changes the scheduler is not notified about (e.g. nodes added to the RM).
+ *
+ * @author The ProActive Team
+ */
 public final class SchedulingThread extends Thread {
 
-    private static final int SCHEDULER_TIME_OUT = PASchedulerProperties.SCHEDULER_TIME_OUT.getValueAsInt();
+    private final int schedulerTimeOut = PASchedulerProperties.SCHEDULER_TIME_OUT.getValueAsInt();
 
     private final SchedulingMethod schedulingMethod;
 
     private final SchedulingService service;
 
+    /** true if something happened since the beginning of the last scheduling pass */
+    private boolean schedulingRequested = false;
+
     public SchedulingThread(SchedulingMethod schedulingMethod, SchedulingService service) {
         super("SchedulingThread");
         this.schedulingMethod = schedulingMethod;
@@ -49,33 +60,56 @@ public final class SchedulingThread extends Thread {
     public void run() {
         boolean tasksStarted;
 
-        while (!isInterrupted()) {
-            try {
-                tasksStarted = false;
-                if (service.status == SchedulerStatus.STARTED || service.status == SchedulerStatus.PAUSED ||
-                    service.status == SchedulerStatus.STOPPED) {
-                    tasksStarted = schedulingMethod.schedule() > 0;
-                }
-                if (!tasksStarted) {
-                    service.sleepSchedulingThread();
+        try {
+            while (!isInterrupted()) {
+                try {
+                    tasksStarted = false;
+                    clearSchedulingRequest();
+                    if (service.status == SchedulerStatus.STARTED || service.status == SchedulerStatus.PAUSED ||
+                        service.status == SchedulerStatus.STOPPED) {
+                        tasksStarted = schedulingMethod.schedule() > 0;
+                    }
+                    if (!tasksStarted) {
+                        service.sleepSchedulingThread();
+                    }
+                } catch (InterruptedException e) {
+                    break;
+                } catch (Throwable t) {
+                    service.handleException(t);
                 }
-            } catch (InterruptedException e) {
-                break;
-            } catch (Throwable t) {
-                service.handleException(t);
             }
+        } finally {
+            schedulingMethod.shutdown();
         }
     }
 
+    /**
+     * Wait until a new scheduling pass is requested or until the scheduling timeout is reached.
+     * Returns immediately if a pass has been requested while the previous one was running.
+     */
     protected void sleepSchedulingThread() throws InterruptedException {
         synchronized (this) {
-            this.wait(SCHEDULER_TIME_OUT);
+            if (!schedulingRequested) {
+                this.wait(schedulerTimeOut);
+            }
         }
     }
 
+    private void clearSchedulingRequest() {
+        synchronized (this) {
+            schedulingRequested = false;
+        }
+    }
+
+    /**
+     * Request a new scheduling pass. Consecutive requests are merged until the next pass starts.
+     */
     protected void wakeUpSchedulingThread() {
         synchronized (this) {
-            this.notifyAll();
+            if (!schedulingRequested) {
+                schedulingRequested = true;
+                this.notifyAll();
+            }
         }
     }
 
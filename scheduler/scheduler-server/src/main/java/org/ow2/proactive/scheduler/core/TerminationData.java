@@ -55,6 +55,7 @@ import org.ow2.proactive.scheduler.task.TaskResultImpl;
 import org.ow2.proactive.scheduler.task.internal.InternalTask;
 import org.ow2.proactive.scheduler.task.internal.InternalTaskParentFinder;
 import org.ow2.proactive.scheduler.task.utils.VariablesMap;
+import org.ow2.proactive.scheduler.util.ServerJobAndTaskLogs;
 import org.ow2.proactive.utils.TaskIdWrapper;
 
 
@@ -186,6 +187,7 @@ final class TerminationData {
             service.getInfrastructure().schedule(new Runnable() {
                 public void run() {
                     service.getJobs().restartWaitingTask(restartData.taskId);
+                    service.wakeUpSchedulingThread();
                 }
             }, restartData.waitTime);
         }
@@ -212,6 +214,7 @@ final class TerminationData {
                             if (taskToTerminate.terminatedWhileRunning()) {
                                 terminateRunningTask(service, taskToTerminate, taskData);
                             }
+                            service.getPolicy().taskTerminated(taskData.getTask().getId());
                         } catch (Throwable e) {
                             logger.error("Failed to terminate task " + taskToTerminate.taskData.getTask().getName(), e);
                             throw new RuntimeException(e);
@@ -265,10 +268,12 @@ final class TerminationData {
                                         variables,
                                         genericInformation,
                                         taskToTerminate.taskData.getTask().getId());
-
+            // released nodes can be used by pending tasks
+            service.wakeUpSchedulingThread();
         } catch (Throwable t) {
             logger.info("Failed to release nodes for task '" + taskData.getTask().getId() + "'", t);
         }
+        ServerJobAndTaskLogs.closeTaskLog(taskData.getTask().getId());
     }
 
     public VariablesMap getStringSerializableMap(SchedulingService service, TaskTerminationData taskToTerminate)
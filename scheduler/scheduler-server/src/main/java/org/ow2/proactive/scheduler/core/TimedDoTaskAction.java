@@ -40,6 +40,7 @@ import org.ow2.proactive.authentication.crypto.Credentials;
 import org.ow2.proactive.authentication.crypto.HybridEncryptionUtil;
 import org.ow2.proactive.authentication.crypto.HybridEncryptionUtil.HybridEncryptedData;
 import org.ow2.proactive.scheduler.common.TaskDescriptor;
+import org.ow2.proactive.scheduler.common.TaskResultProvider;
 import org.ow2.proactive.scheduler.common.TaskTerminateNotification;
 import org.ow2.proactive.scheduler.common.job.JobType;
 import org.ow2.proactive.scheduler.common.task.TaskId;
@@ -74,6 +75,8 @@ public class TimedDoTaskAction implements CallableWithTimeoutAction<Void> {
 
     private final TaskTerminateNotification terminateNotification;
 
+    private final TaskResultProvider taskResultProvider;
+
     private final PrivateKey corePrivateKey;
 
     private boolean taskWasRestarted;
@@ -87,13 +90,14 @@ public class TimedDoTaskAction implements CallableWithTimeoutAction<Void> {
      */
     public TimedDoTaskAction(InternalJob job, TaskDescriptor taskDescriptor, TaskLauncher launcher,
             SchedulingService schedulingService, TaskTerminateNotification terminateNotification,
-            PrivateKey corePrivateKey) {
+            TaskResultProvider taskResultProvider, PrivateKey corePrivateKey) {
         this.job = job;
         this.taskDescriptor = taskDescriptor;
         this.task = ((EligibleTaskDescriptorImpl) taskDescriptor).getInternal();
         this.launcher = launcher;
         this.schedulingService = schedulingService;
         this.terminateNotification = terminateNotification;
+        this.taskResultProvider = taskResultProvider;
         this.corePrivateKey = corePrivateKey;
         this.internalTaskParentFinder = InternalTaskParentFinder.getInstance();
     }
@@ -118,10 +122,12 @@ public class TimedDoTaskAction implements CallableWithTimeoutAction<Void> {
 
                 params = new TaskResult[parentIds.size()];
 
+                // parent values and logs are fetched by the launcher only if the task reads them
                 Map<TaskId, TaskResult> taskResults = schedulingService.getInfrastructure()
                                                                        .getDBManager()
-                                                                       .loadTasksResults(job.getId(),
-                                                                                         new ArrayList<>(parentIds));
+                                                                       .loadTasksResultReferences(job.getId(),
+                                                                                                  new ArrayList<>(parentIds),
+                                                                                                  taskResultProvider);
 
                 int i = 0;
                 for (TaskId taskId : parentIds) {
@@ -153,21 +159,32 @@ public class TimedDoTaskAction implements CallableWithTimeoutAction<Void> {
     }
 
     private void createAndSetCredentials() throws KeyException, NoSuchAlgorithmException {
-        CredData decryptedUserCredentials = job.getCredentials().decrypt(corePrivateKey);
-
-        enrichWithThirdPartyCredentials(decryptedUserCredentials);
+        CredentialsCache.Entry decryptedUserCredentials = getDecryptedUserCredentials();
 
         PublicKey nodePublicKey = launcher.generatePublicKey();
-        Credentials nodeEncryptedUserCredentials = Credentials.createCredentials(decryptedUserCredentials,
-                                                                                 nodePublicKey);
+        Credentials nodeEncryptedUserCredentials = decryptedUserCredentials.encryptFor(nodePublicKey);
 
         task.getExecutableContainer().setCredentials(nodeEncryptedUserCredentials);
     }
 
-    protected boolean areThirdPartyCredentialsDefined() {
-        return schedulingService.getInfrastructure()
-                                .getDBManager()
-                                .hasThirdPartyCredentials(job.getJobInfo().getJobOwner());
+    /**
+     * Decrypt the credentials of the job owner and its third party credentials, or take them from the cache
+     * if another task of the job already did it.
+     */
+    private CredentialsCache.Entry getDecryptedUserCredentials() throws KeyException {
+        CredentialsCache credentialsCache = schedulingService.getCredentialsCache();
+        Credentials credentials = job.getCredentials();
+        String owner = job.getJobInfo().getJobOwner();
+
+        CredentialsCache.Entry entry = credentialsCache.get(job.getId(), credentials, owner);
+        if (entry == null) {
+            int version = credentialsCache.getVersion(owner);
+            CredData decryptedUserCredentials = credentials.decrypt(corePrivateKey);
+            enrichWithThirdPartyCredentials(decryptedUserCredentials);
+            entry = new CredentialsCache.Entry(credentials, owner, version, decryptedUserCredentials);
+            credentialsCache.put(job.getId(), entry);
+        }
+        return entry;
     }
 
     private void enrichWithThirdPartyCredentials(CredData decryptedUserCredentials) throws KeyException {
@@ -0,0 +1,229 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.db;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+import org.hibernate.Session;
+import org.ow2.proactive.db.DatabaseManagerException;
+import org.ow2.proactive.db.SessionWork;
+import org.ow2.proactive.db.TransactionHelper;
+
+
+/**
+ * Executes read/write session works by groups: works submitted by concurrent callers
+ * during a short delay are executed and committed in a single transaction.
+ *
+ * Callers are blocked until the transaction containing their work is committed, so
+ * a work is durable when {@link #execute(SessionWork)} returns, as with
+ * {@link TransactionHelper#executeReadWriteTransaction(SessionWork)}. If the grouped
+ * transaction fails, the works are executed again one transaction per work, so that
+ * only the callers whose work fails get an exception.
+ */
+class GroupCommitExecutor {
+
+    private static final Logger logger = Logger.getLogger(GroupCommitExecutor.class);
+
+    private static final long POLL_TIMEOUT = 1000;
+
+    private final TransactionHelper transactionHelper;
+
+    private final long delayInNanos;
+
+    private final int maxGroupSize;
+
+    private final BlockingQueue<PendingWork> pendingWorks = new LinkedBlockingQueue<>();
+
+    private final Thread committer;
+
+    private volatile boolean stopped;
+
+    GroupCommitExecutor(TransactionHelper transactionHelper, long delayInMillis, int maxGroupSize) {
+        this.transactionHelper = transactionHelper;
+        this.delayInNanos = TimeUnit.MILLISECONDS.toNanos(delayInMillis);
+        this.maxGroupSize = Math.max(maxGroupSize, 1);
+        this.committer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                commitLoop();
+            }
+        }, "SchedulerDBGroupCommit");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    /**
+     * Executes the given work and waits until it is committed.
+     *
+     * @param sessionWork the action to perform.
+     */
+    void execute(SessionWork<Void> sessionWork) {
+        if (stopped) {
+            transactionHelper.executeReadWriteTransaction(sessionWork);
+            return;
+        }
+
+        PendingWork pendingWork = new PendingWork(sessionWork);
+        pendingWorks.add(pendingWork);
+        // the committer may have stopped after the first check, without seeing this work
+        if (stopped && pendingWorks.remove(pendingWork)) {
+            transactionHelper.executeReadWriteTransaction(sessionWork);
+            return;
+        }
+        pendingWork.awaitCommit();
+    }
+
+    /**
+     * Commits the pending works and stops the committer thread.
+     * Works submitted after this call are executed in their own transaction.
+     */
+    void shutdown() {
+        stopped = true;
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void commitLoop() {
+        List<PendingWork> group = new ArrayList<>(maxGroupSize);
+        while (!stopped || !pendingWorks.isEmpty()) {
+            try {
+                PendingWork first = pendingWorks.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+
+                long deadline = System.nanoTime() + delayInNanos;
+                while (group.size() < maxGroupSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingWork next = remaining > 0 ? pendingWorks.poll(remaining, TimeUnit.NANOSECONDS)
+                                                     : pendingWorks.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+
+                commit(group);
+            } catch (InterruptedException e) {
+                logger.warn("Group commit thread interrupted", e);
+                commit(group);
+                stopped = true;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void commit(final List<PendingWork> group) {
+        if (group.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionHelper.executeReadWriteTransaction(new SessionWork<Void>() {
+                @Override
+                public Void doInTransaction(Session session) {
+                    for (PendingWork pendingWork : group) {
+                        pendingWork.sessionWork.doInTransaction(session);
+                    }
+                    return null;
+                }
+            });
+            for (PendingWork pendingWork : group) {
+                pendingWork.committed(null);
+            }
+        } catch (Throwable groupError) {
+            if (group.size() == 1) {
+                group.get(0).committed(groupError);
+                return;
+            }
+
+            logger.warn("Failed to commit a group of " + group.size() + " transactions, committing them separately",
+                        groupError);
+            for (PendingWork pendingWork : group) {
+                try {
+                    transactionHelper.executeReadWriteTransaction(pendingWork.sessionWork);
+                    pendingWork.committed(null);
+                } catch (Throwable error) {
+                    pendingWork.committed(error);
+                }
+            }
+        }
+    }
+
+    private static final class PendingWork {
+
+        private final SessionWork<Void> sessionWork;
+
+        private final CountDownLatch commitLatch = new CountDownLatch(1);
+
+        private volatile Throwable error;
+
+        private PendingWork(SessionWork<Void> sessionWork) {
+            this.sessionWork = sessionWork;
+        }
+
+        private void committed(Throwable error) {
+            this.error = error;
+            commitLatch.countDown();
+        }
+
+        private void awaitCommit() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    commitLatch.await();
+                    break;
+                } catch (InterruptedException e) {
+                    // the work is already submitted, wait for its outcome
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            } else if (error instanceof Error) {
+                throw (Error) error;
+            } else if (error != null) {
+                throw new DatabaseManagerException(error);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.db;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.ow2.proactive.scheduler.common.task.util.SerializationUtil;
+import org.ow2.proactive.scheduler.core.db.TaskData.DBTaskId;
+
+
+/**
+ * Bounded cache of the propagated variables of the last result of finished tasks, used to resolve the
+ * variables of their children without loading and deserializing the parent results again.
+ *
+ * Cached maps are deserialized once and shared by all the readers, they are unmodifiable.
+ */
+class PropagatedVariablesCache {
+
+    private static final Logger logger = Logger.getLogger(PropagatedVariablesCache.class);
+
+    private final Map<DBTaskId, Map<String, Serializable>> cache;
+
+    PropagatedVariablesCache(final int maxSize) {
+        this.cache = new LinkedHashMap<DBTaskId, Map<String, Serializable>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<DBTaskId, Map<String, Serializable>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    synchronized Map<String, Serializable> get(DBTaskId taskId) {
+        return cache.get(taskId);
+    }
+
+    /**
+     * Deserializes and caches the propagated variables of the last result of a task.
+     *
+     * @return the deserialized variables
+     * @throws IllegalStateException if the variables cannot be deserialized, the task is then removed from the cache
+     */
+    Map<String, Serializable> put(DBTaskId taskId, Map<String, byte[]> propagatedVariables) {
+        Map<String, Serializable> variables;
+        try {
+            variables = deserialize(propagatedVariables);
+        } catch (Exception e) {
+            remove(taskId);
+            throw new IllegalStateException("Could not deserialize variable map", e);
+        }
+        synchronized (this) {
+            cache.put(taskId, variables);
+        }
+        return variables;
+    }
+
+    /**
+     * Same as {@link #put(DBTaskId, Map)} but only logs deserialization failures, the variables are then
+     * deserialized again by the readers, which report the error.
+     */
+    void putQuietly(DBTaskId taskId, Map<String, byte[]> propagatedVariables) {
+        try {
+            put(taskId, propagatedVariables);
+        } catch (IllegalStateException e) {
+            logger.debug("Propagated variables of task " + taskId + " are not cached", e);
+        }
+    }
+
+    synchronized void remove(DBTaskId taskId) {
+        cache.remove(taskId);
+    }
+
+    /**
+     * Removes the variables of all the tasks of a job.
+     */
+    synchronized void removeJob(long jobId) {
+        Iterator<DBTaskId> iterator = cache.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getJobId() == jobId) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static Map<String, Serializable> deserialize(Map<String, byte[]> propagatedVariables) throws Exception {
+        if (propagatedVariables == null || propagatedVariables.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return Collections.unmodifiableMap(new HashMap<>(SerializationUtil.deserializeVariableMap(propagatedVariables)));
+    }
+}
@@ -27,6 +27,7 @@ package org.ow2.proactive.scheduler.core.db;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Serializable;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.util.ArrayList;
@@ -45,6 +46,7 @@ import java.util.Set;
 import org.apache.log4j.Logger;
 import org.hibernate.Criteria;
 import org.hibernate.FetchMode;
+import org.hibernate.FlushMode;
 import org.hibernate.HibernateException;
 import org.hibernate.Query;
 import org.hibernate.Session;
@@ -65,6 +67,7 @@ import org.ow2.proactive.db.TransactionHelper;
 import org.ow2.proactive.scheduler.common.JobSortParameter;
 import org.ow2.proactive.scheduler.common.Page;
 import org.ow2.proactive.scheduler.common.SortSpecifierContainer;
+import org.ow2.proactive.scheduler.common.TaskResultProvider;
 import org.ow2.proactive.scheduler.common.job.Job;
 import org.ow2.proactive.scheduler.common.job.JobId;
 import org.ow2.proactive.scheduler.common.job.JobInfo;
@@ -92,6 +95,7 @@ import org.ow2.proactive.scheduler.job.JobResultImpl;
 import org.ow2.proactive.scheduler.job.SchedulerUserInfo;
 import org.ow2.proactive.scheduler.task.TaskIdImpl;
 import org.ow2.proactive.scheduler.task.TaskResultImpl;
+import org.ow2.proactive.scheduler.task.TaskResultReference;
 import org.ow2.proactive.scheduler.task.containers.ExecutableContainer;
 import org.ow2.proactive.scheduler.task.internal.InternalForkedScriptTask;
 import org.ow2.proactive.scheduler.task.internal.InternalScriptTask;
@@ -101,6 +105,7 @@ import org.ow2.proactive.utils.FileToBytesConverter;
 
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 
 import it.sauronsoftware.cron4j.Scheduler;
 
@@ -112,6 +117,12 @@ public class SchedulerDBManager {
 
     private static final int RECOVERY_LOAD_JOBS_BATCH_SIZE = PASchedulerProperties.SCHEDULER_DB_RECOVERY_LOAD_JOBS_BATCH_SIZE.getValueAsInt();
 
+    /** Maximum number of tasks whose executable container is loaded by a single query */
+    private static final int EXECUTABLE_CONTAINERS_LOAD_BATCH_SIZE = 100;
+
+    /** Number of new tasks written by each flush when JDBC batching is disabled */
+    private static final int DEFAULT_NEW_TASKS_FLUSH_SIZE = 50;
+
     private static final Logger logger = Logger.getLogger(SchedulerDBManager.class);
 
     public static final Set<JobStatus> FINISHED_JOB_STATUSES = ImmutableSet.of(JobStatus.CANCELED,
@@ -150,6 +161,14 @@ public class SchedulerDBManager {
 
     private final TransactionHelper transactionHelper;
 
+    /** Number of replicated or loop tasks written by each flush, matching the JDBC batch size */
+    private final int newTasksFlushSize;
+
+    /** Executor of task state transitions when group commit is enabled, null otherwise */
+    private final GroupCommitExecutor groupCommitExecutor;
+
+    private final PropagatedVariablesCache propagatedVariablesCache = new PropagatedVariablesCache(PASchedulerProperties.SCHEDULER_PROPAGATED_VARIABLES_CACHE_SIZE.getValueAsInt());
+
     private Scheduler tableSizeMonitorScheduler;
 
     public static SchedulerDBManager createUsingProperties() {
@@ -205,10 +224,36 @@ public class SchedulerDBManager {
             configuration.setProperty("hibernate.jdbc.use_streams_for_binary", "true");
             configuration.setProperty("hibernate.connection.isolation", "2");
 
+            int groupCommitDelay = PASchedulerProperties.SCHEDULER_DB_TRANSACTION_GROUP_COMMIT_DELAY.getValueAsInt();
+            int groupCommitMaxSize = PASchedulerProperties.SCHEDULER_DB_TRANSACTION_GROUP_COMMIT_MAX_SIZE.getValueAsInt();
+            int jdbcBatchSize = PASchedulerProperties.SCHEDULER_DB_JDBC_BATCH_SIZE.getValueAsInt();
+            if (groupCommitDelay > 0) {
+                jdbcBatchSize = Math.max(jdbcBatchSize, groupCommitMaxSize);
+            }
+            if (jdbcBatchSize > 1 && configuration.getProperty("hibernate.jdbc.batch_size") == null) {
+                configuration.setProperty("hibernate.jdbc.batch_size", Integer.toString(jdbcBatchSize));
+                // statements of the same table must follow each other to be sent in the same batch
+                configuration.setProperty("hibernate.order_inserts", "true");
+                configuration.setProperty("hibernate.order_updates", "true");
+            }
+            String configuredBatchSize = configuration.getProperty("hibernate.jdbc.batch_size");
+            if (configuredBatchSize != null && Integer.parseInt(configuredBatchSize.trim()) > 1) {
+                newTasksFlushSize = Integer.parseInt(configuredBatchSize.trim());
+            } else {
+                newTasksFlushSize = DEFAULT_NEW_TASKS_FLUSH_SIZE;
+            }
+
             ServiceRegistry serviceRegistry = new StandardServiceRegistryBuilder().applySettings(configuration.getProperties())
                                                                                   .build();
             sessionFactory = configuration.buildSessionFactory(serviceRegistry);
             transactionHelper = new TransactionHelper(sessionFactory);
+            if (groupCommitDelay > 0) {
+                logger.info("Task state transitions are committed by groups, with a delay of " + groupCommitDelay +
+                            " ms");
+                groupCommitExecutor = new GroupCommitExecutor(transactionHelper, groupCommitDelay, groupCommitMaxSize);
+            } else {
+                groupCommitExecutor = null;
+            }
 
             setupTableSizeMonitoring();
         } catch (Throwable ex) {
@@ -431,6 +476,9 @@ public class SchedulerDBManager {
 
     public void close() {
         try {
+            if (groupCommitExecutor != null) {
+                groupCommitExecutor.shutdown();
+            }
             if (sessionFactory != null) {
                 logger.info("Closing session factory");
                 sessionFactory.close();
@@ -675,6 +723,31 @@ public class SchedulerDBManager {
         return checkResult(id, result);
     }
 
+    /**
+     * Load the mean running time of the finished tasks, grouped by job name and task name.
+     *
+     * @return the mean running times in milliseconds, indexed by job name and then by task name
+     */
+    public Map<String, Map<String, Double>> getMeanTaskRunningTimes() {
+        return executeReadOnlyTransaction(new SessionWork<Map<String, Map<String, Double>>>() {
+            @Override
+            public Map<String, Map<String, Double>> doInTransaction(Session session) {
+                List<Object[]> list = (List<Object[]>) session.getNamedQuery("getMeanTaskRunningTimeByName").list();
+                Map<String, Map<String, Double>> result = new HashMap<>();
+                for (Object[] row : list) {
+                    String jobName = (String) row[0];
+                    Map<String, Double> jobRunningTimes = result.get(jobName);
+                    if (jobRunningTimes == null) {
+                        jobRunningTimes = new HashMap<>();
+                        result.put(jobName, jobRunningTimes);
+                    }
+                    jobRunningTimes.put((String) row[1], (Double) row[2]);
+                }
+                return result;
+            }
+        });
+    }
+
     public int getTotalNumberOfHostsUsed(String jobId) {
         final long id = Long.parseLong(jobId);
         int result = executeReadOnlyTransaction(new SessionWork<Integer>() {
@@ -819,6 +892,7 @@ public class SchedulerDBManager {
             }
 
         });
+        propagatedVariablesCache.removeJob(jobId(jobId));
     }
 
     public List<InternalJob> loadNotFinishedJobs(boolean fullState) {
@@ -1037,7 +1111,7 @@ public class SchedulerDBManager {
     }
 
     public void jobTaskStarted(final InternalJob job, final InternalTask task, final boolean taskStatusToPending) {
-        executeReadWriteTransaction(new SessionWork<Void>() {
+        executeTaskTransitionTransaction(new SessionWork<Void>() {
             @Override
             public Void doInTransaction(Session session) {
                 long jobId = jobId(job);
@@ -1120,6 +1194,7 @@ public class SchedulerDBManager {
             }
 
         });
+        taskResultCommitted(job, task.getId(), result);
     }
 
     @SuppressWarnings("unchecked")
@@ -1128,6 +1203,10 @@ public class SchedulerDBManager {
         executeReadWriteTransaction(new SessionWork<Void>() {
             @Override
             public Void doInTransaction(Session session) {
+                // new tasks are written by the flushes below, each one sending full JDBC batches,
+                // and not by the queries loading their executable containers
+                session.setFlushMode(FlushMode.COMMIT);
+
                 long jobId = jobId(job);
 
                 JobInfo jobInfo = job.getJobInfo();
@@ -1168,6 +1247,8 @@ public class SchedulerDBManager {
                     saveSingleTaskDependencies(session, task, taskData);
                 }
 
+                // replicas of the same task share its executable container, loaded only once
+                Map<DBTaskId, ExecutableContainer> loadedContainers = new HashMap<>();
                 int counter = 0;
                 for (TaskId newTaskId : newTasks) {
                     InternalTask task = job.getIHMTasks().get(newTaskId);
@@ -1175,13 +1256,18 @@ public class SchedulerDBManager {
                         InternalTask from = task.getReplicatedFrom();
                         ExecutableContainer container = from.getExecutableContainer();
                         if (container == null) {
-                            container = loadExecutableContainer(session, from);
+                            DBTaskId fromId = taskId(from);
+                            container = loadedContainers.get(fromId);
+                            if (container == null) {
+                                container = loadExecutableContainer(session, from);
+                                loadedContainers.put(fromId, container);
+                            }
                         }
                         task.setExecutableContainer(container);
                     }
                     TaskData taskData = saveNewTask(session, jobRuntimeData, task);
                     saveSingleTaskDependencies(session, task, taskData);
-                    if (++counter % 50 == 0) {
+                    if (++counter % newTasksFlushSize == 0) {
                         session.flush();
                         session.clear();
                     }
@@ -1189,6 +1275,8 @@ public class SchedulerDBManager {
 
                 TaskData.DBTaskId taskId = taskId(result.getTaskId());
                 saveTaskResult(taskId, result, session);
+                // remaining changes must be written before the bulk updates below
+                session.flush();
 
                 if (FINISHED_JOB_STATUSES.contains(job.getStatus())) {
                     removeJobRuntimeData(session, jobId);
@@ -1198,6 +1286,7 @@ public class SchedulerDBManager {
             }
 
         }, false);
+        taskResultCommitted(job, result.getTaskId(), result);
     }
 
     public void updateAfterJobKilled(InternalJob job, Set<TaskId> tasksToUpdate) {
@@ -1316,7 +1405,7 @@ public class SchedulerDBManager {
 
     private void updateAfterTaskFinished(final InternalJob job, final InternalTask finishedTask,
             final TaskResultImpl result, final Set<TaskId> tasksToUpdate) {
-        executeReadWriteTransaction(new SessionWork<Void>() {
+        executeTaskTransitionTransaction(new SessionWork<Void>() {
             @Override
             public Void doInTransaction(Session session) {
                 long jobId = jobId(job);
@@ -1374,6 +1463,7 @@ public class SchedulerDBManager {
             }
 
         });
+        taskResultCommitted(job, finishedTask == null ? null : finishedTask.getId(), result);
     }
 
     private TaskResultData saveTaskResult(TaskData.DBTaskId taskId, TaskResultImpl result, Session session) {
@@ -1385,6 +1475,19 @@ public class SchedulerDBManager {
         return resultData;
     }
 
+    /**
+     * Updates the cache of propagated variables once the transaction saving the result of a task is
+     * committed, so that the cache never holds the variables of a rolled back result.
+     */
+    private void taskResultCommitted(InternalJob job, TaskId taskId, TaskResultImpl result) {
+        if (FINISHED_JOB_STATUSES.contains(job.getStatus())) {
+            // the variables of a finished job are not resolved for its tasks anymore
+            propagatedVariablesCache.removeJob(jobId(job));
+        } else if (result != null) {
+            propagatedVariablesCache.putQuietly(taskId(taskId), result.getPropagatedVariables());
+        }
+    }
+
     public void jobSetToBeRemoved(final JobId jobId) {
         executeReadWriteTransaction(new SessionWork<Void>() {
             @Override
@@ -1459,6 +1562,115 @@ public class SchedulerDBManager {
 
     }
 
+    /**
+     * Loads references to the last results of the given tasks. Only the propagated variables, the metadata
+     * and whether the tasks failed are loaded, the values and logs are fetched on demand from the provider.
+     *
+     * @param jobId the job of the tasks
+     * @param taskIds the tasks whose results are referenced
+     * @param taskResultProvider the provider used by the references to fetch the full results
+     * @return the result references, by task id
+     */
+    public Map<TaskId, TaskResult> loadTasksResultReferences(final JobId jobId, final List<TaskId> taskIds,
+            final TaskResultProvider taskResultProvider) {
+        if (taskIds.isEmpty()) {
+            throw new IllegalArgumentException("TaskIds list is empty");
+        }
+
+        return executeReadOnlyTransaction(new SessionWork<Map<TaskId, TaskResult>>() {
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Map<TaskId, TaskResult> doInTransaction(Session session) {
+                Map<DBTaskId, TaskId> taskIdsByDBTaskId = new HashMap<>(taskIds.size());
+                for (TaskId taskId : taskIds) {
+                    taskIdsByDBTaskId.put(taskId(taskId), taskId);
+                }
+
+                Query query = session.getNamedQuery("loadTasksResultReferences")
+                                     .setParameterList("tasksIds", taskIdsByDBTaskId.keySet());
+
+                Map<TaskId, TaskResult> resultsMap = new HashMap<>(taskIds.size());
+                for (Object[] result : (List<Object[]>) query.list()) {
+                    TaskId taskId = taskIdsByDBTaskId.get(result[0]);
+                    // results are ordered by descending time, only the last one of each task is kept
+                    if (taskId != null && !resultsMap.containsKey(taskId)) {
+                        resultsMap.put(taskId,
+                                       new TaskResultReference(taskId,
+                                                               (Map<String, byte[]>) result[1],
+                                                               (Map<String, String>) result[2],
+                                                               ((Number) result[4]).intValue() != 0,
+                                                               Boolean.TRUE.equals(result[3]),
+                                                               taskResultProvider));
+                    }
+                }
+
+                if (resultsMap.size() != taskIds.size()) {
+                    throw new DatabaseManagerException("Failed to load results for tasks " + taskIds + " (job: " +
+                                                       jobId + ")");
+                }
+
+                return resultsMap;
+            }
+
+        });
+    }
+
+    /**
+     * Loads the propagated variables of the last results of the given tasks. Variables of recently
+     * finished tasks are read from memory, the other ones are loaded without the rest of the results.
+     *
+     * @param jobId the job of the tasks
+     * @param taskIds the tasks whose variables are loaded
+     * @return the deserialized variables, by task id
+     */
+    public Map<TaskId, Map<String, Serializable>> loadTasksPropagatedVariables(final JobId jobId,
+            final List<TaskId> taskIds) {
+        final Map<TaskId, Map<String, Serializable>> variablesMap = new HashMap<>(taskIds.size());
+        final Map<DBTaskId, TaskId> notCachedTaskIds = new HashMap<>();
+        for (TaskId taskId : taskIds) {
+            DBTaskId dbTaskId = taskId(taskId);
+            Map<String, Serializable> variables = propagatedVariablesCache.get(dbTaskId);
+            if (variables != null) {
+                variablesMap.put(taskId, variables);
+            } else {
+                notCachedTaskIds.put(dbTaskId, taskId);
+            }
+        }
+
+        if (notCachedTaskIds.isEmpty()) {
+            return variablesMap;
+        }
+
+        return executeReadOnlyTransaction(new SessionWork<Map<TaskId, Map<String, Serializable>>>() {
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Map<TaskId, Map<String, Serializable>> doInTransaction(Session session) {
+                Query query = session.getNamedQuery("loadTasksPropagatedVariables")
+                                     .setParameterList("tasksIds", notCachedTaskIds.keySet());
+
+                for (Object[] result : (List<Object[]>) query.list()) {
+                    DBTaskId dbTaskId = (DBTaskId) result[0];
+                    TaskId taskId = notCachedTaskIds.get(dbTaskId);
+                    // results are ordered by descending time, only the last one of each task is kept
+                    if (taskId != null && !variablesMap.containsKey(taskId)) {
+                        variablesMap.put(taskId,
+                                         propagatedVariablesCache.put(dbTaskId, (Map<String, byte[]>) result[1]));
+                    }
+                }
+
+                if (variablesMap.size() != taskIds.size()) {
+                    throw new DatabaseManagerException("Failed to load result for tasks " + taskIds + " (job: " +
+                                                       jobId + ")");
+                }
+
+                return variablesMap;
+            }
+
+        });
+    }
+
     public JobResult loadJobResult(final JobId jobId) {
         return executeReadOnlyTransaction(new SessionWork<JobResult>() {
 
@@ -1578,6 +1790,10 @@ public class SchedulerDBManager {
 
             @Override
             public JobData doInTransaction(Session session) {
+                // rows of the job and its tasks are all inserted by the flush at commit,
+                // tasks identifiers being computed below, so that inserts are sent by JDBC batches
+                session.setFlushMode(FlushMode.COMMIT);
+
                 JobData jobRuntimeData = JobData.createJobData(job);
                 session.save(jobRuntimeData);
 
@@ -1706,6 +1922,63 @@ public class SchedulerDBManager {
         });
     }
 
+    /**
+     * Load the executable containers of several tasks, using one query per batch of
+     * {@link #EXECUTABLE_CONTAINERS_LOAD_BATCH_SIZE} tasks instead of one query per task.
+     *
+     * @param tasks the tasks for which the executable container must be loaded
+     * @return the executable containers, in the same order as the given tasks
+     */
+    public List<ExecutableContainer> loadExecutableContainers(final List<InternalTask> tasks) {
+        if (tasks.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return executeReadOnlyTransaction(new SessionWork<List<ExecutableContainer>>() {
+            @Override
+            public List<ExecutableContainer> doInTransaction(Session session) {
+                List<ExecutableContainer> containers = new ArrayList<>(tasks.size());
+                for (List<InternalTask> batch : Lists.partition(tasks, EXECUTABLE_CONTAINERS_LOAD_BATCH_SIZE)) {
+                    containers.addAll(loadExecutableContainers(session, batch));
+                }
+                return containers;
+            }
+        });
+    }
+
+    // Executed in a transaction from the caller
+    @SuppressWarnings("unchecked")
+    private List<ExecutableContainer> loadExecutableContainers(Session session, List<InternalTask> tasks) {
+        List<DBTaskId> taskIds = new ArrayList<>(tasks.size());
+        for (InternalTask task : tasks) {
+            if (!isScriptTask(task)) {
+                throw new IllegalArgumentException("Unexpected task class: " + task.getClass());
+            }
+            taskIds.add(taskId(task));
+        }
+
+        Map<DBTaskId, TaskData> tasksData = new HashMap<>(tasks.size());
+        try {
+            List<TaskData> queryResult = session.getNamedQuery("findTaskData").setParameterList("ids", taskIds).list();
+            for (TaskData taskData : queryResult) {
+                tasksData.put(taskData.getId(), taskData);
+            }
+
+            List<ExecutableContainer> containers = new ArrayList<>(tasks.size());
+            for (int i = 0; i < tasks.size(); i++) {
+                TaskData taskData = tasksData.get(taskIds.get(i));
+                if (taskData == null) {
+                    throw new DatabaseManagerException("Failed to load data for task " + tasks.get(i).getId());
+                }
+                containers.add(taskData.createExecutableContainer());
+            }
+            return containers;
+        } catch (DatabaseManagerException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DatabaseManagerException("Failed to query script data for tasks " + taskIds, e);
+        }
+    }
+
     public List<SchedulerUserInfo> loadUsersWithJobs() {
         return executeReadOnlyTransaction(new SessionWork<List<SchedulerUserInfo>>() {
             @Override
@@ -1731,6 +2004,18 @@ public class SchedulerDBManager {
         return transactionHelper.executeReadWriteTransaction(sessionWork);
     }
 
+    /**
+     * Executes a task state transition, grouped with other transitions in the same
+     * transaction when group commit is enabled. Returns once the transition is committed.
+     */
+    private void executeTaskTransitionTransaction(SessionWork<Void> sessionWork) {
+        if (groupCommitExecutor != null) {
+            groupCommitExecutor.execute(sessionWork);
+        } else {
+            executeReadWriteTransaction(sessionWork);
+        }
+    }
+
     public <T> T executeReadWriteTransaction(SessionWork<T> sessionWork, boolean readOnlyEntities) {
         return transactionHelper.executeReadWriteTransaction(sessionWork, readOnlyEntities);
     }
@@ -103,6 +103,9 @@ import org.ow2.proactive.topology.descriptor.TopologyDescriptor;
                 @NamedQuery(name = "getFinishedTasksCount", query = "select count(*) from TaskData task where taskStatus in (:taskStatus) and task.jobData.removedTime = -1"),
                 @NamedQuery(name = "getMeanTaskPendingTime", query = "select avg(startTime - :jobSubmittedTime) from TaskData task where task.jobData.id = :id and task.startTime > 0"),
                 @NamedQuery(name = "getMeanTaskRunningTime", query = "select avg(task.finishedTime - task.startTime) from TaskData task where task.startTime > 0 and task.finishedTime > 0 and task.jobData.id = :id"),
+                @NamedQuery(name = "getMeanTaskRunningTimeByName", query = "select task.jobData.jobName, task.taskName, avg(task.finishedTime - task.startTime) from TaskData task " +
+                                                                           "where task.startTime > 0 and task.finishedTime > 0 and task.taskStatus = org.ow2.proactive.scheduler.common.task.TaskStatus.FINISHED " +
+                                                                           "group by task.jobData.jobName, task.taskName"),
                 @NamedQuery(name = "getPendingTasksCount", query = "select count(*) from TaskData task where taskStatus in (:taskStatus) and task.jobData.status in (:jobStatus) and task.jobData.removedTime = -1"),
                 @NamedQuery(name = "getRunningTasksCount", query = "select count(*) from TaskData task where taskStatus in (:taskStatus) " +
                                                                    "and task.jobData.status in (:jobStatus) and task.jobData.removedTime = -1"),
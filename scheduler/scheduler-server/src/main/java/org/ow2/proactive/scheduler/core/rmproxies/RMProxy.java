@@ -60,6 +60,9 @@ public class RMProxy {
 
     private Credentials creds;
 
+    /** Last state retrieved from the RM, refreshed only when the RM state version changes */
+    private volatile RMState cachedState;
+
     RMProxy(URI rmURL, Credentials creds) throws RMException, RMProxyCreationException {
         this.rmURL = rmURL;
         this.creds = creds;
@@ -70,6 +73,7 @@ public class RMProxy {
         RMAuthentication auth = RMConnection.join(rmURL.toString());
         proxyActiveObject = RMProxyActiveObject.createAOProxy(auth, creds);
         currentRMConnection = new RMProxiesManager.Connection(rmURL, auth);
+        cachedState = null;
     }
 
     public synchronized void terminate() {
@@ -91,11 +95,20 @@ public class RMProxy {
         return proxyActiveObject.isActive();
     }
 
+    /**
+     * Returns the state of the RM. The state is retrieved again only when
+     * its version changed since the last call.
+     */
     public RMState getState() {
         if (proxyActiveObject == null) {
             throw new RuntimeException("Proxy is not initialized");
         }
-        return proxyActiveObject.getState();
+        RMState state = cachedState;
+        if (state == null || state.getVersion() != proxyActiveObject.getStateVersion().getLongValue()) {
+            state = proxyActiveObject.getState();
+            cachedState = state;
+        }
+        return state;
     }
 
     public void rebind(URI rmURI) throws RMException, RMProxyCreationException {
@@ -41,6 +41,7 @@ import org.objectweb.proactive.api.PAEventProgramming;
 import org.objectweb.proactive.api.PAFuture;
 import org.objectweb.proactive.core.node.Node;
 import org.objectweb.proactive.core.util.wrapper.BooleanWrapper;
+import org.objectweb.proactive.core.util.wrapper.LongWrapper;
 import org.objectweb.proactive.extensions.annotation.ActiveObject;
 import org.ow2.proactive.authentication.crypto.Credentials;
 import org.ow2.proactive.resourcemanager.authentication.RMAuthentication;
@@ -120,6 +121,11 @@ public class RMProxyActiveObject {
         return rm.getState();
     }
 
+    @ImmediateService
+    public LongWrapper getStateVersion() {
+        return rm.getStateVersion();
+    }
+
     @ImmediateService
     public NodeSet getNodes(Criteria criteria) {
         return rm.getNodes(criteria);
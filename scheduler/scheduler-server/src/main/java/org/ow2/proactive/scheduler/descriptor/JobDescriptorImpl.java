@@ -726,6 +726,15 @@ public class JobDescriptorImpl implements JobDescriptor {
         return new Vector<TaskDescriptor>(eligibleTasks.values());
     }
 
+    /**
+     * Check if this job has at least one eligible task, without copying the eligible tasks.
+     *
+     * @return true if at least one task of this job is eligible.
+     */
+    public boolean hasEligibleTasks() {
+        return !eligibleTasks.isEmpty();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,245 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.policy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.ow2.proactive.scheduler.common.JobDescriptor;
+import org.ow2.proactive.scheduler.common.task.TaskId;
+import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor;
+import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptorImpl;
+import org.ow2.proactive.scheduler.task.internal.InternalTask;
+import org.ow2.proactive.utils.NodeSet;
+import org.ow2.proactive.utils.TaskIdWrapper;
+
+
+/**
+ * BackfillingPolicy class provides a FIFO by priority ordering (see {@link DefaultPolicy})
+ * in which multi-node tasks cannot be starved by smaller tasks.
+ *
+ * When the first task of the ordered list needs more nodes than currently free, a reservation
+ * is computed for it: the time at which enough nodes will be released (the shadow time) is
+ * estimated from the walltime of the running tasks started by this policy. Other tasks are then
+ * only allowed to start if they end before the shadow time (according to their walltime),
+ * or if they only use nodes which are not needed by the reservation.
+ *
+ * When the end of the running tasks cannot be estimated (no walltime), no reservation can be
+ * made and the tasks are ordered as in {@link DefaultPolicy}.
+ */
+public class BackfillingPolicy extends DefaultPolicy {
+
+    private static final Logger logger = Logger.getLogger(BackfillingPolicy.class);
+
+    /** Running tasks started by this policy and having a walltime */
+    private final Map<TaskIdWrapper, RunningTask> runningTasks = new HashMap<>();
+
+    /**
+     * This method returns the tasks using FIFO policy according to the jobs priorities,
+     * without the tasks which would delay the reservation made for the first task which
+     * cannot be started.
+     *
+     * @see org.ow2.proactive.scheduler.policy.Policy#getOrderedTasks(java.util.List)
+     */
+    @Override
+    public LinkedList<EligibleTaskDescriptor> getOrderedTasks(List<JobDescriptor> jobs) {
+        LinkedList<EligibleTaskDescriptor> orderedTasks = super.getOrderedTasks(jobs);
+        if (RMState == null || orderedTasks.isEmpty()) {
+            return orderedTasks;
+        }
+
+        long now = currentTime();
+        synchronized (runningTasks) {
+            removeTerminatedTasks(now);
+        }
+
+        int freeNodes = RMState.getFreeNodesNumber();
+        LinkedList<EligibleTaskDescriptor> toReturn = new LinkedList<>();
+        Reservation reservation = null;
+
+        Iterator<EligibleTaskDescriptor> iterator = orderedTasks.iterator();
+        while (iterator.hasNext()) {
+            EligibleTaskDescriptor candidate = iterator.next();
+            int neededNodes = candidate.getNumberOfNodesNeeded();
+            if (reservation == null) {
+                if (neededNodes > freeNodes) {
+                    reservation = reserve(neededNodes, freeNodes, now);
+                    if (reservation == null) {
+                        // end of running tasks is unknown, keep the default ordering
+                        toReturn.add(candidate);
+                        while (iterator.hasNext()) {
+                            toReturn.add(iterator.next());
+                        }
+                        return toReturn;
+                    }
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Reservation of " + neededNodes + " nodes for task " +
+                                     candidate.getTaskId() + " in " + (reservation.shadowTime - now) +
+                                     " ms, " + reservation.extraNodes + " extra nodes available");
+                    }
+                    // kept first so that it is started as soon as nodes are available
+                    toReturn.add(candidate);
+                } else {
+                    freeNodes -= neededNodes;
+                    toReturn.add(candidate);
+                }
+            } else if (neededNodes <= freeNodes && reservation.canBackfill(candidate, neededNodes, now)) {
+                freeNodes -= neededNodes;
+                toReturn.add(candidate);
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * Records the expected end of the task when it has a walltime, so that
+     * reservations can be computed for the next multi-node tasks.
+     *
+     * @see org.ow2.proactive.scheduler.policy.Policy#isTaskExecutable(org.ow2.proactive.utils.NodeSet, org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor)
+     */
+    @Override
+    public boolean isTaskExecutable(NodeSet selectedNodes, EligibleTaskDescriptor task) {
+        InternalTask internalTask = ((EligibleTaskDescriptorImpl) task).getInternal();
+        if (internalTask.isWallTimeSet()) {
+            RunningTask runningTask = new RunningTask(internalTask,
+                                                      task.getNumberOfNodesNeeded(),
+                                                      currentTime() + internalTask.getWallTime());
+            synchronized (runningTasks) {
+                runningTasks.put(TaskIdWrapper.wrap(task.getTaskId()), runningTask);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Forgets the expected end of the task, which was terminated or could not be started.
+     *
+     * @see org.ow2.proactive.scheduler.policy.Policy#taskTerminated(org.ow2.proactive.scheduler.common.task.TaskId)
+     */
+    @Override
+    public void taskTerminated(TaskId taskId) {
+        synchronized (runningTasks) {
+            runningTasks.remove(TaskIdWrapper.wrap(taskId));
+        }
+    }
+
+    /**
+     * Returns the current time, in milliseconds.
+     *
+     * @return the current time in milliseconds.
+     */
+    protected long currentTime() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Computes the earliest reservation for a task needing the given number of nodes.
+     *
+     * @return the reservation or null if it cannot be estimated.
+     */
+    private Reservation reserve(int neededNodes, int freeNodes, long now) {
+        List<RunningTask> byEndTime;
+        synchronized (runningTasks) {
+            byEndTime = new ArrayList<>(runningTasks.values());
+        }
+        Collections.sort(byEndTime, BY_EXPECTED_END_COMPARATOR);
+
+        int availableNodes = freeNodes;
+        for (RunningTask runningTask : byEndTime) {
+            availableNodes += runningTask.nodes;
+            if (availableNodes >= neededNodes) {
+                return new Reservation(Math.max(runningTask.expectedEnd, now), availableNodes - neededNodes);
+            }
+        }
+        return null;
+    }
+
+    private void removeTerminatedTasks(long now) {
+        Iterator<RunningTask> iterator = runningTasks.values().iterator();
+        while (iterator.hasNext()) {
+            RunningTask runningTask = iterator.next();
+            if (runningTask.expectedEnd <= now || !runningTask.task.getStatus().isTaskAlive()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final Comparator<RunningTask> BY_EXPECTED_END_COMPARATOR = new Comparator<RunningTask>() {
+        @Override
+        public int compare(RunningTask task1, RunningTask task2) {
+            return Long.compare(task1.expectedEnd, task2.expectedEnd);
+        }
+    };
+
+    private static final class RunningTask {
+
+        private final InternalTask task;
+
+        private final int nodes;
+
+        private final long expectedEnd;
+
+        private RunningTask(InternalTask task, int nodes, long expectedEnd) {
+            this.task = task;
+            this.nodes = nodes;
+            this.expectedEnd = expectedEnd;
+        }
+    }
+
+    private static final class Reservation {
+
+        /** Time at which enough nodes are expected to be free for the reserved task */
+        private final long shadowTime;
+
+        /** Nodes free at shadow time which are not needed by the reserved task */
+        private int extraNodes;
+
+        private Reservation(long shadowTime, int extraNodes) {
+            this.shadowTime = shadowTime;
+            this.extraNodes = extraNodes;
+        }
+
+        private boolean canBackfill(EligibleTaskDescriptor candidate, int neededNodes, long now) {
+            InternalTask internalTask = ((EligibleTaskDescriptorImpl) candidate).getInternal();
+            if (internalTask.isWallTimeSet() && now + internalTask.getWallTime() <= shadowTime) {
+                return true;
+            }
+            if (neededNodes <= extraNodes) {
+                extraNodes -= neededNodes;
+                return true;
+            }
+            return false;
+        }
+    }
+
+}
@@ -28,16 +28,26 @@ package org.ow2.proactive.scheduler.policy;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.TreeMap;
 
 import org.apache.log4j.Logger;
 import org.ow2.proactive.scheduler.common.JobDescriptor;
 import org.ow2.proactive.scheduler.common.TaskDescriptor;
+import org.ow2.proactive.scheduler.common.job.JobId;
 import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor;
 import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptorImpl;
 import org.ow2.proactive.scheduler.descriptor.JobDescriptorImpl;
 import org.ow2.proactive.scheduler.util.policy.ISO8601DateUtil;
+import org.ow2.proactive.utils.TaskIdWrapper;
 
 
 /**
@@ -52,6 +62,16 @@ import org.ow2.proactive.scheduler.util.policy.ISO8601DateUtil;
  * the 'startAt' is specified at the task level, it overrides the value
  * specified at job level.
  * 
+ * The 'startAt' value of a task is parsed the first time the task is eligible. Deferred
+ * tasks are then kept in a timeline ordered by start time and skipped without being parsed
+ * again until their start time is reached, unless their scheduled time is changed (see
+ * {@link org.ow2.proactive.scheduler.common.Scheduler#changeStartAt(JobId, String)}). The deferred
+ * tasks of a job are forgotten when the job terminates. When a wake up action is set, it is
+ * triggered at the start time of the first deferred task so that it is scheduled without delay.
+ *
+ * Deferred tasks are still eligible for the scheduler core, so each scheduling cycle still
+ * visits them, but only to find them among the deferred tasks.
+ * 
  */
 public class ExtendedSchedulerPolicy extends DefaultPolicy {
 
@@ -59,6 +79,51 @@ public class ExtendedSchedulerPolicy extends DefaultPolicy {
 
     public static final String GENERIC_INFORMATION_KEY_START_AT = "START_AT";
 
+    /** Timer shared by the policies to trigger their wake up action */
+    private static Timer wakeUpTimer;
+
+    /** Deferred tasks, indexed by task id */
+    private final Map<TaskIdWrapper, DeferredTask> deferredTasks = new HashMap<>();
+
+    /** Deferred tasks, indexed by start time */
+    private final TreeMap<Long, Set<TaskIdWrapper>> timeline = new TreeMap<>();
+
+    /** Deferred tasks, indexed by job */
+    private final Map<JobId, Set<TaskIdWrapper>> jobDeferredTasks = new HashMap<>();
+
+    private transient Runnable wakeUpAction;
+
+    /** Time at which the wake up action is scheduled, Long.MAX_VALUE if not scheduled */
+    private long nextWakeUpTime = Long.MAX_VALUE;
+
+    /**
+     * Wakes up the scheduling thread when the first deferred task can be started.
+     *
+     * @see org.ow2.proactive.scheduler.policy.Policy#init(org.ow2.proactive.scheduler.policy.PolicyContext)
+     */
+    @Override
+    public void init(final PolicyContext context) {
+        super.init(context);
+        setWakeUpAction(new Runnable() {
+            @Override
+            public void run() {
+                context.wakeUpSchedulingThread();
+            }
+        });
+    }
+
+    /**
+     * Set the action to trigger when the first deferred task can be started,
+     * typically a wake up of the scheduling loop.
+     *
+     * @param wakeUpAction the action to trigger
+     */
+    public void setWakeUpAction(Runnable wakeUpAction) {
+        synchronized (timeline) {
+            this.wakeUpAction = wakeUpAction;
+        }
+    }
+
     /*
      * Utilize 'startAt' generic info and filter any tasks that should not be scheduled for current
      * execution cycle.
@@ -69,43 +134,176 @@ public class ExtendedSchedulerPolicy extends DefaultPolicy {
         LinkedList<EligibleTaskDescriptor> executionCycleTasks = new LinkedList<>();
         Collections.sort(jobDescList, FIFO_BY_PRIORITY_COMPARATOR);
 
-        for (JobDescriptor jobDesc : jobDescList) {
-            Collection<TaskDescriptor> tasks = jobDesc.getEligibleTasks();
-            Collection<EligibleTaskDescriptor> eligibleTasks = (Collection) tasks;
-            for (EligibleTaskDescriptor candidate : eligibleTasks) {
-                String startAt = getStartAtValue(jobDesc, candidate);
-                if (startAt == null) {
-                    executionCycleTasks.add(candidate);
-                } else {
-                    try {
-                        if (now.after(ISO8601DateUtil.toDate(startAt))) {
-                            executionCycleTasks.add(candidate);
+        synchronized (timeline) {
+            releaseDeferredTasks(now.getTime());
 
-                        } else {
-                            if (logger.isTraceEnabled()) {
-                                logger.trace(String.format("Task [jobId:\"%s\", taskId:\"%s\"] is scheduled to be executed at %s." +
-                                                           " It will not be scheduled for this execution cycle at %s.",
-                                                           jobDesc.getJobId(),
-                                                           candidate.getTaskId(),
-                                                           startAt,
-                                                           ISO8601DateUtil.parse(now)));
-                            }
+            for (JobDescriptor jobDesc : jobDescList) {
+                Collection<TaskDescriptor> tasks = jobDesc.getEligibleTasks();
+                Collection<EligibleTaskDescriptor> eligibleTasks = (Collection) tasks;
+                for (EligibleTaskDescriptor candidate : eligibleTasks) {
+                    TaskIdWrapper taskId = TaskIdWrapper.wrap(candidate.getTaskId());
+                    long scheduledTime = getScheduledTime(candidate);
+                    DeferredTask deferred = deferredTasks.get(taskId);
+                    if (deferred != null) {
+                        if (deferred.scheduledTime == scheduledTime) {
+                            continue;
                         }
-                    } catch (IllegalArgumentException e) {
-                        logger.error(String.format("An error occurred while processing 'startAt' generic info.%n" +
-                                                   "Task ([job-id:\"%s\", task-id:\"%s\"]) will be scheduled immediately for execution.",
-                                                   jobDesc.getJobId().toString(),
-                                                   candidate.getTaskId().toString()),
-                                     e);
-                        executionCycleTasks.add(candidate);
+                        // the 'startAt' value was changed, it is parsed again
+                        undefer(taskId);
                     }
+                    String startAt = getStartAtValue(jobDesc, candidate);
+                    if (startAt == null) {
+                        executionCycleTasks.add(candidate);
+                    } else {
+                        try {
+                            Date startAtDate = ISO8601DateUtil.toDate(startAt);
+                            if (now.after(startAtDate)) {
+                                executionCycleTasks.add(candidate);
 
+                            } else {
+                                defer(jobDesc.getJobId(), taskId, scheduledTime, startAtDate.getTime());
+                                if (logger.isTraceEnabled()) {
+                                    logger.trace(String.format("Task [jobId:\"%s\", taskId:\"%s\"] is scheduled to be executed at %s." +
+                                                               " It will not be scheduled before this time, current time is %s.",
+                                                               jobDesc.getJobId(),
+                                                               candidate.getTaskId(),
+                                                               startAt,
+                                                               ISO8601DateUtil.parse(now)));
+                                }
+                            }
+                        } catch (IllegalArgumentException e) {
+                            logger.error(String.format("An error occurred while processing 'startAt' generic info.%n" +
+                                                       "Task ([job-id:\"%s\", task-id:\"%s\"]) will be scheduled immediately for execution.",
+                                                       jobDesc.getJobId().toString(),
+                                                       candidate.getTaskId().toString()),
+                                         e);
+                            executionCycleTasks.add(candidate);
+                        }
+
+                    }
                 }
             }
+
+            scheduleWakeUp();
         }
         return executionCycleTasks;
     }
 
+    /**
+     * Forgets the deferred tasks of the job.
+     *
+     * @see org.ow2.proactive.scheduler.policy.Policy#jobTerminated(org.ow2.proactive.scheduler.common.job.JobId)
+     */
+    @Override
+    public void jobTerminated(JobId jobId) {
+        synchronized (timeline) {
+            Set<TaskIdWrapper> tasks = jobDeferredTasks.remove(jobId);
+            if (tasks != null) {
+                for (TaskIdWrapper taskId : tasks) {
+                    removeFromTimeline(taskId, deferredTasks.remove(taskId).startTime);
+                }
+            }
+        }
+    }
+
+    private void defer(JobId jobId, TaskIdWrapper taskId, long scheduledTime, long startTime) {
+        deferredTasks.put(taskId, new DeferredTask(jobId, scheduledTime, startTime));
+        Set<TaskIdWrapper> tasks = timeline.get(startTime);
+        if (tasks == null) {
+            tasks = new LinkedHashSet<>();
+            timeline.put(startTime, tasks);
+        }
+        tasks.add(taskId);
+        Set<TaskIdWrapper> jobTasks = jobDeferredTasks.get(jobId);
+        if (jobTasks == null) {
+            jobTasks = new HashSet<>();
+            jobDeferredTasks.put(jobId, jobTasks);
+        }
+        jobTasks.add(taskId);
+    }
+
+    private void undefer(TaskIdWrapper taskId) {
+        DeferredTask deferred = deferredTasks.remove(taskId);
+        if (deferred != null) {
+            removeFromTimeline(taskId, deferred.startTime);
+            removeFromJob(taskId, deferred.jobId);
+        }
+    }
+
+    private void removeFromTimeline(TaskIdWrapper taskId, long startTime) {
+        Set<TaskIdWrapper> tasks = timeline.get(startTime);
+        if (tasks != null && tasks.remove(taskId) && tasks.isEmpty()) {
+            timeline.remove(startTime);
+        }
+    }
+
+    private void removeFromJob(TaskIdWrapper taskId, JobId jobId) {
+        Set<TaskIdWrapper> tasks = jobDeferredTasks.get(jobId);
+        if (tasks != null && tasks.remove(taskId) && tasks.isEmpty()) {
+            jobDeferredTasks.remove(jobId);
+        }
+    }
+
+    /*
+     * Deferred tasks whose start time is reached are checked again by the current execution cycle.
+     */
+    private void releaseDeferredTasks(long now) {
+        while (!timeline.isEmpty() && timeline.firstKey() < now) {
+            for (TaskIdWrapper taskId : timeline.pollFirstEntry().getValue()) {
+                removeFromJob(taskId, deferredTasks.remove(taskId).jobId);
+            }
+        }
+    }
+
+    private void scheduleWakeUp() {
+        if (wakeUpAction == null || timeline.isEmpty() || timeline.firstKey() >= nextWakeUpTime) {
+            return;
+        }
+        nextWakeUpTime = timeline.firstKey();
+        final Runnable action = wakeUpAction;
+        // the task is released once the current time succeeds its start time
+        getWakeUpTimer().schedule(new TimerTask() {
+            @Override
+            public void run() {
+                synchronized (timeline) {
+                    nextWakeUpTime = Long.MAX_VALUE;
+                }
+                action.run();
+            }
+        }, new Date(nextWakeUpTime + 1));
+    }
+
+    /*
+     * The scheduled time of a task is updated by the scheduler core when its 'startAt' value is
+     * changed, it is compared instead of the 'startAt' value itself which is costlier to get.
+     */
+    private long getScheduledTime(EligibleTaskDescriptor taskDesc) {
+        return ((EligibleTaskDescriptorImpl) taskDesc).getInternal().getScheduledTime();
+    }
+
+    /** Job of a deferred task, its scheduled time when it was deferred and its parsed start time */
+    private static final class DeferredTask {
+
+        private final JobId jobId;
+
+        private final long scheduledTime;
+
+        private final long startTime;
+
+        private DeferredTask(JobId jobId, long scheduledTime, long startTime) {
+            this.jobId = jobId;
+            this.scheduledTime = scheduledTime;
+            this.startTime = startTime;
+        }
+    }
+
+    private static synchronized Timer getWakeUpTimer() {
+        if (wakeUpTimer == null) {
+            wakeUpTimer = new Timer("ExtendedSchedulerPolicyWakeUp", true);
+        }
+        return wakeUpTimer;
+    }
+
     /*
      * START_AT property defined at task level always has the precedence over the same property
      * defined job level.
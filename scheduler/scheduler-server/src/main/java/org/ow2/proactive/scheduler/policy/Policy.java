@@ -38,6 +38,8 @@ import org.objectweb.proactive.annotation.PublicAPI;
 import org.ow2.proactive.resourcemanager.common.RMState;
 import org.ow2.proactive.scheduler.common.JobDescriptor;
 import org.ow2.proactive.scheduler.common.Scheduler;
+import org.ow2.proactive.scheduler.common.job.JobId;
+import org.ow2.proactive.scheduler.common.task.TaskId;
 import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
 import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor;
 import org.ow2.proactive.utils.NodeSet;
@@ -102,6 +104,40 @@ public abstract class Policy implements Serializable {
         return true;
     }
 
+    /**
+     * Called by the scheduler core each time a task which may have been scheduled is terminated,
+     * whatever its termination status (finished, faulty, killed, restarted...), and each time a task
+     * accepted by {@link #isTaskExecutable(NodeSet, EligibleTaskDescriptor)} could not be started.
+     * Overriding this method allows to free the resources that the policy associated to the task
+     * when the task was accepted by {@link #isTaskExecutable(NodeSet, EligibleTaskDescriptor)}.
+     * <p>
+     * This method can be called concurrently by several threads.
+     *
+     * @param taskId the id of the terminated task
+     */
+    public void taskTerminated(TaskId taskId) {
+    }
+
+    /**
+     * Called by the scheduler core each time a job is terminated, whatever its termination status
+     * (finished, killed, removed...). Overriding this method allows to forget what the policy kept
+     * about the tasks of the job which will never be scheduled.
+     *
+     * @param jobId the id of the terminated job
+     */
+    public void jobTerminated(JobId jobId) {
+    }
+
+    /**
+     * Called by the scheduler core when this policy is set, before it is used for scheduling.
+     * Overriding this method allows the policy to keep the services of the core it relies on,
+     * such as waking up the scheduling thread or the history of the finished tasks.
+     *
+     * @param context the services of the scheduler core
+     */
+    public void init(PolicyContext context) {
+    }
+
     /**
      * Set the RM state
      *
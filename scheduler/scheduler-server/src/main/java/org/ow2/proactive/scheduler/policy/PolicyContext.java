@@ -0,0 +1,54 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.policy;
+
+import java.util.Map;
+
+import org.objectweb.proactive.annotation.PublicAPI;
+
+
+/**
+ * Services of the scheduler core which are given to a policy through {@link Policy#init(PolicyContext)}.
+ *
+ * @author The ProActive Team
+ */
+@PublicAPI
+public interface PolicyContext {
+
+    /**
+     * Wake up the scheduling thread, so that a scheduling loop is run without waiting for the next
+     * scheduling period.
+     */
+    void wakeUpSchedulingThread();
+
+    /**
+     * Return the mean running time of the finished tasks stored in the database.
+     *
+     * @return mean running times in milliseconds, indexed by job name and task name
+     */
+    Map<String, Map<String, Double>> getMeanTaskRunningTimes();
+
+}
@@ -0,0 +1,245 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.policy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.ow2.proactive.scheduler.common.JobDescriptor;
+import org.ow2.proactive.scheduler.common.TaskDescriptor;
+import org.ow2.proactive.scheduler.common.job.JobPriority;
+import org.ow2.proactive.scheduler.common.task.TaskStatus;
+import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
+import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor;
+import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptorImpl;
+import org.ow2.proactive.scheduler.descriptor.JobDescriptorImpl;
+import org.ow2.proactive.scheduler.job.InternalJob;
+import org.ow2.proactive.scheduler.task.internal.InternalTask;
+import org.ow2.proactive.utils.NodeSet;
+import org.ow2.proactive.utils.TaskIdWrapper;
+
+
+/**
+ * ShortestExpectedJobFirstPolicy class orders jobs by priority (see {@link DefaultPolicy}) and,
+ * within a priority level, starts the tasks with the shortest expected running time first.
+ *
+ * The expected running time of a task is the mean running time of the previous finished tasks having
+ * the same job name and task name. It is loaded from the database when the policy is created, and
+ * updated with the tasks started by this policy. Tasks without history are considered as short, so
+ * that their running time gets known.
+ *
+ * To prevent long tasks from being starved, the time a task has been waiting since the submission of
+ * its job is subtracted from its expected running time, weighted by
+ * {@link PASchedulerProperties#SCHEDULER_POLICY_SHORTEST_JOB_FIRST_AGING}.
+ */
+public class ShortestExpectedJobFirstPolicy extends DefaultPolicy {
+
+    /** Weight of the new running times in the moving average of a task */
+    private static final double NEW_RUNNING_TIME_WEIGHT = 0.2;
+
+    private final double agingFactor = PASchedulerProperties.SCHEDULER_POLICY_SHORTEST_JOB_FIRST_AGING.getValueAsInt() /
+                                       100d;
+
+    /** Expected running time of tasks, indexed by job name and task name */
+    private final Map<String, Map<String, Double>> expectedRunningTimes = new HashMap<>();
+
+    /** Tasks started by this policy whose running time is not known yet */
+    private final Map<TaskIdWrapper, InternalTask> runningTasks = new HashMap<>();
+
+    /**
+     * Loads the mean running time of the finished tasks stored in the database.
+     *
+     * @see org.ow2.proactive.scheduler.policy.Policy#init(org.ow2.proactive.scheduler.policy.PolicyContext)
+     */
+    @Override
+    public void init(PolicyContext context) {
+        super.init(context);
+        setMeanTaskRunningTimes(context.getMeanTaskRunningTimes());
+    }
+
+    /**
+     * Set the mean running time of the finished tasks stored in the database.
+     *
+     * @param meanRunningTimes mean running times in milliseconds, indexed by job name and task name
+     */
+    public void setMeanTaskRunningTimes(Map<String, Map<String, Double>> meanRunningTimes) {
+        synchronized (expectedRunningTimes) {
+            for (Map.Entry<String, Map<String, Double>> job : meanRunningTimes.entrySet()) {
+                getExpectedRunningTimes(job.getKey()).putAll(job.getValue());
+            }
+        }
+    }
+
+    /**
+     * This method returns the tasks ordered by job priority and then by expected running time,
+     * minus the aging of their job.
+     *
+     * @see org.ow2.proactive.scheduler.policy.Policy#getOrderedTasks(java.util.List)
+     */
+    @Override
+    public LinkedList<EligibleTaskDescriptor> getOrderedTasks(List<JobDescriptor> jobs) {
+        LinkedList<EligibleTaskDescriptor> toReturn = new LinkedList<>();
+        long now = currentTime();
+        synchronized (runningTasks) {
+            updateRunningTimes();
+        }
+
+        Collections.sort(jobs, FIFO_BY_PRIORITY_COMPARATOR);
+
+        List<ScoredTask> samePriorityTasks = new ArrayList<>();
+        JobPriority currentPriority = null;
+        for (JobDescriptor jd : jobs) {
+            InternalJob job = ((JobDescriptorImpl) jd).getInternal();
+            if (!job.getPriority().equals(currentPriority)) {
+                addSortedTasks(samePriorityTasks, toReturn);
+                currentPriority = job.getPriority();
+            }
+            double aging = Math.max(0, now - job.getJobInfo().getSubmittedTime()) * agingFactor;
+            Collection<TaskDescriptor> tasks = jd.getEligibleTasks();
+            for (TaskDescriptor task : tasks) {
+                EligibleTaskDescriptor eligibleTask = (EligibleTaskDescriptor) task;
+                InternalTask internalTask = ((EligibleTaskDescriptorImpl) eligibleTask).getInternal();
+                double score = getExpectedRunningTime(job.getId().getReadableName(), internalTask.getName()) - aging;
+                samePriorityTasks.add(new ScoredTask(eligibleTask, score));
+            }
+        }
+        addSortedTasks(samePriorityTasks, toReturn);
+
+        return toReturn;
+    }
+
+    /**
+     * Records the started task so that its running time is used for the next estimations.
+     *
+     * @see org.ow2.proactive.scheduler.policy.Policy#isTaskExecutable(org.ow2.proactive.utils.NodeSet, org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor)
+     */
+    @Override
+    public boolean isTaskExecutable(NodeSet selectedNodes, EligibleTaskDescriptor task) {
+        synchronized (runningTasks) {
+            runningTasks.put(TaskIdWrapper.wrap(task.getTaskId()), ((EligibleTaskDescriptorImpl) task).getInternal());
+        }
+        return true;
+    }
+
+    /**
+     * Returns the current time, in milliseconds.
+     *
+     * @return the current time in milliseconds.
+     */
+    protected long currentTime() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * @return the expected running time of the given task in milliseconds, 0 if it is unknown
+     */
+    double getExpectedRunningTime(String jobName, String taskName) {
+        synchronized (expectedRunningTimes) {
+            Map<String, Double> jobRunningTimes = expectedRunningTimes.get(jobName);
+            if (jobRunningTimes == null) {
+                return 0;
+            }
+            Double runningTime = jobRunningTimes.get(taskName);
+            return runningTime == null ? 0 : runningTime;
+        }
+    }
+
+    private void updateRunningTimes() {
+        Iterator<InternalTask> iterator = runningTasks.values().iterator();
+        while (iterator.hasNext()) {
+            InternalTask task = iterator.next();
+            if (task.getStatus() == TaskStatus.FINISHED) {
+                if (task.getStartTime() > 0 && task.getFinishedTime() >= task.getStartTime()) {
+                    addRunningTime(task.getId().getJobId().getReadableName(),
+                                   task.getName(),
+                                   task.getFinishedTime() - task.getStartTime());
+                }
+                iterator.remove();
+            } else if (!task.getStatus().isTaskAlive()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void addRunningTime(String jobName, String taskName, long runningTime) {
+        synchronized (expectedRunningTimes) {
+            Map<String, Double> jobRunningTimes = getExpectedRunningTimes(jobName);
+            Double expectedRunningTime = jobRunningTimes.get(taskName);
+            if (expectedRunningTime == null) {
+                jobRunningTimes.put(taskName, (double) runningTime);
+            } else {
+                jobRunningTimes.put(taskName,
+                                    expectedRunningTime +
+                                              (runningTime - expectedRunningTime) * NEW_RUNNING_TIME_WEIGHT);
+            }
+        }
+    }
+
+    private Map<String, Double> getExpectedRunningTimes(String jobName) {
+        Map<String, Double> jobRunningTimes = expectedRunningTimes.get(jobName);
+        if (jobRunningTimes == null) {
+            jobRunningTimes = new HashMap<>();
+            expectedRunningTimes.put(jobName, jobRunningTimes);
+        }
+        return jobRunningTimes;
+    }
+
+    private static void addSortedTasks(List<ScoredTask> samePriorityTasks, LinkedList<EligibleTaskDescriptor> toReturn) {
+        // the sort is stable, tasks having the same score keep their FIFO order
+        Collections.sort(samePriorityTasks, BY_SCORE_COMPARATOR);
+        for (ScoredTask scoredTask : samePriorityTasks) {
+            toReturn.add(scoredTask.task);
+        }
+        samePriorityTasks.clear();
+    }
+
+    private static final Comparator<ScoredTask> BY_SCORE_COMPARATOR = new Comparator<ScoredTask>() {
+        @Override
+        public int compare(ScoredTask task1, ScoredTask task2) {
+            return Double.compare(task1.score, task2.score);
+        }
+    };
+
+    private static final class ScoredTask {
+
+        private final EligibleTaskDescriptor task;
+
+        private final double score;
+
+        private ScoredTask(EligibleTaskDescriptor task, double score) {
+            this.task = task;
+            this.score = score;
+        }
+    }
+
+}
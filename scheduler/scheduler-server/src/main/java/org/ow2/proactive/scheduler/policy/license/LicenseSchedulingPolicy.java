@@ -26,14 +26,15 @@
 package org.ow2.proactive.scheduler.policy.license;
 
 import java.util.*;
-import java.util.concurrent.LinkedBlockingQueue;
 
 import org.apache.log4j.Logger;
-import org.ow2.proactive.scheduler.common.task.TaskStatus;
+import org.ow2.proactive.scheduler.common.JobDescriptor;
+import org.ow2.proactive.scheduler.common.task.TaskId;
 import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor;
 import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptorImpl;
 import org.ow2.proactive.scheduler.policy.ExtendedSchedulerPolicy;
 import org.ow2.proactive.utils.NodeSet;
+import org.ow2.proactive.utils.TaskIdWrapper;
 
 
 /**
@@ -43,6 +44,11 @@ import org.ow2.proactive.utils.NodeSet;
  * this policy will check if there is an available license per
  * software to return true
  *
+ * The number of available licenses per software is kept as a counter, decremented when a task
+ * is accepted for execution and incremented back when the task terminates. Tasks which cannot
+ * get all their licenses are not returned by {@link #getOrderedTasks(List)}, so that no nodes
+ * are requested for them.
+ *
  */
 public class LicenseSchedulingPolicy extends ExtendedSchedulerPolicy {
 
@@ -50,29 +56,64 @@ public class LicenseSchedulingPolicy extends ExtendedSchedulerPolicy {
 
     private static final String REQUIRED_LICENSES = "REQUIRED_LICENSES";
 
-    // A map of fixed size lists. A map entry per software license and a list per map entry to handle tasks using this software license.
-    private static Map<String, LinkedBlockingQueue<EligibleTaskDescriptor>> eligibleTasksDescriptorsLicenses = null;
+    // A map entry per software license, giving the number of licenses which are not used by a task
+    private static Map<String, Integer> availableLicenses = null;
+
+    // The software licenses used by each task which has been accepted for execution
+    private static final Map<TaskIdWrapper, Set<String>> usedLicenses = new HashMap<>();
 
     // Will be initialize with the license properties file which includes the maximum licenses numbers per software
     private static Properties properties = null;
 
     private static void initialize() {
-        if (eligibleTasksDescriptorsLicenses == null) {
+        if (availableLicenses == null) {
             // Map initialization
-            eligibleTasksDescriptorsLicenses = new HashMap<String, LinkedBlockingQueue<EligibleTaskDescriptor>>();
+            availableLicenses = new HashMap<>();
             // Retrieve properties from the license properties file ...
             properties = LicenseConfiguration.getConfiguration().getProperties();
-            // ... and per software license, create a list handling all tasks using a this software license
+            // ... and per software license, set the number of available licenses
             Enumeration e = properties.propertyNames();
             while (e.hasMoreElements()) {
                 String software = (String) e.nextElement();
                 int numberOfLicenses = Integer.parseInt(properties.getProperty(software));
-                eligibleTasksDescriptorsLicenses.put(software,
-                                                     new LinkedBlockingQueue<EligibleTaskDescriptor>(numberOfLicenses));
+                availableLicenses.put(software, numberOfLicenses);
             }
         }
     }
 
+    @Override
+    public LinkedList<EligibleTaskDescriptor> getOrderedTasks(List<JobDescriptor> jobs) {
+
+        LinkedList<EligibleTaskDescriptor> orderedTasks = super.getOrderedTasks(jobs);
+
+        // Licenses given, in this scheduling loop, to the tasks which precede the current one
+        Map<String, Integer> reservedLicenses = new HashMap<>();
+
+        synchronized (LicenseSchedulingPolicy.class) {
+            Iterator<EligibleTaskDescriptor> iterator = orderedTasks.iterator();
+            while (iterator.hasNext()) {
+                EligibleTaskDescriptor task = iterator.next();
+                Set<String> requiredLicenses = getRequiredLicenses(task);
+
+                // If it requires software licenses
+                if (requiredLicenses != null) {
+                    initialize();
+
+                    // Keep the task pending before any node is requested for it
+                    if (!canGetLicenses(requiredLicenses, reservedLicenses)) {
+                        iterator.remove();
+                    } else {
+                        for (String requiredLicense : requiredLicenses) {
+                            Integer reserved = reservedLicenses.get(requiredLicense);
+                            reservedLicenses.put(requiredLicense, reserved == null ? 1 : reserved + 1);
+                        }
+                    }
+                }
+            }
+        }
+        return orderedTasks;
+    }
+
     @Override
     public boolean isTaskExecutable(NodeSet selectedNodes, EligibleTaskDescriptor task) {
 
@@ -80,32 +121,29 @@ public class LicenseSchedulingPolicy extends ExtendedSchedulerPolicy {
 
         logger.debug("Analysing task: " + ((EligibleTaskDescriptorImpl) task).getInternal().getName());
 
-        // Retrieve required licenses names from the task generic informations
-        final String requiredLicenses = ((EligibleTaskDescriptorImpl) task).getInternal()
-                                                                           .getRuntimeGenericInformation()
-                                                                           .get(REQUIRED_LICENSES);
+        Set<String> requiredLicenses = getRequiredLicenses(task);
 
         // If it requires software licenses
         if (requiredLicenses != null) {
 
-            initialize();
-            logger.debug("Need to check licenses with " + properties.toString());
+            synchronized (LicenseSchedulingPolicy.class) {
+                initialize();
+                logger.debug("Need to check licenses with " + properties.toString());
 
-            // Iterate over required software licenses
-            final String[] requiredLicensesArray = requiredLicenses.split(",");
-            for (int i = 0; i < requiredLicensesArray.length; i++) {
-                // Retrieve the current software license name and its available number
-                final String currentRequiredLicense = requiredLicensesArray[i];
+                // A task accepted again, before being started or terminated, keeps its licenses
+                if (usedLicenses.containsKey(TaskIdWrapper.wrap(task.getTaskId()))) {
+                    return true;
+                }
 
                 // To be executed (ie return true), a task must get a license per requiring software license
-                if (!canGetLicense(currentRequiredLicense)) {
-                    logger.debug("License for " + currentRequiredLicense + " not available, keep task pending");
+                if (!canGetLicenses(requiredLicenses, Collections.<String, Integer> emptyMap())) {
                     return false;
                 }
-            }
-            // Here we manage to give a license for all required software licenses
-            for (int i = 0; i < requiredLicensesArray.length; i++) {
-                eligibleTasksDescriptorsLicenses.get(requiredLicensesArray[i]).add(task);
+                // Here we manage to give a license for all required software licenses
+                for (String requiredLicense : requiredLicenses) {
+                    availableLicenses.put(requiredLicense, availableLicenses.get(requiredLicense) - 1);
+                }
+                usedLicenses.put(TaskIdWrapper.wrap(task.getTaskId()), requiredLicenses);
             }
             logger.debug("All licenses are available, executing task");
             return true;
@@ -116,38 +154,47 @@ public class LicenseSchedulingPolicy extends ExtendedSchedulerPolicy {
 
     }
 
-    private void removeFinishedTasks(LinkedBlockingQueue<EligibleTaskDescriptor> eligibleTasksDescriptorsLicense) {
-        Iterator<EligibleTaskDescriptor> iter = eligibleTasksDescriptorsLicense.iterator();
-        EligibleTaskDescriptorImpl current_task;
-        while (iter.hasNext()) {
-            current_task = (EligibleTaskDescriptorImpl) iter.next();
-
-            if (current_task.getInternal().getStatus().equals(TaskStatus.FINISHED)) {
-                iter.remove();
+    @Override
+    public void taskTerminated(TaskId taskId) {
+        synchronized (LicenseSchedulingPolicy.class) {
+            Set<String> licenses = usedLicenses.remove(TaskIdWrapper.wrap(taskId));
+            if (licenses != null) {
+                // Give back the licenses used by the task
+                for (String license : licenses) {
+                    availableLicenses.put(license, availableLicenses.get(license) + 1);
+                }
             }
         }
     }
 
-    private boolean canGetLicense(String currentRequiredLicense) {
-
-        // If the required software is not specified in the license properties file
-        if (!eligibleTasksDescriptorsLicenses.containsKey(currentRequiredLicense))
-            return false;
-
-        LinkedBlockingQueue<EligibleTaskDescriptor> eligibleTasksDescriptorsLicense = eligibleTasksDescriptorsLicenses.get(currentRequiredLicense);
-        // if there are still remaining licenses return true
-        if (eligibleTasksDescriptorsLicense.remainingCapacity() > 0) {
-            return true;
+    /**
+     * Retrieve required licenses names from the task generic informations
+     *
+     * @return the required software licenses, or null if the task does not require any
+     */
+    private Set<String> getRequiredLicenses(EligibleTaskDescriptor task) {
+        final String requiredLicenses = ((EligibleTaskDescriptorImpl) task).getInternal()
+                                                                           .getRuntimeGenericInformation()
+                                                                           .get(REQUIRED_LICENSES);
+        if (requiredLicenses == null) {
+            return null;
         }
-        // otherwise remove all terminated tasks and check again if there are remaining licenses
-        else {
-            removeFinishedTasks(eligibleTasksDescriptorsLicense);
+        return new LinkedHashSet<>(Arrays.asList(requiredLicenses.split(",")));
+    }
+
+    private boolean canGetLicenses(Set<String> requiredLicenses, Map<String, Integer> reservedLicenses) {
+        for (String requiredLicense : requiredLicenses) {
+            Integer available = availableLicenses.get(requiredLicense);
+            Integer reserved = reservedLicenses.get(requiredLicense);
 
-            if (eligibleTasksDescriptorsLicense.remainingCapacity() > 0) {
-                return true;
+            // If the required software is not specified in the license properties file,
+            // or if all its licenses are used
+            if (available == null || available - (reserved == null ? 0 : reserved) <= 0) {
+                logger.debug("License for " + requiredLicense + " not available, keep task pending");
+                return false;
             }
-            return false;
         }
+        return true;
     }
 
 }
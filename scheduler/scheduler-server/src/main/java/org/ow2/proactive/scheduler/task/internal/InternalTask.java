@@ -52,13 +52,11 @@ import org.ow2.proactive.scheduler.common.task.ForkEnvironment;
 import org.ow2.proactive.scheduler.common.task.Task;
 import org.ow2.proactive.scheduler.common.task.TaskId;
 import org.ow2.proactive.scheduler.common.task.TaskInfo;
-import org.ow2.proactive.scheduler.common.task.TaskResult;
 import org.ow2.proactive.scheduler.common.task.TaskState;
 import org.ow2.proactive.scheduler.common.task.TaskStatus;
 import org.ow2.proactive.scheduler.common.task.flow.FlowAction;
 import org.ow2.proactive.scheduler.common.task.flow.FlowActionType;
 import org.ow2.proactive.scheduler.common.task.flow.FlowBlock;
-import org.ow2.proactive.scheduler.common.task.util.SerializationUtil;
 import org.ow2.proactive.scheduler.core.SchedulingService;
 import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
 import org.ow2.proactive.scheduler.job.InternalJob;
@@ -1181,11 +1179,13 @@ public abstract class InternalTask extends TaskState {
                                                              .getFirstNotSkippedParentTaskIds(parentTask));
                 }
                 if (!parentIds.isEmpty()) {
-                    Map<TaskId, TaskResult> taskResults = schedulingService.getInfrastructure()
-                                                                           .getDBManager()
-                                                                           .loadTasksResults(internalJob.getId(),
-                                                                                             new ArrayList(parentIds));
-                    updateVariablesWithTaskResults(taskResults);
+                    Map<TaskId, Map<String, Serializable>> propagatedVariables = schedulingService.getInfrastructure()
+                                                                                                  .getDBManager()
+                                                                                                  .loadTasksPropagatedVariables(internalJob.getId(),
+                                                                                                                                new ArrayList<>(parentIds));
+                    for (Map<String, Serializable> parentVariables : propagatedVariables.values()) {
+                        updateInheritedPropagatedVariables(parentVariables);
+                    }
                 }
             }
 
@@ -1193,22 +1193,6 @@ public abstract class InternalTask extends TaskState {
         }
     }
 
-    private void updateVariablesWithTaskResults(Map<TaskId, TaskResult> taskResults) {
-        for (TaskResult taskResult : taskResults.values()) {
-            Map<String, Serializable> propagatedVariables = new HashMap<>();
-            if (taskResult.getPropagatedVariables() != null) {
-                try {
-                    propagatedVariables = SerializationUtil.deserializeVariableMap(taskResult.getPropagatedVariables());
-                    if (propagatedVariables != null) {
-                        updateInheritedPropagatedVariables(propagatedVariables);
-                    }
-                } catch (Exception e) {
-                    throw new IllegalStateException("Could not deserialize variable map", e);
-                }
-            }
-        }
-    }
-
     private void updateInheritedPropagatedVariables(Map<String, Serializable> propagatedVariables) {
         for (Map.Entry<String, Serializable> propagatedVariable : propagatedVariables.entrySet()) {
             if (variables.get(propagatedVariable.getKey()) == null ||
@@ -27,6 +27,9 @@ package org.ow2.proactive.scheduler.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.log4j.Logger;
@@ -74,7 +77,20 @@ public class ServerJobAndTaskLogs {
 
     }
 
+    /**
+     * Closes the log file of a terminated task, it will be opened again
+     * if new events are logged for this task.
+     */
+    public static void closeTaskLog(TaskId taskId) {
+        for (FileAppender appender : getFileAppenders()) {
+            appender.closeFile(TaskLogger.getTaskLogRelativePath(taskId));
+        }
+    }
+
     public static void remove(JobId jobId) {
+        for (FileAppender appender : getFileAppenders()) {
+            appender.closeFiles(jobId.value() + "/");
+        }
         removeFolderLog(jobId.value());
     }
 
@@ -147,4 +163,22 @@ public class ServerJobAndTaskLogs {
         return appender;
     }
 
+    /**
+     * The file appenders are looked up in the job and task loggers rather than kept in a list,
+     * so that appenders removed from these loggers are not retained.
+     */
+    private static List<FileAppender> getFileAppenders() {
+        List<FileAppender> fileAppenders = new ArrayList<>(2);
+        for (Class<?> cls : new Class<?>[] { JobLogger.class, TaskLogger.class }) {
+            Enumeration<?> appenders = Logger.getLogger(cls).getAllAppenders();
+            while (appenders.hasMoreElements()) {
+                Object appender = appenders.nextElement();
+                if (appender instanceof FileAppender) {
+                    fileAppenders.add((FileAppender) appender);
+                }
+            }
+        }
+        return fileAppenders;
+    }
+
 }
@@ -0,0 +1,132 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package functionaltests.db.schedulerdb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.scheduler.common.job.TaskFlowJob;
+import org.ow2.proactive.scheduler.common.task.TaskResult;
+import org.ow2.proactive.scheduler.common.task.TaskStatus;
+import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
+import org.ow2.proactive.scheduler.job.InternalJob;
+import org.ow2.proactive.scheduler.task.TaskResultImpl;
+import org.ow2.proactive.scheduler.task.internal.InternalTask;
+
+
+public class TestGroupCommit extends BaseSchedulerDBTest {
+
+    private static final int NB_JOBS = 20;
+
+    @Before
+    @Override
+    public void initTest() throws Exception {
+        PASchedulerProperties.SCHEDULER_DB_TRANSACTION_GROUP_COMMIT_DELAY.updateProperty("20");
+        super.initTest();
+    }
+
+    @After
+    public void resetGroupCommit() {
+        PASchedulerProperties.SCHEDULER_DB_TRANSACTION_GROUP_COMMIT_DELAY.updateProperty("0");
+    }
+
+    @Test(timeout = 60000)
+    public void testConcurrentTaskTransitionsAreCommitted() throws Throwable {
+        final List<InternalJob> jobs = new ArrayList<>(NB_JOBS);
+        for (int i = 0; i < NB_JOBS; i++) {
+            TaskFlowJob jobDef = new TaskFlowJob();
+            jobDef.addTask(createDefaultTask("task"));
+            InternalJob job = defaultSubmitJobAndLoadInternal(true, jobDef);
+            job.start();
+            jobs.add(job);
+        }
+
+        ExecutorService threadPool = Executors.newFixedThreadPool(NB_JOBS);
+        try {
+            runForEachJob(threadPool, jobs, new JobAction() {
+                @Override
+                public void run(InternalJob job) throws Exception {
+                    InternalTask task = startTask(job, job.getTask("task"));
+                    dbManager.jobTaskStarted(job, task, false);
+                }
+            });
+
+            // transitions are committed when the calls return
+            for (InternalJob job : jobs) {
+                Assert.assertEquals(TaskStatus.RUNNING,
+                                    loadInternalJob(true, job.getId()).getTask("task").getStatus());
+            }
+
+            runForEachJob(threadPool, jobs, new JobAction() {
+                @Override
+                public void run(InternalJob job) throws Exception {
+                    InternalTask task = job.getTask("task");
+                    task.setStatus(TaskStatus.FINISHED);
+                    dbManager.updateAfterTaskFinished(job, task, new TaskResultImpl(task.getId(), "OK", null, 0));
+                }
+            });
+        } finally {
+            threadPool.shutdown();
+        }
+
+        for (InternalJob job : jobs) {
+            InternalTask task = loadInternalJob(true, job.getId()).getTask("task");
+            Assert.assertEquals(TaskStatus.FINISHED, task.getStatus());
+            TaskResult result = dbManager.loadLastTaskResult(task.getId());
+            Assert.assertEquals("OK", result.value());
+        }
+    }
+
+    private void runForEachJob(ExecutorService threadPool, List<InternalJob> jobs, final JobAction action)
+            throws Exception {
+        List<Future<Void>> futures = new ArrayList<>(jobs.size());
+        for (final InternalJob job : jobs) {
+            futures.add(threadPool.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    action.run(job);
+                    return null;
+                }
+            }));
+        }
+        for (Future<Void> future : futures) {
+            future.get();
+        }
+    }
+
+    private interface JobAction {
+        void run(InternalJob job) throws Exception;
+    }
+
+}
@@ -25,16 +25,27 @@
  */
 package functionaltests.db.schedulerdb;
 
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
 import org.junit.Assert;
 import org.junit.Test;
+import org.ow2.proactive.scheduler.common.TaskResultProvider;
+import org.ow2.proactive.scheduler.common.exception.UnknownTaskException;
 import org.ow2.proactive.scheduler.common.job.JobId;
 import org.ow2.proactive.scheduler.common.job.JobResult;
 import org.ow2.proactive.scheduler.common.job.TaskFlowJob;
 import org.ow2.proactive.scheduler.common.task.ForkEnvironment;
 import org.ow2.proactive.scheduler.common.task.JavaTask;
+import org.ow2.proactive.scheduler.common.task.TaskId;
+import org.ow2.proactive.scheduler.common.task.TaskResult;
+import org.ow2.proactive.scheduler.common.task.util.SerializationUtil;
 import org.ow2.proactive.scheduler.job.InternalJob;
 import org.ow2.proactive.scheduler.job.JobIdImpl;
 import org.ow2.proactive.scheduler.task.TaskResultImpl;
+import org.ow2.proactive.scheduler.task.TaskResultReference;
 import org.ow2.proactive.scheduler.task.internal.InternalTask;
 
 
@@ -172,6 +183,87 @@ public class TestLoadJobResult extends BaseSchedulerDBTest {
         Assert.assertEquals(0, result.getPreciousResults().size());
     }
 
+    @Test
+    public void testLoadTasksResultReferences() throws Throwable {
+        TaskFlowJob jobDef = new TaskFlowJob();
+        jobDef.addTask(createDefaultTask("task1"));
+        jobDef.addTask(createDefaultTask("task2"));
+
+        InternalJob job = defaultSubmitJobAndLoadInternal(true, jobDef);
+        InternalTask task1 = job.getTask("task1");
+        InternalTask task2 = job.getTask("task2");
+
+        dbManager.updateAfterTaskFinished(job, task1, new TaskResultImpl(null, new TestResult(0, "1_1"), null, 0));
+        TaskResultImpl lastResult = new TaskResultImpl(null, new TestResult(0, "1_2"), null, 0);
+        lastResult.setPropagatedVariables(Collections.singletonMap("var", "value".getBytes()));
+        dbManager.updateAfterTaskFinished(job, task1, lastResult);
+        dbManager.updateAfterTaskFinished(job,
+                                          task2,
+                                          new TaskResultImpl(null, new TestException("message2_1", "data2_1"), null, 0));
+
+        final int[] fetchedResults = new int[1];
+        TaskResultProvider taskResultProvider = new TaskResultProvider() {
+            @Override
+            public TaskResult getTaskResult(TaskId taskId) throws UnknownTaskException {
+                fetchedResults[0]++;
+                return dbManager.loadLastTaskResult(taskId);
+            }
+        };
+
+        Map<TaskId, TaskResult> references = dbManager.loadTasksResultReferences(job.getId(),
+                                                                                 Arrays.asList(task1.getId(),
+                                                                                               task2.getId()),
+                                                                                 taskResultProvider);
+        Assert.assertEquals(2, references.size());
+
+        TaskResult reference1 = references.get(task1.getId());
+        Assert.assertTrue(reference1 instanceof TaskResultReference);
+        Assert.assertFalse(reference1.hadException());
+        Assert.assertArrayEquals("value".getBytes(), reference1.getPropagatedVariables().get("var"));
+        TaskResult reference2 = references.get(task2.getId());
+        Assert.assertTrue(reference2.hadException());
+        Assert.assertEquals(0, fetchedResults[0]);
+
+        Assert.assertEquals("1_2", ((TestResult) reference1.value()).getB());
+        Assert.assertEquals("1_2", ((TestResult) reference1.value()).getB());
+        Assert.assertEquals(1, fetchedResults[0]);
+        Assert.assertEquals("message2_1", reference2.getException().getMessage());
+        Assert.assertEquals(2, fetchedResults[0]);
+    }
+
+    @Test
+    public void testLoadTasksPropagatedVariables() throws Throwable {
+        TaskFlowJob jobDef = new TaskFlowJob();
+        jobDef.addTask(createDefaultTask("task1"));
+        jobDef.addTask(createDefaultTask("task2"));
+
+        InternalJob job = defaultSubmitJobAndLoadInternal(true, jobDef);
+        InternalTask task1 = job.getTask("task1");
+        InternalTask task2 = job.getTask("task2");
+
+        TaskResultImpl result1 = new TaskResultImpl(null, new TestResult(0, "1_1"), null, 0);
+        result1.setPropagatedVariables(SerializationUtil.serializeVariableMap(Collections.<String, Serializable> singletonMap("var",
+                                                                                                                             "value1")));
+        dbManager.updateAfterTaskFinished(job, task1, result1);
+        dbManager.updateAfterTaskFinished(job, task2, new TaskResultImpl(null, new TestResult(0, "2_1"), null, 0));
+
+        Map<TaskId, Map<String, Serializable>> variables = dbManager.loadTasksPropagatedVariables(job.getId(),
+                                                                                                  Arrays.asList(task1.getId(),
+                                                                                                                task2.getId()));
+        Assert.assertEquals(2, variables.size());
+        Assert.assertEquals("value1", variables.get(task1.getId()).get("var"));
+        Assert.assertTrue(variables.get(task2.getId()).isEmpty());
+
+        // a new result of the task replaces the variables of the previous one
+        TaskResultImpl result2 = new TaskResultImpl(null, new TestResult(0, "1_2"), null, 0);
+        result2.setPropagatedVariables(SerializationUtil.serializeVariableMap(Collections.<String, Serializable> singletonMap("var",
+                                                                                                                             "value2")));
+        dbManager.updateAfterTaskFinished(job, task1, result2);
+
+        variables = dbManager.loadTasksPropagatedVariables(job.getId(), Collections.singletonList(task1.getId()));
+        Assert.assertEquals("value2", variables.get(task1.getId()).get("var"));
+    }
+
     @Test
     public void testInvalidJobId() throws Exception {
         JobId jobId = new JobIdImpl(Long.MAX_VALUE, "dummy");
@@ -25,6 +25,8 @@
  */
 package functionaltests.db.schedulerdb;
 
+import java.util.Map;
+
 import org.junit.Assert;
 import org.junit.Test;
 import org.ow2.proactive.scheduler.common.job.TaskFlowJob;
@@ -143,6 +145,7 @@ public class TestReportingQueries extends BaseSchedulerDBTest {
         checkJobRunningTime(job2);
         checkMeanExecutionTime(job1, job2);
         checkMeanTaskRunningTime(job2);
+        checkMeanTaskRunningTimes(job1, job2);
         checkJobAndTasksNumbers(0, 0, 2, 2, 0, 0, 6, 6);
 
         // remove job2
@@ -203,6 +206,19 @@ public class TestReportingQueries extends BaseSchedulerDBTest {
         Assert.assertEquals(expected, dbManager.getMeanTaskRunningTime(job.getJobInfo().getJobId().value()), 001);
     }
 
+    private void checkMeanTaskRunningTimes(InternalJob... jobs) {
+        Map<String, Map<String, Double>> meanRunningTimes = dbManager.getMeanTaskRunningTimes();
+        for (String taskName : new String[] { "task1", "task2", "task3" }) {
+            double expected = 0;
+            for (InternalJob job : jobs) {
+                InternalTask task = loadInternalJob(true, job.getId()).getTask(taskName);
+                expected += (task.getFinishedTime() - task.getStartTime());
+            }
+            expected /= jobs.length;
+            Assert.assertEquals(expected, meanRunningTimes.get(jobs[0].getName()).get(taskName), 001);
+        }
+    }
+
     private void checkJobRunningTime(InternalJob job) {
         Assert.assertEquals(job.getFinishedTime() - job.getStartTime(),
                             dbManager.getJobRunningTime(job.getJobInfo().getJobId().value()));
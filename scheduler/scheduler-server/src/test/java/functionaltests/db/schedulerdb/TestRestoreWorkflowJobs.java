@@ -90,6 +90,43 @@ public class TestRestoreWorkflowJobs extends BaseSchedulerDBTest {
         checkRecoveredState(recoverHelper.recover(-1), state().withRunning(expectedJob));
     }
 
+    @Test
+    public void largeReplicationIsStored() throws Exception {
+        int replications = 120;
+        TaskFlowJob jobDef = new TaskFlowJob();
+        JavaTask t = task("T");
+        JavaTask t1 = task("T1");
+        JavaTask t2 = task("T2");
+        t1.addDependence(t);
+        t2.addDependence(t1);
+        t.setFlowScript(FlowScript.createReplicateFlowScript(String.format("runs = %d", replications)));
+        jobDef.addTask(t);
+        jobDef.addTask(t1);
+        jobDef.addTask(t2);
+
+        InternalJob job = defaultSubmitJobAndLoadInternal(true, jobDef);
+
+        job.start();
+        InternalTask mainTask = job.getTask("T");
+        startTask(job, mainTask);
+        dbManager.jobTaskStarted(job, mainTask, true);
+
+        TaskResultImpl result = new TaskResultImpl(mainTask.getId(), "ok", null, 0);
+        FlowAction action = new FlowAction(FlowActionType.REPLICATE);
+        action.setDupNumber(replications);
+        ChangedTasksInfo changesInfo = job.terminateTask(false, mainTask.getId(), null, action, result);
+
+        dbManager.updateAfterWorkflowTaskFinished(job, changesInfo, result);
+
+        InternalJob loadedJob = loadInternalJob(true, job.getId());
+        assertEquals(replications + 2, loadedJob.getITasks().size());
+        for (InternalTask task : loadedJob.getITasks()) {
+            if (task.getName().startsWith("T1")) {
+                assertNotNull(dbManager.loadExecutableContainer(task));
+            }
+        }
+    }
+
     @Test
     public void finishedJobWithScriptsCanBeRecoveredAndLoaded() throws Exception {
         InternalJob job = defaultSubmitJobAndLoadInternal(true, createJobWithAllKindOfScripts());
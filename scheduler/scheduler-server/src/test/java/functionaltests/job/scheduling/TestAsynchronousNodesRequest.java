@@ -0,0 +1,95 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package functionaltests.job.scheduling;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.ow2.proactive.resourcemanager.common.RMState;
+import org.ow2.proactive.resourcemanager.frontend.ResourceManager;
+import org.ow2.proactive.scheduler.common.job.JobId;
+import org.ow2.proactive.scheduler.common.job.JobInfo;
+import org.ow2.proactive.scheduler.common.job.JobStatus;
+import org.ow2.proactive.scheduler.common.job.TaskFlowJob;
+import org.ow2.proactive.scheduler.common.task.JavaTask;
+import org.ow2.proactive.scheduler.examples.WaitAndPrint;
+import org.ow2.proactive.scripting.SelectionScript;
+
+import functionaltests.utils.SchedulerFunctionalTestNoRestart;
+
+
+/**
+ * Nodes are requested to the RM without blocking the scheduling loop, checks that tasks are
+ * started by a later scheduling pass once their nodes are selected, and that tasks killed
+ * while waiting for their nodes give these nodes back.
+ */
+public class TestAsynchronousNodesRequest extends SchedulerFunctionalTestNoRestart {
+
+    @Test(timeout = 120000)
+    public void tasksAreStartedWhenTheirNodesAreReceived() throws Throwable {
+        JobId slowSelectionJobId = schedulerHelper.submitJob(createJob(3000));
+        JobId jobId = schedulerHelper.submitJob(createJob(0));
+
+        // the selection of the first job does not delay the second one
+        JobInfo jobInfo = schedulerHelper.waitForEventJobFinished(jobId);
+        assertEquals(JobStatus.FINISHED, jobInfo.getStatus());
+
+        JobInfo slowSelectionJobInfo = schedulerHelper.waitForEventJobFinished(slowSelectionJobId);
+        assertEquals(JobStatus.FINISHED, slowSelectionJobInfo.getStatus());
+    }
+
+    @Test(timeout = 120000)
+    public void nodesOfTasksKilledWhileWaitingForThemAreReleased() throws Throwable {
+        JobId jobId = schedulerHelper.submitJob(createJob(5000));
+        schedulerHelper.waitForEventJobSubmitted(jobId);
+
+        // kill the job while the nodes of its task are being selected
+        Thread.sleep(1000);
+        schedulerHelper.killJob(jobId.value());
+        schedulerHelper.waitForEventPendingJobFinished(jobId, 30000);
+
+        ResourceManager rm = schedulerHelper.getResourceManager();
+        RMState state = rm.getState();
+        while (state.getFreeNodesNumber() != state.getTotalAliveNodesNumber()) {
+            Thread.sleep(500);
+            state = rm.getState();
+        }
+    }
+
+    private TaskFlowJob createJob(long selectionTime) throws Exception {
+        TaskFlowJob job = new TaskFlowJob();
+        JavaTask task = new JavaTask();
+        task.setName("task");
+        task.setExecutableClassName(WaitAndPrint.class.getName());
+        task.addArgument("sleepTime", "1");
+        task.addSelectionScript(new SelectionScript("java.lang.Thread.sleep(" + selectionTime + "); selected = true;",
+                                                    "javascript",
+                                                    true));
+        job.addTask(task);
+        return job;
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package functionaltests.job.scheduling;
+
+import static functionaltests.utils.SchedulerTHelper.log;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.net.URL;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.ow2.proactive.resourcemanager.common.RMState;
+import org.ow2.proactive.resourcemanager.frontend.ResourceManager;
+import org.ow2.proactive.scheduler.common.job.JobId;
+import org.ow2.proactive.scheduler.common.job.JobStatus;
+
+import functionaltests.utils.SchedulerFunctionalTestWithCustomConfigAndRestart;
+import functionaltests.utils.SchedulerTHelper;
+
+
+/**
+ * Checks that tasks whose launcher cannot be created in time are not started,
+ * and that the nodes obtained for them are given back to the resource manager.
+ */
+public class TestTaskLauncherCreationTimeout extends SchedulerFunctionalTestWithCustomConfigAndRestart {
+
+    private static URL simpleJob = TestTaskLauncherCreationTimeout.class.getResource("/functionaltests/descriptors/Job_simple.xml");
+
+    @BeforeClass
+    public static void startDedicatedScheduler() throws Exception {
+        schedulerHelper = new SchedulerTHelper(true,
+                                               new File(SchedulerTHelper.class.getResource("/functionaltests/config/scheduler-launcherCreationTimeout.ini")
+                                                                              .toURI()).getAbsolutePath());
+    }
+
+    @Test(timeout = 120000)
+    public void tasksAreNotStartedAndNodesAreReleased() throws Throwable {
+        JobId id = schedulerHelper.submitJob(new File(simpleJob.toURI()).getAbsolutePath());
+        schedulerHelper.waitForEventJobSubmitted(id);
+
+        // let the scheduler try to start the tasks several times
+        Thread.sleep(5000);
+        assertEquals(JobStatus.PENDING, schedulerHelper.getSchedulerInterface().getJobState(id).getStatus());
+
+        log("Killing job " + id);
+        schedulerHelper.killJob(id.value());
+        schedulerHelper.waitForEventPendingJobFinished(id, 30000);
+
+        ResourceManager rm = schedulerHelper.getResourceManager();
+        RMState state = rm.getState();
+        while (state.getFreeNodesNumber() != state.getTotalAliveNodesNumber()) {
+            Thread.sleep(500);
+            state = rm.getState();
+        }
+    }
+
+}
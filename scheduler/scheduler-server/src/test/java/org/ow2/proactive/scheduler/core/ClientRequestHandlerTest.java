@@ -0,0 +1,305 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.objectweb.proactive.core.UniqueID;
+import org.ow2.proactive.scheduler.common.NotificationData;
+import org.ow2.proactive.scheduler.common.SchedulerEvent;
+import org.ow2.proactive.scheduler.common.SchedulerEventListener;
+import org.ow2.proactive.scheduler.common.job.JobId;
+import org.ow2.proactive.scheduler.common.job.JobInfo;
+import org.ow2.proactive.scheduler.common.job.JobState;
+import org.ow2.proactive.scheduler.common.task.TaskInfo;
+import org.ow2.proactive.scheduler.core.ClientRequestHandler.SlowClientPolicy;
+import org.ow2.proactive.scheduler.job.JobIdImpl;
+import org.ow2.proactive.scheduler.job.JobInfoImpl;
+import org.ow2.proactive.scheduler.task.TaskIdImpl;
+import org.ow2.proactive.scheduler.task.TaskInfoImpl;
+import org.ow2.tests.ProActiveTestClean;
+
+
+public class ClientRequestHandlerTest extends ProActiveTestClean {
+
+    private final JobId jobId = new JobIdImpl(42, "job");
+
+    private final UniqueID clientId = new UniqueID("client");
+
+    private SchedulerFrontendState frontend;
+
+    private SchedulerEventListener client;
+
+    private CountDownLatch sending;
+
+    private CountDownLatch slowClient;
+
+    @Before
+    public void setUp() {
+        frontend = mock(SchedulerFrontendState.class);
+        client = mock(SchedulerEventListener.class);
+        sending = new CountDownLatch(1);
+        slowClient = new CountDownLatch(1);
+        // the first event blocks the client, following events are buffered
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                sending.countDown();
+                slowClient.await(10, TimeUnit.SECONDS);
+                return null;
+            }
+        }).when(client).schedulerStateUpdatedEvent(SchedulerEvent.FROZEN);
+    }
+
+    @After
+    public void tearDown() {
+        slowClient.countDown();
+    }
+
+    @Test
+    public void eventsAreSentInOrder() throws Exception {
+        ClientRequestHandler handler = new ClientRequestHandler(frontend,
+                                                                clientId,
+                                                                client,
+                                                                10,
+                                                                SlowClientPolicy.DROP,
+                                                                100);
+        JobState job = mock(JobState.class);
+        NotificationData<JobInfo> jobNotification = new NotificationData<>(SchedulerEvent.JOB_PAUSED,
+                                                                           mock(JobInfo.class));
+        NotificationData<TaskInfo> taskNotification = taskNotification(1);
+
+        handler.addJobSubmittedEvent(job);
+        handler.addJobStateUpdatedEvent(jobNotification);
+        handler.addTaskStateUpdatedEvent(taskNotification);
+        handler.addJobUpdatedFullDataEvent(job);
+
+        InOrder inOrder = inOrder(client);
+        inOrder.verify(client, timeout(10000)).jobSubmittedEvent(job);
+        inOrder.verify(client, timeout(10000)).jobStateUpdatedEvent(jobNotification);
+        inOrder.verify(client, timeout(10000)).taskStateUpdatedEvent(taskNotification);
+        inOrder.verify(client, timeout(10000)).jobUpdatedFullDataEvent(job);
+        assertEquals(0, handler.getDroppedEvents());
+    }
+
+    @Test
+    public void coalescePolicyKeepsTheLatestEventOfATask() throws Exception {
+        ClientRequestHandler handler = blockedHandler(SlowClientPolicy.COALESCE);
+        NotificationData<TaskInfo> task1 = taskNotification(1);
+        NotificationData<TaskInfo> task2 = taskNotification(2);
+        NotificationData<TaskInfo> task1Again = taskNotification(1);
+
+        handler.addTaskStateUpdatedEvent(task1);
+        handler.addTaskStateUpdatedEvent(task2);
+        // buffer is full
+        handler.addTaskStateUpdatedEvent(task1Again);
+        slowClient.countDown();
+
+        InOrder inOrder = inOrder(client);
+        inOrder.verify(client, timeout(10000)).taskStateUpdatedEvent(task1Again);
+        inOrder.verify(client, timeout(10000)).taskStateUpdatedEvent(task2);
+        verify(client, never()).taskStateUpdatedEvent(task1);
+        assertEquals(0, handler.getDroppedEvents());
+        verify(frontend, never()).markAsDirty(any(UniqueID.class));
+    }
+
+    @Test
+    public void defaultPolicyDisconnectsTheClientInsteadOfDroppingAJobEvent() throws Exception {
+        ClientRequestHandler handler = blockedHandler(SlowClientPolicy.fromProperty());
+        NotificationData<JobInfo> jobFinished = new NotificationData<>(SchedulerEvent.JOB_RUNNING_TO_FINISHED,
+                                                                       jobInfo(1));
+
+        handler.addTaskStateUpdatedEvent(taskNotification(1));
+        handler.addTaskStateUpdatedEvent(taskNotification(2));
+        // buffer is full, the client cannot miss the end of the job without being told to resynchronize
+        handler.addJobStateUpdatedEvent(jobFinished);
+        verify(frontend).markAsDirty(clientId);
+    }
+
+    @Test
+    public void coalescePolicyMergesTaskEventsBeforeTheBufferIsFull() throws Exception {
+        ClientRequestHandler handler = new ClientRequestHandler(frontend,
+                                                                clientId,
+                                                                client,
+                                                                10,
+                                                                SlowClientPolicy.COALESCE,
+                                                                100);
+        handler.addSchedulerStateUpdatedEvent(SchedulerEvent.FROZEN);
+        assertTrue(sending.await(10, TimeUnit.SECONDS));
+        NotificationData<TaskInfo> task1 = taskNotification(1);
+        NotificationData<TaskInfo> task2 = taskNotification(2);
+        NotificationData<TaskInfo> task1Again = taskNotification(1);
+
+        handler.addTaskStateUpdatedEvent(task1);
+        handler.addTaskStateUpdatedEvent(task2);
+        handler.addTaskStateUpdatedEvent(task1Again);
+        slowClient.countDown();
+
+        InOrder inOrder = inOrder(client);
+        inOrder.verify(client, timeout(10000)).taskStateUpdatedEvent(task1Again);
+        inOrder.verify(client, timeout(10000)).taskStateUpdatedEvent(task2);
+        verify(client, never()).taskStateUpdatedEvent(task1);
+        assertEquals(0, handler.getDroppedEvents());
+    }
+
+    @Test
+    public void coalescePolicyKeepsDifferentTransitionsOfATask() throws Exception {
+        ClientRequestHandler handler = new ClientRequestHandler(frontend,
+                                                                clientId,
+                                                                client,
+                                                                10,
+                                                                SlowClientPolicy.COALESCE,
+                                                                100);
+        handler.addSchedulerStateUpdatedEvent(SchedulerEvent.FROZEN);
+        assertTrue(sending.await(10, TimeUnit.SECONDS));
+        NotificationData<TaskInfo> started = taskNotification(1, SchedulerEvent.TASK_PENDING_TO_RUNNING);
+        NotificationData<TaskInfo> task2 = taskNotification(2);
+        NotificationData<TaskInfo> finished = taskNotification(1, SchedulerEvent.TASK_RUNNING_TO_FINISHED);
+
+        handler.addTaskStateUpdatedEvent(started);
+        handler.addTaskStateUpdatedEvent(task2);
+        handler.addTaskStateUpdatedEvent(finished);
+        slowClient.countDown();
+
+        InOrder inOrder = inOrder(client);
+        inOrder.verify(client, timeout(10000)).taskStateUpdatedEvent(started);
+        inOrder.verify(client, timeout(10000)).taskStateUpdatedEvent(task2);
+        inOrder.verify(client, timeout(10000)).taskStateUpdatedEvent(finished);
+        assertEquals(0, handler.getDroppedEvents());
+    }
+
+    @Test
+    public void summariesContainTheLatestInformationOfEachJob() throws Exception {
+        ClientRequestHandler handler = new ClientRequestHandler(frontend,
+                                                                clientId,
+                                                                client,
+                                                                10,
+                                                                SlowClientPolicy.COALESCE,
+                                                                100);
+        JobInfo job1 = jobInfo(1);
+        JobInfo job1Again = jobInfo(1);
+        JobInfo job2 = jobInfo(2);
+
+        handler.addJobTasksSummary(job1);
+        handler.addJobTasksSummary(job2);
+        handler.addJobTasksSummary(job1Again);
+
+        ArgumentCaptor<NotificationData> summaries = ArgumentCaptor.forClass(NotificationData.class);
+        verify(client, timeout(10000).times(2)).jobStateUpdatedEvent(summaries.capture());
+        assertEquals(SchedulerEvent.JOB_TASKS_SUMMARY, summaries.getAllValues().get(0).getEventType());
+        assertSame(job1Again, summaries.getAllValues().get(0).getData());
+        assertEquals(SchedulerEvent.JOB_TASKS_SUMMARY, summaries.getAllValues().get(1).getEventType());
+        assertSame(job2, summaries.getAllValues().get(1).getData());
+
+        // a new summary is sent for the next changes
+        handler.addJobTasksSummary(job2);
+        verify(client, timeout(10000).times(3)).jobStateUpdatedEvent(any(NotificationData.class));
+    }
+
+    @Test
+    public void dropPolicyDropsNewEvents() throws Exception {
+        ClientRequestHandler handler = blockedHandler(SlowClientPolicy.DROP);
+        NotificationData<TaskInfo> task1 = taskNotification(1);
+        NotificationData<TaskInfo> task2 = taskNotification(2);
+        NotificationData<TaskInfo> task1Again = taskNotification(1);
+
+        handler.addTaskStateUpdatedEvent(task1);
+        handler.addTaskStateUpdatedEvent(task2);
+        // buffer is full
+        handler.addTaskStateUpdatedEvent(task1Again);
+        slowClient.countDown();
+
+        InOrder inOrder = inOrder(client);
+        inOrder.verify(client, timeout(10000)).taskStateUpdatedEvent(task1);
+        inOrder.verify(client, timeout(10000)).taskStateUpdatedEvent(task2);
+        verify(client, never()).taskStateUpdatedEvent(task1Again);
+        assertEquals(1, handler.getDroppedEvents());
+        verify(frontend, never()).markAsDirty(any(UniqueID.class));
+    }
+
+    @Test
+    public void disconnectPolicyRemovesTheClient() throws Exception {
+        ClientRequestHandler handler = blockedHandler(SlowClientPolicy.DISCONNECT);
+
+        handler.addTaskStateUpdatedEvent(taskNotification(1));
+        handler.addTaskStateUpdatedEvent(taskNotification(2));
+        // buffer is full
+        handler.addTaskStateUpdatedEvent(taskNotification(3));
+        verify(frontend).markAsDirty(clientId);
+
+        slowClient.countDown();
+        handler.addTaskStateUpdatedEvent(taskNotification(4));
+        verify(client, after(500).never()).taskStateUpdatedEvent(any(NotificationData.class));
+        assertEquals(3, handler.getDroppedEvents());
+    }
+
+    /**
+     * @return a handler with a buffer of 2 events, whose client is busy with a first event
+     */
+    private ClientRequestHandler blockedHandler(SlowClientPolicy policy) throws InterruptedException {
+        ClientRequestHandler handler = new ClientRequestHandler(frontend, clientId, client, 2, policy, 100);
+        handler.addSchedulerStateUpdatedEvent(SchedulerEvent.FROZEN);
+        assertTrue(sending.await(10, TimeUnit.SECONDS));
+        return handler;
+    }
+
+    private JobInfo jobInfo(int id) {
+        JobInfoImpl jobInfo = new JobInfoImpl();
+        jobInfo.setJobId(new JobIdImpl(id, "job" + id));
+        return jobInfo;
+    }
+
+    private NotificationData<TaskInfo> taskNotification(int taskId) {
+        return taskNotification(taskId, SchedulerEvent.TASK_PROGRESS);
+    }
+
+    private NotificationData<TaskInfo> taskNotification(int taskId, SchedulerEvent event) {
+        TaskInfoImpl taskInfo = new TaskInfoImpl();
+        taskInfo.setTaskId(TaskIdImpl.createTaskId(jobId, "task" + taskId, taskId));
+        return new NotificationData<TaskInfo>(event, taskInfo);
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.authentication.crypto.CredData;
+import org.ow2.proactive.authentication.crypto.Credentials;
+import org.ow2.proactive.scheduler.common.job.JobId;
+import org.ow2.proactive.scheduler.job.JobIdImpl;
+
+
+public class CredentialsCacheTest {
+
+    private static final String OWNER = "admin";
+
+    private CredentialsCache cache;
+
+    private JobId jobId;
+
+    private Credentials credentials;
+
+    @Before
+    public void init() {
+        cache = new CredentialsCache(2);
+        jobId = new JobIdImpl(1, "job");
+        credentials = mock(Credentials.class);
+    }
+
+    @Test
+    public void testGetCachedEntry() {
+        CredentialsCache.Entry entry = newEntry(credentials, cache.getVersion(OWNER));
+        cache.put(jobId, entry);
+
+        assertSame(entry, cache.get(jobId, credentials, OWNER));
+    }
+
+    @Test
+    public void testEntryIsOutdatedWhenJobCredentialsChange() {
+        cache.put(jobId, newEntry(credentials, cache.getVersion(OWNER)));
+
+        assertNull(cache.get(jobId, mock(Credentials.class), OWNER));
+        assertNull(cache.get(jobId, credentials, OWNER));
+    }
+
+    @Test
+    public void testInvalidateOwner() {
+        cache.put(jobId, newEntry(credentials, cache.getVersion(OWNER)));
+
+        cache.invalidate(OWNER);
+
+        assertNull(cache.get(jobId, credentials, OWNER));
+    }
+
+    @Test
+    public void testEntryComputedBeforeInvalidationIsNotCached() {
+        int version = cache.getVersion(OWNER);
+        cache.invalidate(OWNER);
+        cache.put(jobId, newEntry(credentials, version));
+
+        assertNull(cache.get(jobId, credentials, OWNER));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        JobId secondJobId = new JobIdImpl(2, "job");
+        JobId thirdJobId = new JobIdImpl(3, "job");
+        CredentialsCache.Entry entry = newEntry(credentials, cache.getVersion(OWNER));
+        cache.put(jobId, entry);
+        cache.put(secondJobId, entry);
+        cache.get(jobId, credentials, OWNER);
+        cache.put(thirdJobId, entry);
+
+        assertSame(entry, cache.get(jobId, credentials, OWNER));
+        assertNull(cache.get(secondJobId, credentials, OWNER));
+    }
+
+    private CredentialsCache.Entry newEntry(Credentials credentials, int version) {
+        return new CredentialsCache.Entry(credentials, OWNER, version, new CredData(OWNER, "pwd"));
+    }
+}
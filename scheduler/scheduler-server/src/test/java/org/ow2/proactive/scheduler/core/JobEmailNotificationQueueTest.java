@@ -0,0 +1,133 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+import org.ow2.proactive.scheduler.common.job.JobId;
+import org.ow2.proactive.scheduler.job.JobIdImpl;
+import org.ow2.tests.ProActiveTestClean;
+
+
+public class JobEmailNotificationQueueTest extends ProActiveTestClean {
+
+    private final JobId jobId = new JobIdImpl(42, "job");
+
+    private JobEmailNotificationQueue queue;
+
+    @After
+    public void tearDown() {
+        queue.shutdown();
+    }
+
+    @Test
+    public void notificationsAreDroppedWhenTheMailServerHangs() throws Exception {
+        queue = new JobEmailNotificationQueue(1, 0, 0);
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch mailServer = new CountDownLatch(1);
+        try {
+            assertTrue(queue.submit(jobId, new Runnable() {
+                @Override
+                public void run() {
+                    sending.countDown();
+                    awaitUninterruptibly(mailServer);
+                }
+            }));
+            assertTrue(sending.await(10, TimeUnit.SECONDS));
+
+            // the first notification is being sent, the second one waits in the queue
+            assertTrue(queue.submit(jobId, new NoOpSendAction()));
+            assertFalse(queue.submit(jobId, new NoOpSendAction()));
+            assertEquals(1, queue.getDroppedNotifications());
+        } finally {
+            mailServer.countDown();
+        }
+    }
+
+    @Test
+    public void failedNotificationsAreRetried() throws Exception {
+        queue = new JobEmailNotificationQueue(10, 2, 0);
+        final AtomicInteger attempts = new AtomicInteger();
+        final CountDownLatch sent = new CountDownLatch(1);
+
+        queue.submit(jobId, new Runnable() {
+            @Override
+            public void run() {
+                if (attempts.incrementAndGet() < 3) {
+                    throw new IllegalStateException("mail server unavailable");
+                }
+                sent.countDown();
+            }
+        });
+
+        assertTrue(sent.await(10, TimeUnit.SECONDS));
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void notificationsFailAfterTheLastAttempt() throws Exception {
+        queue = new JobEmailNotificationQueue(10, 1, 0);
+        final AtomicInteger attempts = new AtomicInteger();
+
+        queue.submit(jobId, new Runnable() {
+            @Override
+            public void run() {
+                attempts.incrementAndGet();
+                throw new IllegalStateException("mail server unavailable");
+            }
+        });
+
+        for (int i = 0; i < 100 && queue.getFailedNotifications() == 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(1, queue.getFailedNotifications());
+        assertEquals(0, queue.getSentNotifications());
+        assertEquals(2, attempts.get());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class NoOpSendAction implements Runnable {
+        @Override
+        public void run() {
+        }
+    }
+
+}
@@ -31,6 +31,7 @@ import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.contains;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
@@ -276,6 +277,30 @@ public class JobEmailNotificationTest extends ProActiveTestClean {
         verifyNoMoreInteractions(stubbedSender);
     }
 
+    @Test
+    public void testSimpleAsync() throws Exception {
+        InternalJob job = createJob(USER_EMAIL);
+        job.setStatus(JobStatus.FINISHED);
+        Map<String, String> genericInfo = job.getGenericInformation();
+        genericInfo.put("NOTIFICATION_EVENTS", "Job running to finished");
+        job.setGenericInformation(genericInfo);
+
+        JobEmailNotificationQueue queue = new JobEmailNotificationQueue(10, 0, 0);
+        try {
+            NotificationData<JobInfo> notification = getNotification(job, SchedulerEvent.JOB_RUNNING_TO_FINISHED);
+            boolean queued = new JobEmailNotification(job, notification, stubbedSender).checkAndSendAsync(queue);
+
+            // the status is read when the event is handled
+            job.setStatus(JobStatus.KILLED);
+
+            assertTrue(queued);
+            verify(stubbedSender, timeout(10000)).sender(eq(USER_EMAIL), anyString(), contains("Status: Finished"));
+            verifyNoMoreInteractions(stubbedSender);
+        } finally {
+            queue.shutdown();
+        }
+    }
+
     @Test
     public void testFinished() throws Exception {
         InternalJob job = createJob(USER_EMAIL);
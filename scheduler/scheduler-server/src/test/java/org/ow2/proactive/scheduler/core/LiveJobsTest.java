@@ -30,7 +30,9 @@ import static org.junit.Assert.assertThat;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -44,6 +46,7 @@ import org.mockito.stubbing.Answer;
 import org.objectweb.proactive.core.node.Node;
 import org.objectweb.proactive.core.node.NodeInformation;
 import org.objectweb.proactive.core.runtime.VMInformation;
+import org.ow2.proactive.scheduler.common.JobDescriptor;
 import org.ow2.proactive.scheduler.common.exception.UnknownJobException;
 import org.ow2.proactive.scheduler.common.exception.UnknownTaskException;
 import org.ow2.proactive.scheduler.common.job.JobId;
@@ -68,6 +71,8 @@ import org.ow2.proactive.scheduler.task.internal.InternalTask;
 import org.ow2.tests.ProActiveTestClean;
 import org.python.google.common.collect.ImmutableSet;
 
+import com.google.common.collect.ImmutableList;
+
 
 public class LiveJobsTest extends ProActiveTestClean {
 
@@ -352,6 +357,103 @@ public class LiveJobsTest extends ProActiveTestClean {
         assertThat(liveJobs.lockJobsToSchedule().size(), is(1));
     }
 
+    @Test(timeout = 60000)
+    public void testLockJobsWithEligibleTasks() {
+        InternalJob normalJob = submitJobWithOneTask(1L, JobPriority.NORMAL);
+        InternalJob highJob = submitJobWithOneTask(2L, JobPriority.HIGH);
+        InternalJob pausedJob = submitJobWithOneTask(3L, JobPriority.HIGHEST);
+        liveJobs.pauseJob(pausedJob.getId());
+
+        assertThat(liveJobs.getNumberOfJobsWithEligibleTasks(), is(2));
+
+        Map<JobId, JobDescriptor> jobsMap = liveJobs.lockJobsWithEligibleTasks();
+        assertThat(new ArrayList<>(jobsMap.keySet()), is((List<JobId>) ImmutableList.of(highJob.getId(),
+                                                                                         normalJob.getId())));
+        liveJobs.unlockJobsToSchedule(jobsMap.values());
+
+        liveJobs.resumeJob(pausedJob.getId());
+        liveJobs.changeJobPriority(normalJob.getId(), JobPriority.HIGHEST);
+
+        jobsMap = liveJobs.lockJobsWithEligibleTasks();
+        assertThat(new ArrayList<>(jobsMap.keySet()), is((List<JobId>) ImmutableList.of(normalJob.getId(),
+                                                                                         pausedJob.getId(),
+                                                                                         highJob.getId())));
+        liveJobs.unlockJobsToSchedule(jobsMap.values());
+    }
+
+    @Test(timeout = 60000)
+    public void testLockJobsWithEligibleTasksDoesNotReturnLowerPriorityJobsThanALockedOne() throws Exception {
+        final InternalJob highJob = submitJobWithOneTask(1L, JobPriority.HIGH);
+        submitJobWithOneTask(2L, JobPriority.NORMAL);
+
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        Thread lockingThread = new Thread() {
+            @Override
+            public void run() {
+                LiveJobs.JobData jobData = liveJobs.lockJob(highJob.getId());
+                locked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    jobData.unlock();
+                }
+            }
+        };
+        lockingThread.start();
+        locked.await();
+
+        assertThat(liveJobs.lockJobsWithEligibleTasks().isEmpty(), is(true));
+
+        release.countDown();
+        lockingThread.join();
+
+        Map<JobId, JobDescriptor> jobsMap = liveJobs.lockJobsWithEligibleTasks();
+        assertThat(jobsMap.size(), is(2));
+        liveJobs.unlockJobsToSchedule(jobsMap.values());
+    }
+
+    @Test(timeout = 60000)
+    public void testJobWithoutEligibleTasksIsNotIndexed() throws UnknownJobException, UnknownTaskException {
+        InternalJob job = submitJobWithOneTask(1L, JobPriority.NORMAL);
+
+        Map<JobId, JobDescriptor> jobsMap = liveJobs.lockJobsWithEligibleTasks();
+        assertThat(jobsMap.size(), is(1));
+        InternalTask task = job.getTask("task-name");
+        task.setExecuterInformation(Mockito.mock(ExecuterInformation.class));
+        liveJobs.taskStarted(job, task, null);
+        liveJobs.unlockJobsToSchedule(jobsMap.values());
+
+        assertThat(liveJobs.getNumberOfJobsWithEligibleTasks(), is(0));
+        assertThat(liveJobs.lockJobsWithEligibleTasks().isEmpty(), is(true));
+    }
+
+    @Test(timeout = 60000)
+    public void testRemovedJobIsNotIndexedAgainOnUnlock() {
+        InternalJob job = submitJobWithOneTask(1L, JobPriority.NORMAL);
+
+        LiveJobs.JobData jobData = liveJobs.lockJob(job.getId());
+        liveJobs.removeJob(job.getId());
+        jobData.unlock();
+
+        assertThat(liveJobs.getNumberOfJobsWithEligibleTasks(), is(0));
+        assertThat(liveJobs.lockJobsWithEligibleTasks().isEmpty(), is(true));
+    }
+
+    private InternalJob submitJobWithOneTask(long jobId, JobPriority priority) {
+        InternalJob job = new InternalTaskFlowJob("test-name", priority, OnTaskError.CANCEL_JOB, "description");
+        job.setId(new JobIdImpl(jobId, "test-name"));
+        List<InternalTask> tasksList = new ArrayList<>();
+        InternalTask internalTask = new InternalScriptTask(job);
+        internalTask.setName("task-name");
+        tasksList.add(internalTask);
+        job.setTasks(tasksList);
+        liveJobs.jobSubmitted(job);
+        return job;
+    }
+
     @Test(expected = IllegalStateException.class, timeout = 60000)
     public void testRestartTaskOnNodeFailureRunningExceptionExpectedBecauseNotLockedTask()
             throws UnknownJobException, UnknownTaskException {
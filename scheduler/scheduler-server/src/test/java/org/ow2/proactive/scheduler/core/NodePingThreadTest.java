@@ -0,0 +1,108 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.objectweb.proactive.core.node.Node;
+import org.objectweb.proactive.core.node.NodeInformation;
+import org.ow2.proactive.scheduler.common.job.JobId;
+import org.ow2.proactive.scheduler.common.job.JobPriority;
+import org.ow2.proactive.scheduler.common.task.OnTaskError;
+import org.ow2.proactive.scheduler.job.InternalJob;
+import org.ow2.proactive.scheduler.job.InternalTaskFlowJob;
+import org.ow2.proactive.scheduler.job.JobIdImpl;
+import org.ow2.proactive.scheduler.task.TaskIdImpl;
+import org.ow2.proactive.scheduler.task.TaskLauncher;
+import org.ow2.proactive.scheduler.task.internal.ExecuterInformation;
+import org.ow2.proactive.scheduler.task.internal.InternalScriptTask;
+import org.ow2.proactive.scheduler.task.internal.InternalTask;
+import org.ow2.proactive.utils.NodeSet;
+import org.ow2.tests.ProActiveTestClean;
+
+
+public class NodePingThreadTest extends ProActiveTestClean {
+
+    private final InternalJob job = new InternalTaskFlowJob("test-name",
+                                                            JobPriority.NORMAL,
+                                                            OnTaskError.CANCEL_JOB,
+                                                            "description");
+
+    private final JobId jobId = new JobIdImpl(666, "readableName");
+
+    private int taskId = 0;
+
+    @Test
+    public void testGroupByNode() {
+        Node node1 = createNode("rmi://host1/node1");
+        Node node2 = createNode("rmi://host1/node2");
+
+        RunningTaskData task1 = createRunningTask(node1);
+        RunningTaskData task2 = createRunningTask(node2);
+        RunningTaskData task3 = createRunningTask(node1);
+        RunningTaskData taskWithoutNode = createRunningTask(null);
+
+        Map<String, List<RunningTaskData>> tasksByNode = NodePingThread.groupByNode(Arrays.asList(task1,
+                                                                                                  task2,
+                                                                                                  task3,
+                                                                                                  taskWithoutNode));
+
+        assertThat(tasksByNode.size(), is(3));
+        assertThat(tasksByNode.get("rmi://host1/node1"), contains(task1, task3));
+        assertThat(tasksByNode.get("rmi://host1/node2"), contains(task2));
+        assertThat(tasksByNode.get(taskWithoutNode.getTask().getId().toString()), hasSize(1));
+    }
+
+    private Node createNode(String url) {
+        Node node = Mockito.mock(Node.class);
+        NodeInformation nodeInformation = Mockito.mock(NodeInformation.class);
+        Mockito.when(nodeInformation.getURL()).thenReturn(url);
+        Mockito.when(node.getNodeInformation()).thenReturn(nodeInformation);
+        return node;
+    }
+
+    private RunningTaskData createRunningTask(Node node) {
+        InternalTask internalTask = new InternalScriptTask(job);
+        internalTask.setId(TaskIdImpl.createTaskId(jobId, "task-name", taskId++));
+        TaskLauncher launcher = Mockito.mock(TaskLauncher.class);
+        if (node != null) {
+            NodeSet nodes = new NodeSet();
+            nodes.add(node);
+            internalTask.setExecuterInformation(new ExecuterInformation(launcher, nodes, "node", "host"));
+        }
+        return new RunningTaskData(internalTask, "user", null, launcher);
+    }
+
+}
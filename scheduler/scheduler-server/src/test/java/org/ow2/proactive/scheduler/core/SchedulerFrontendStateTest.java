@@ -26,10 +26,13 @@
 package org.ow2.proactive.scheduler.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.Vector;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -41,12 +44,16 @@ import java.util.concurrent.TimeoutException;
 
 import org.junit.Test;
 import org.objectweb.proactive.core.UniqueID;
+import org.ow2.proactive.scheduler.common.NotificationData;
+import org.ow2.proactive.scheduler.common.SchedulerEvent;
 import org.ow2.proactive.scheduler.common.job.JobState;
+import org.ow2.proactive.scheduler.common.task.TaskInfo;
 import org.ow2.proactive.scheduler.core.jmx.SchedulerJMXHelper;
 import org.ow2.proactive.scheduler.core.jmx.mbean.RuntimeDataMBeanImpl;
 import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
 import org.ow2.proactive.scheduler.job.ClientJobState;
 import org.ow2.proactive.scheduler.job.JobIdImpl;
+import org.ow2.proactive.scheduler.job.SchedulerUserInfo;
 import org.ow2.proactive.scheduler.job.UserIdentificationImpl;
 import org.ow2.tests.ProActiveTestClean;
 import org.python.google.common.collect.Lists;
@@ -114,4 +121,50 @@ public class SchedulerFrontendStateTest extends ProActiveTestClean {
         assertEquals(schedulerFrontendState.getIdentifiedJob(jobId).getJobId(), (jobId));
 
     }
+
+    @Test
+    public void queries_should_not_wait_for_task_events() throws Exception {
+        SchedulerJMXHelper mockJMX = mock(SchedulerJMXHelper.class);
+        when(mockJMX.getSchedulerRuntimeMBean()).thenReturn(new RuntimeDataMBeanImpl(null));
+
+        SchedulerStateImpl<ClientJobState> schedulerStateImpl = new SchedulerStateImpl<>();
+
+        JobIdImpl jobId = new JobIdImpl(1234L, "job name");
+
+        ClientJobState jobState = mock(ClientJobState.class);
+        when(jobState.getId()).thenReturn(jobId);
+        schedulerStateImpl.setRunningJobs(new Vector(Lists.newArrayList(jobState)));
+
+        final SchedulerFrontendState schedulerFrontendState = new SchedulerFrontendState(schedulerStateImpl, mockJMX);
+
+        TaskInfo taskInfo = mock(TaskInfo.class);
+        when(taskInfo.getJobId()).thenReturn(jobId);
+        final NotificationData<TaskInfo> notification = new NotificationData<>(SchedulerEvent.TASK_PROGRESS, taskInfo);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> taskEvent;
+            // block the task event while it is being applied to the job
+            synchronized (jobState) {
+                taskEvent = executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        schedulerFrontendState.taskStateUpdated("john", notification);
+                    }
+                });
+
+                Future<List<SchedulerUserInfo>> users = executor.submit(new Callable<List<SchedulerUserInfo>>() {
+                    @Override
+                    public List<SchedulerUserInfo> call() throws Exception {
+                        return schedulerFrontendState.getUsers();
+                    }
+                });
+                assertTrue(users.get(10, TimeUnit.SECONDS).isEmpty());
+                assertFalse(taskEvent.isDone());
+            }
+            taskEvent.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
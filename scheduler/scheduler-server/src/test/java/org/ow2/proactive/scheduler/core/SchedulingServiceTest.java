@@ -33,7 +33,9 @@ import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Vector;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -43,11 +45,16 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.objectweb.proactive.core.node.Node;
+import org.objectweb.proactive.core.node.NodeException;
+import org.objectweb.proactive.core.node.NodeInformation;
+import org.objectweb.proactive.core.runtime.VMInformation;
 import org.ow2.proactive.scheduler.common.SchedulerEvent;
 import org.ow2.proactive.scheduler.common.job.JobId;
 import org.ow2.proactive.scheduler.common.job.JobInfo;
 import org.ow2.proactive.scheduler.common.job.JobPriority;
 import org.ow2.proactive.scheduler.common.task.OnTaskError;
+import org.ow2.proactive.scheduler.common.task.TaskStatus;
 import org.ow2.proactive.scheduler.core.db.RecoveredSchedulerState;
 import org.ow2.proactive.scheduler.core.db.SchedulerDBManager;
 import org.ow2.proactive.scheduler.core.rmproxies.RMProxiesManager;
@@ -56,6 +63,9 @@ import org.ow2.proactive.scheduler.job.InternalTaskFlowJob;
 import org.ow2.proactive.scheduler.job.JobIdImpl;
 import org.ow2.proactive.scheduler.job.JobInfoImpl;
 import org.ow2.proactive.scheduler.policy.DefaultPolicy;
+import org.ow2.proactive.scheduler.task.TaskIdImpl;
+import org.ow2.proactive.scheduler.task.TaskLauncher;
+import org.ow2.proactive.scheduler.task.internal.ExecuterInformation;
 import org.ow2.proactive.scheduler.task.internal.InternalScriptTask;
 import org.ow2.proactive.scheduler.task.internal.InternalTask;
 import org.ow2.tests.ProActiveTestClean;
@@ -320,6 +330,49 @@ public class SchedulingServiceTest extends ProActiveTestClean {
         Mockito.verify(executorService, Mockito.times(1)).submit(any(Runnable.class));
     }
 
+    @Test
+    public void testGetProgressAndPingTaskNodeWhenNodeIsDown() throws Exception {
+        Node node = Mockito.mock(Node.class);
+        Mockito.when(node.getNodeInformation()).thenReturn(Mockito.mock(NodeInformation.class));
+        Mockito.when(node.getVMInformation()).thenReturn(Mockito.mock(VMInformation.class));
+        Mockito.when(node.getNumberOfActiveObjects()).thenThrow(new NodeException("node is down"));
+        TaskLauncher launcher = Mockito.mock(TaskLauncher.class);
+        Mockito.when(launcher.getProgressOfTasksOnNode()).thenThrow(new RuntimeException("launcher is down"));
+        Mockito.when(launcher.getProgress()).thenThrow(new RuntimeException("launcher is down"));
+
+        InternalJob job = new InternalTaskFlowJob("test-name",
+                                                  JobPriority.NORMAL,
+                                                  OnTaskError.CANCEL_JOB,
+                                                  "description");
+        job.setId(JobIdImpl.makeJobId("42"));
+        List<InternalTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            InternalTask task = new InternalScriptTask(job);
+            task.setId(TaskIdImpl.createTaskId(job.getId(), "task-" + i, i));
+            task.setName("task-" + i);
+            task.setStatus(TaskStatus.RUNNING);
+            task.setExecuterInformation(new ExecuterInformation(launcher, node));
+            tasks.add(task);
+        }
+        job.setTasks(tasks);
+
+        LiveJobs jobs = schedulingService.getJobs();
+        jobs.jobSubmitted(job);
+        jobs.lockJobsToSchedule();
+        for (InternalTask task : tasks) {
+            jobs.taskStarted(job, task, launcher);
+        }
+
+        schedulingService.getProgressAndPingTaskNode(new ArrayList<>(jobs.getRunningTasks()));
+
+        Mockito.verify(launcher, Mockito.times(1)).getProgressOfTasksOnNode();
+        Mockito.verify(node, Mockito.times(1)).getNumberOfActiveObjects();
+        assertThat(jobs.getRunningTasks().size(), is(2));
+        for (RunningTaskData taskData : jobs.getRunningTasks()) {
+            assertThat(taskData.getPingAttempts(), is(1));
+        }
+    }
+
     @Test
     public void testScheduleJobRemoveShouldUseHousekeepingButAlreadyRemoved() {
         Mockito.when(schedulerDBManager.loadJobWithTasksIfNotRemoved(any(JobId.class)))
@@ -0,0 +1,159 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.ow2.proactive.scheduler.common.SchedulerStatus;
+import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
+import org.ow2.tests.ProActiveTestClean;
+
+
+public class SchedulingThreadTest extends ProActiveTestClean {
+
+    private static final long MAX_WAKE_UP_LATENCY = 2000;
+
+    private SchedulingThread schedulingThread;
+
+    @Mock
+    private SchedulingService service;
+
+    @Mock
+    private SchedulingMethod schedulingMethod;
+
+    private final AtomicInteger passes = new AtomicInteger();
+
+    private static String previousTimeout;
+
+    @BeforeClass
+    public static void setTimeout() {
+        previousTimeout = PASchedulerProperties.SCHEDULER_TIME_OUT.getValueAsString();
+        // make the fallback polling much slower than an event-driven wake up
+        PASchedulerProperties.SCHEDULER_TIME_OUT.updateProperty("10000");
+    }
+
+    @AfterClass
+    public static void restoreTimeout() {
+        PASchedulerProperties.SCHEDULER_TIME_OUT.updateProperty(previousTimeout);
+    }
+
+    @Before
+    public void init() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        service.status = SchedulerStatus.STARTED;
+        schedulingThread = new SchedulingThread(schedulingMethod, service);
+
+        Mockito.doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                schedulingThread.sleepSchedulingThread();
+                return null;
+            }
+        }).when(service).sleepSchedulingThread();
+    }
+
+    @After
+    public void stopThread() throws InterruptedException {
+        schedulingThread.interrupt();
+        schedulingThread.join(MAX_WAKE_UP_LATENCY);
+    }
+
+    @Test
+    public void testWakeUpStartsSchedulingPass() throws Exception {
+        final CountDownLatch firstPass = new CountDownLatch(1);
+        final CountDownLatch secondPass = new CountDownLatch(2);
+        Mockito.when(schedulingMethod.schedule()).thenAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocation) throws Throwable {
+                passes.incrementAndGet();
+                firstPass.countDown();
+                secondPass.countDown();
+                return 0;
+            }
+        });
+
+        schedulingThread.start();
+        assertTrue(firstPass.await(MAX_WAKE_UP_LATENCY, TimeUnit.MILLISECONDS));
+        // let the thread go back to sleep
+        Thread.sleep(100);
+
+        long submitTime = System.currentTimeMillis();
+        schedulingThread.wakeUpSchedulingThread();
+        assertTrue(secondPass.await(MAX_WAKE_UP_LATENCY, TimeUnit.MILLISECONDS));
+        long latency = System.currentTimeMillis() - submitTime;
+
+        assertThat(latency, lessThan(MAX_WAKE_UP_LATENCY));
+    }
+
+    @Test
+    public void testSignalsDuringPassAreCoalescedIntoOnePass() throws Exception {
+        final CountDownLatch passStarted = new CountDownLatch(1);
+        final CountDownLatch releasePass = new CountDownLatch(1);
+        final CountDownLatch secondPass = new CountDownLatch(2);
+        Mockito.when(schedulingMethod.schedule()).thenAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocation) throws Throwable {
+                if (passes.incrementAndGet() == 1) {
+                    passStarted.countDown();
+                    releasePass.await();
+                }
+                secondPass.countDown();
+                return 0;
+            }
+        });
+
+        schedulingThread.start();
+        assertTrue(passStarted.await(MAX_WAKE_UP_LATENCY, TimeUnit.MILLISECONDS));
+        for (int i = 0; i < 10; i++) {
+            schedulingThread.wakeUpSchedulingThread();
+        }
+        releasePass.countDown();
+
+        // signals received while the first pass was running must not be lost...
+        assertTrue(secondPass.await(MAX_WAKE_UP_LATENCY, TimeUnit.MILLISECONDS));
+        Thread.sleep(500);
+        // ...and must only trigger a single new pass
+        assertThat(passes.get(), is(2));
+    }
+
+}
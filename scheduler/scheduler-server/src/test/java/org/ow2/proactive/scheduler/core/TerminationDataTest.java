@@ -47,6 +47,7 @@ import org.ow2.proactive.scheduler.core.rmproxies.RMProxyCreationException;
 import org.ow2.proactive.scheduler.job.InternalJob;
 import org.ow2.proactive.scheduler.job.InternalTaskFlowJob;
 import org.ow2.proactive.scheduler.job.JobIdImpl;
+import org.ow2.proactive.scheduler.policy.Policy;
 import org.ow2.proactive.scheduler.task.TaskIdImpl;
 import org.ow2.proactive.scheduler.task.TaskLauncher;
 import org.ow2.proactive.scheduler.task.internal.ExecuterInformation;
@@ -76,12 +77,16 @@ public class TerminationDataTest extends ProActiveTestClean {
     @Mock
     private RMProxy rmProxy;
 
+    @Mock
+    private Policy policy;
+
     @Before
     public void init() throws RMProxyCreationException {
         MockitoAnnotations.initMocks(this);
         Mockito.when(service.getInfrastructure()).thenReturn(schedulingInfrastructure);
         Mockito.when(schedulingInfrastructure.getRMProxiesManager()).thenReturn(proxiesManager);
         Mockito.when(proxiesManager.getUserRMProxy("user", null)).thenReturn(rmProxy);
+        Mockito.when(service.getPolicy()).thenReturn(policy);
 
         terminationData = TerminationData.newTerminationData();
     }
@@ -193,6 +198,7 @@ public class TerminationDataTest extends ProActiveTestClean {
                                                                Mockito.any(VariablesMap.class),
                                                                Mockito.any(HashMap.class),
                                                                Mockito.any(TaskId.class));
+        Mockito.verify(policy, Mockito.times(1)).taskTerminated(taskId);
 
     }
 
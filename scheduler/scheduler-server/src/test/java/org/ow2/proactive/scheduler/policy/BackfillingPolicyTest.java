@@ -0,0 +1,234 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.policy;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.resourcemanager.common.RMState;
+import org.ow2.proactive.scheduler.common.JobDescriptor;
+import org.ow2.proactive.scheduler.common.job.JobPriority;
+import org.ow2.proactive.scheduler.common.task.OnTaskError;
+import org.ow2.proactive.scheduler.common.task.ParallelEnvironment;
+import org.ow2.proactive.scheduler.common.task.TaskStatus;
+import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor;
+import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptorImpl;
+import org.ow2.proactive.scheduler.descriptor.JobDescriptorImpl;
+import org.ow2.proactive.scheduler.job.InternalTaskFlowJob;
+import org.ow2.proactive.scheduler.job.JobIdImpl;
+import org.ow2.proactive.scheduler.task.internal.InternalScriptTask;
+import org.ow2.proactive.scheduler.task.internal.InternalTask;
+import org.ow2.proactive.utils.NodeSet;
+import org.ow2.tests.ProActiveTestClean;
+
+
+public class BackfillingPolicyTest extends ProActiveTestClean {
+
+    private static final long MINUTE = 60 * 1000;
+
+    private int jobId;
+
+    private long now;
+
+    private RMState rmState;
+
+    private BackfillingPolicy policy;
+
+    @Before
+    public void setUp() {
+        now = 0;
+        rmState = mock(RMState.class);
+        policy = new BackfillingPolicy() {
+            @Override
+            protected long currentTime() {
+                return now;
+            }
+        };
+        policy.setRMState(rmState);
+    }
+
+    @Test
+    public void default_ordering_without_rm_state() throws Exception {
+        policy.setRMState(null);
+        JobDescriptorImpl multiNodeJob = createSingleTaskJob(4, 0);
+        JobDescriptorImpl job = createSingleTaskJob(1, 0);
+
+        LinkedList<EligibleTaskDescriptor> orderedTasks = policy.getOrderedTasks(submitJobs(multiNodeJob, job));
+
+        assertEquals(2, orderedTasks.size());
+    }
+
+    @Test
+    public void default_ordering_when_end_of_running_tasks_is_unknown() throws Exception {
+        when(rmState.getFreeNodesNumber()).thenReturn(2);
+        JobDescriptorImpl multiNodeJob = createSingleTaskJob(4, 0);
+        JobDescriptorImpl job1 = createSingleTaskJob(1, 0);
+        JobDescriptorImpl job2 = createSingleTaskJob(1, 0);
+
+        LinkedList<EligibleTaskDescriptor> orderedTasks = policy.getOrderedTasks(submitJobs(multiNodeJob,
+                                                                                            job1,
+                                                                                            job2));
+
+        assertEquals(3, orderedTasks.size());
+    }
+
+    @Test
+    public void only_tasks_ending_before_reservation_are_backfilled() throws Exception {
+        startTask(2, 10 * MINUTE);
+        when(rmState.getFreeNodesNumber()).thenReturn(2);
+
+        JobDescriptorImpl multiNodeJob = createSingleTaskJob(4, 0);
+        JobDescriptorImpl shortJob = createSingleTaskJob(1, 5 * MINUTE);
+        JobDescriptorImpl longJob = createSingleTaskJob(1, 20 * MINUTE);
+        JobDescriptorImpl jobWithoutWalltime = createSingleTaskJob(1, 0);
+
+        LinkedList<EligibleTaskDescriptor> orderedTasks = policy.getOrderedTasks(submitJobs(multiNodeJob,
+                                                                                            shortJob,
+                                                                                            longJob,
+                                                                                            jobWithoutWalltime));
+
+        assertEquals(2, orderedTasks.size());
+        assertEquals(multiNodeJob.getJobId(), orderedTasks.get(0).getJobId());
+        assertEquals(shortJob.getJobId(), orderedTasks.get(1).getJobId());
+    }
+
+    @Test
+    public void extra_nodes_at_reservation_time_can_be_used() throws Exception {
+        startTask(2, 10 * MINUTE);
+        when(rmState.getFreeNodesNumber()).thenReturn(2);
+
+        JobDescriptorImpl multiNodeJob = createSingleTaskJob(3, 0);
+        JobDescriptorImpl longJob = createSingleTaskJob(1, 20 * MINUTE);
+        JobDescriptorImpl jobWithoutWalltime = createSingleTaskJob(1, 0);
+
+        LinkedList<EligibleTaskDescriptor> orderedTasks = policy.getOrderedTasks(submitJobs(multiNodeJob,
+                                                                                            longJob,
+                                                                                            jobWithoutWalltime));
+
+        assertEquals(2, orderedTasks.size());
+        assertEquals(multiNodeJob.getJobId(), orderedTasks.get(0).getJobId());
+        assertEquals(longJob.getJobId(), orderedTasks.get(1).getJobId());
+    }
+
+    @Test
+    public void tasks_fitting_in_free_nodes_are_not_restricted() throws Exception {
+        when(rmState.getFreeNodesNumber()).thenReturn(4);
+
+        JobDescriptorImpl job1 = createSingleTaskJob(2, 0);
+        JobDescriptorImpl job2 = createSingleTaskJob(2, 0);
+
+        LinkedList<EligibleTaskDescriptor> orderedTasks = policy.getOrderedTasks(submitJobs(job1, job2));
+
+        assertEquals(2, orderedTasks.size());
+    }
+
+    @Test
+    public void terminated_tasks_are_not_used_for_reservations() throws Exception {
+        InternalTask runningTask = startTask(2, 10 * MINUTE);
+        runningTask.setStatus(TaskStatus.FINISHED);
+        when(rmState.getFreeNodesNumber()).thenReturn(2);
+
+        JobDescriptorImpl multiNodeJob = createSingleTaskJob(4, 0);
+        JobDescriptorImpl longJob = createSingleTaskJob(1, 20 * MINUTE);
+
+        LinkedList<EligibleTaskDescriptor> orderedTasks = policy.getOrderedTasks(submitJobs(multiNodeJob,
+                                                                                            longJob));
+
+        assertEquals(2, orderedTasks.size());
+    }
+
+    @Test
+    public void tasks_not_started_are_not_used_for_reservations() throws Exception {
+        InternalTask acceptedTask = startTask(2, 10 * MINUTE);
+        policy.taskTerminated(acceptedTask.getId());
+        when(rmState.getFreeNodesNumber()).thenReturn(2);
+
+        JobDescriptorImpl multiNodeJob = createSingleTaskJob(4, 0);
+        JobDescriptorImpl longJob = createSingleTaskJob(1, 20 * MINUTE);
+
+        LinkedList<EligibleTaskDescriptor> orderedTasks = policy.getOrderedTasks(submitJobs(multiNodeJob,
+                                                                                            longJob));
+
+        assertEquals(2, orderedTasks.size());
+    }
+
+    @Test
+    public void reservation_is_moved_when_time_passes() throws Exception {
+        startTask(2, 10 * MINUTE);
+        startTask(2, 30 * MINUTE);
+        when(rmState.getFreeNodesNumber()).thenReturn(1);
+
+        JobDescriptorImpl multiNodeJob = createSingleTaskJob(3, 0);
+        JobDescriptorImpl job = createSingleTaskJob(1, 15 * MINUTE);
+
+        assertEquals(1, policy.getOrderedTasks(submitJobs(multiNodeJob, job)).size());
+
+        // first running task went over its walltime, reservation now relies on the second one
+        now = 11 * MINUTE;
+        assertEquals(2, policy.getOrderedTasks(submitJobs(multiNodeJob, job)).size());
+    }
+
+    private InternalTask startTask(int nodes, long walltime) {
+        JobDescriptorImpl job = createSingleTaskJob(nodes, walltime);
+        EligibleTaskDescriptor task = (EligibleTaskDescriptor) job.getEligibleTasks().iterator().next();
+        ((EligibleTaskDescriptorImpl) task).getInternal().setStatus(TaskStatus.RUNNING);
+        policy.isTaskExecutable(new NodeSet(), task);
+        return ((EligibleTaskDescriptorImpl) task).getInternal();
+    }
+
+    private JobDescriptorImpl createSingleTaskJob(int nodes, long walltime) {
+        InternalTaskFlowJob taskFlowJob = new InternalTaskFlowJob("test",
+                                                                  JobPriority.NORMAL,
+                                                                  OnTaskError.CANCEL_JOB,
+                                                                  "");
+        taskFlowJob.setId(JobIdImpl.makeJobId(Integer.toString(jobId++)));
+        InternalTask task = new InternalScriptTask(taskFlowJob);
+        if (nodes > 1) {
+            task.setParallelEnvironment(new ParallelEnvironment(nodes));
+        }
+        if (walltime > 0) {
+            task.setWallTime(walltime);
+        }
+        ArrayList<InternalTask> tasks = new ArrayList<>();
+        tasks.add(task);
+        taskFlowJob.addTasks(tasks);
+        return new JobDescriptorImpl(taskFlowJob);
+    }
+
+    private List<JobDescriptor> submitJobs(JobDescriptorImpl... jobs) {
+        List<JobDescriptor> submittedJobs = new ArrayList<>();
+        Collections.addAll(submittedJobs, jobs);
+        return submittedJobs;
+    }
+}
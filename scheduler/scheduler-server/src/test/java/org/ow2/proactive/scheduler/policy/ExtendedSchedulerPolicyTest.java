@@ -33,10 +33,13 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.ow2.proactive.scheduler.common.JobDescriptor;
+import org.ow2.proactive.scheduler.common.TaskDescriptor;
 import org.ow2.proactive.scheduler.common.job.JobPriority;
 import org.ow2.proactive.scheduler.common.task.OnTaskError;
 import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor;
@@ -161,6 +164,65 @@ public class ExtendedSchedulerPolicyTest extends ProActiveTestClean {
         assertTrue(orderedTasks != null && orderedTasks.size() == 2);
     }
 
+    @Test
+    public void testTaskStartLaterIsStillDeferredOnNextCycle() {
+        List<JobDescriptor> jobDescList = asModifiableList(createJobDescWithTwoTasks(null, later, null));
+        assertEquals(1, policy.getOrderedTasks(jobDescList).size());
+        assertEquals(1, policy.getOrderedTasks(jobDescList).size());
+    }
+
+    @Test
+    public void testChangedStartAtIsParsedAgain() {
+        JobDescriptor jobDesc = createJobDescWithTwoTasks(null, later, null);
+        List<JobDescriptor> jobDescList = asModifiableList(jobDesc);
+        assertEquals(1, policy.getOrderedTasks(jobDescList).size());
+
+        for (TaskDescriptor taskDesc : jobDesc.getEligibleTasks()) {
+            if (later.equals(startAtValue((EligibleTaskDescriptor) taskDesc))) {
+                InternalTask task = ((EligibleTaskDescriptorImpl) taskDesc).getInternal();
+                task.addGenericInformation("START_AT", now);
+                task.setScheduledTime(ISO8601DateUtil.toDate(now).getTime());
+            }
+        }
+        assertEquals(2, policy.getOrderedTasks(jobDescList).size());
+    }
+
+    @Test
+    public void testDeferredTasksAreForgottenWhenJobTerminates() {
+        JobDescriptor jobDesc = createJobDescWithTwoTasks(null, later, null);
+        List<JobDescriptor> jobDescList = asModifiableList(jobDesc);
+        assertEquals(1, policy.getOrderedTasks(jobDescList).size());
+
+        for (TaskDescriptor taskDesc : jobDesc.getEligibleTasks()) {
+            if (later.equals(startAtValue((EligibleTaskDescriptor) taskDesc))) {
+                ((EligibleTaskDescriptorImpl) taskDesc).getInternal().addGenericInformation("START_AT", now);
+            }
+        }
+        // the scheduled time is unchanged, the task is still deferred
+        assertEquals(1, policy.getOrderedTasks(jobDescList).size());
+
+        policy.jobTerminated(jobDesc.getJobId());
+        assertEquals(2, policy.getOrderedTasks(jobDescList).size());
+    }
+
+    @Test
+    public void testWakeUpWhenTaskCanStart() throws Exception {
+        final CountDownLatch wakeUp = new CountDownLatch(1);
+        policy.setWakeUpAction(new Runnable() {
+            @Override
+            public void run() {
+                wakeUp.countDown();
+            }
+        });
+        String soon = ISO8601DateUtil.parse(new Date(System.currentTimeMillis() + 2000));
+        List<JobDescriptor> jobDescList = asModifiableList(createJobDescWithTwoTasks(null, soon, null));
+
+        assertEquals(1, policy.getOrderedTasks(jobDescList).size());
+
+        assertTrue(wakeUp.await(30, TimeUnit.SECONDS));
+        assertEquals(2, policy.getOrderedTasks(jobDescList).size());
+    }
+
     @Test
     public void job_with_same_priorities() throws Exception {
         JobDescriptor job1 = createJobDescWithTwoTasks(null, null, null);
@@ -0,0 +1,168 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.policy;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.scheduler.common.JobDescriptor;
+import org.ow2.proactive.scheduler.common.job.JobPriority;
+import org.ow2.proactive.scheduler.common.task.OnTaskError;
+import org.ow2.proactive.scheduler.common.task.TaskStatus;
+import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor;
+import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptorImpl;
+import org.ow2.proactive.scheduler.descriptor.JobDescriptorImpl;
+import org.ow2.proactive.scheduler.job.InternalTaskFlowJob;
+import org.ow2.proactive.scheduler.job.JobIdImpl;
+import org.ow2.proactive.scheduler.task.internal.InternalScriptTask;
+import org.ow2.proactive.scheduler.task.internal.InternalTask;
+import org.ow2.proactive.utils.NodeSet;
+import org.ow2.tests.ProActiveTestClean;
+
+
+public class ShortestExpectedJobFirstPolicyTest extends ProActiveTestClean {
+
+    private static final long MINUTE = 60 * 1000;
+
+    private int jobId;
+
+    private long now;
+
+    private ShortestExpectedJobFirstPolicy policy;
+
+    @Before
+    public void setUp() {
+        now = 0;
+        policy = new ShortestExpectedJobFirstPolicy() {
+            @Override
+            protected long currentTime() {
+                return now;
+            }
+        };
+        final Map<String, Map<String, Double>> meanRunningTimes = new HashMap<>();
+        meanRunningTimes.put("long", Collections.singletonMap("task", (double) (10 * MINUTE)));
+        meanRunningTimes.put("short", Collections.singletonMap("task", (double) MINUTE));
+        policy.init(new PolicyContext() {
+            @Override
+            public void wakeUpSchedulingThread() {
+            }
+
+            @Override
+            public Map<String, Map<String, Double>> getMeanTaskRunningTimes() {
+                return meanRunningTimes;
+            }
+        });
+    }
+
+    @Test
+    public void short_tasks_are_started_first() throws Exception {
+        JobDescriptorImpl longJob = createSingleTaskJob("long", JobPriority.NORMAL, 0);
+        JobDescriptorImpl shortJob = createSingleTaskJob("short", JobPriority.NORMAL, 0);
+
+        LinkedList<EligibleTaskDescriptor> orderedTasks = policy.getOrderedTasks(submitJobs(longJob, shortJob));
+
+        assertEquals(shortJob.getJobId(), orderedTasks.get(0).getJobId());
+        assertEquals(longJob.getJobId(), orderedTasks.get(1).getJobId());
+    }
+
+    @Test
+    public void tasks_without_history_keep_fifo_order() throws Exception {
+        JobDescriptorImpl job1 = createSingleTaskJob("unknown", JobPriority.NORMAL, 0);
+        JobDescriptorImpl job2 = createSingleTaskJob("unknown", JobPriority.NORMAL, 0);
+
+        LinkedList<EligibleTaskDescriptor> orderedTasks = policy.getOrderedTasks(submitJobs(job2, job1));
+
+        assertEquals(job1.getJobId(), orderedTasks.get(0).getJobId());
+        assertEquals(job2.getJobId(), orderedTasks.get(1).getJobId());
+    }
+
+    @Test
+    public void priority_is_respected() throws Exception {
+        JobDescriptorImpl longJob = createSingleTaskJob("long", JobPriority.HIGH, 0);
+        JobDescriptorImpl shortJob = createSingleTaskJob("short", JobPriority.NORMAL, 0);
+
+        LinkedList<EligibleTaskDescriptor> orderedTasks = policy.getOrderedTasks(submitJobs(shortJob, longJob));
+
+        assertEquals(longJob.getJobId(), orderedTasks.get(0).getJobId());
+        assertEquals(shortJob.getJobId(), orderedTasks.get(1).getJobId());
+    }
+
+    @Test
+    public void long_tasks_waiting_for_long_are_started_first() throws Exception {
+        JobDescriptorImpl longJob = createSingleTaskJob("long", JobPriority.NORMAL, 0);
+        now = 20 * MINUTE;
+        JobDescriptorImpl shortJob = createSingleTaskJob("short", JobPriority.NORMAL, now);
+
+        LinkedList<EligibleTaskDescriptor> orderedTasks = policy.getOrderedTasks(submitJobs(longJob, shortJob));
+
+        assertEquals(longJob.getJobId(), orderedTasks.get(0).getJobId());
+        assertEquals(shortJob.getJobId(), orderedTasks.get(1).getJobId());
+    }
+
+    @Test
+    public void running_time_of_started_tasks_is_learned() throws Exception {
+        JobDescriptorImpl job = createSingleTaskJob("unknown", JobPriority.NORMAL, 0);
+        EligibleTaskDescriptor task = (EligibleTaskDescriptor) job.getEligibleTasks().iterator().next();
+        InternalTask internalTask = ((EligibleTaskDescriptorImpl) task).getInternal();
+        policy.isTaskExecutable(new NodeSet(), task);
+
+        internalTask.setStatus(TaskStatus.RUNNING);
+        internalTask.setStartTime(MINUTE);
+        policy.getOrderedTasks(submitJobs());
+        assertEquals(0, policy.getExpectedRunningTime("unknown", "task"), 0);
+
+        internalTask.setStatus(TaskStatus.FINISHED);
+        internalTask.setFinishedTime(3 * MINUTE);
+        policy.getOrderedTasks(submitJobs());
+        assertEquals(2 * MINUTE, policy.getExpectedRunningTime("unknown", "task"), 0);
+    }
+
+    private JobDescriptorImpl createSingleTaskJob(String name, JobPriority priority, long submittedTime) {
+        InternalTaskFlowJob taskFlowJob = new InternalTaskFlowJob(name, priority, OnTaskError.CANCEL_JOB, "");
+        taskFlowJob.setId(new JobIdImpl(jobId++, name));
+        taskFlowJob.setSubmittedTime(submittedTime);
+        InternalTask task = new InternalScriptTask(taskFlowJob);
+        task.setName("task");
+        ArrayList<InternalTask> tasks = new ArrayList<>();
+        tasks.add(task);
+        taskFlowJob.addTasks(tasks);
+        return new JobDescriptorImpl(taskFlowJob);
+    }
+
+    private List<JobDescriptor> submitJobs(JobDescriptorImpl... jobs) {
+        List<JobDescriptor> submittedJobs = new ArrayList<>();
+        Collections.addAll(submittedJobs, jobs);
+        return submittedJobs;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.policy.license;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.ow2.proactive.scheduler.common.JobDescriptor;
+import org.ow2.proactive.scheduler.common.job.JobPriority;
+import org.ow2.proactive.scheduler.common.task.OnTaskError;
+import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
+import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor;
+import org.ow2.proactive.scheduler.descriptor.JobDescriptorImpl;
+import org.ow2.proactive.scheduler.job.InternalTaskFlowJob;
+import org.ow2.proactive.scheduler.job.JobIdImpl;
+import org.ow2.proactive.scheduler.task.internal.InternalScriptTask;
+import org.ow2.proactive.scheduler.task.internal.InternalTask;
+import org.ow2.tests.ProActiveTestClean;
+
+
+/**
+ * Unit tests for LicenseSchedulingPolicy class.
+ */
+public class LicenseSchedulingPolicyTest extends ProActiveTestClean {
+
+    private LicenseSchedulingPolicy policy;
+
+    private int jobId = 0;
+
+    @BeforeClass
+    public static void setUpLicenses() throws IOException {
+        File configuration = File.createTempFile("licenses", ".properties");
+        configuration.deleteOnExit();
+        try (FileWriter writer = new FileWriter(configuration)) {
+            writer.write("software_a=2\n");
+        }
+        PASchedulerProperties.LICENSE_SCHEDULING_POLICY_CONFIGURATION.updateProperty(configuration.getAbsolutePath());
+    }
+
+    @Before
+    public void setUp() {
+        policy = new LicenseSchedulingPolicy();
+    }
+
+    @Test
+    public void testTasksWithoutAvailableLicenseAreNotReturned() {
+        List<JobDescriptor> jobDescList = Collections.singletonList(createJobDesc(3, "software_a"));
+        assertEquals(2, policy.getOrderedTasks(jobDescList).size());
+    }
+
+    @Test
+    public void testTasksRequiringUnknownLicenseAreNotReturned() {
+        List<JobDescriptor> jobDescList = Collections.singletonList(createJobDesc(1, "software_a,software_b"));
+        assertTrue(policy.getOrderedTasks(jobDescList).isEmpty());
+    }
+
+    @Test
+    public void testLicensesAreGivenBackWhenTasksTerminate() {
+        List<JobDescriptor> jobDescList = Collections.singletonList(createJobDesc(3, "software_a"));
+        LinkedList<EligibleTaskDescriptor> orderedTasks = policy.getOrderedTasks(jobDescList);
+
+        EligibleTaskDescriptor first = orderedTasks.get(0);
+        EligibleTaskDescriptor second = orderedTasks.get(1);
+        assertTrue(policy.isTaskExecutable(null, first));
+        assertTrue(policy.isTaskExecutable(null, second));
+        assertTrue(policy.getOrderedTasks(jobDescList).isEmpty());
+
+        policy.taskTerminated(first.getTaskId());
+        assertEquals(1, policy.getOrderedTasks(jobDescList).size());
+
+        policy.taskTerminated(second.getTaskId());
+        assertEquals(2, policy.getOrderedTasks(jobDescList).size());
+    }
+
+    @Test
+    public void testTaskAcceptedTwiceUsesItsLicensesOnce() {
+        List<JobDescriptor> jobDescList = Collections.singletonList(createJobDesc(3, "software_a"));
+        LinkedList<EligibleTaskDescriptor> orderedTasks = policy.getOrderedTasks(jobDescList);
+
+        EligibleTaskDescriptor first = orderedTasks.get(0);
+        EligibleTaskDescriptor second = orderedTasks.get(1);
+        assertTrue(policy.isTaskExecutable(null, first));
+        assertTrue(policy.isTaskExecutable(null, first));
+        assertTrue(policy.isTaskExecutable(null, second));
+
+        policy.taskTerminated(first.getTaskId());
+        policy.taskTerminated(second.getTaskId());
+        assertEquals(2, policy.getOrderedTasks(jobDescList).size());
+    }
+
+    @Test
+    public void testTaskIsNotExecutableWhenLicensesAreUsed() {
+        List<JobDescriptor> jobDescList = Collections.singletonList(createJobDesc(3, "software_a"));
+        LinkedList<EligibleTaskDescriptor> orderedTasks = policy.getOrderedTasks(jobDescList);
+        EligibleTaskDescriptor first = orderedTasks.get(0);
+        EligibleTaskDescriptor second = orderedTasks.get(1);
+        assertTrue(policy.isTaskExecutable(null, first));
+
+        // another policy instance shares the same licenses
+        LicenseSchedulingPolicy otherPolicy = new LicenseSchedulingPolicy();
+        EligibleTaskDescriptor other = otherPolicy.getOrderedTasks(Collections.singletonList(createJobDesc(1,
+                                                                                                            "software_a")))
+                                                  .get(0);
+        assertTrue(otherPolicy.isTaskExecutable(null, other));
+        assertFalse(policy.isTaskExecutable(null, second));
+
+        policy.taskTerminated(first.getTaskId());
+        otherPolicy.taskTerminated(other.getTaskId());
+    }
+
+    private JobDescriptor createJobDesc(int numberOfTasks, String requiredLicenses) {
+        InternalTaskFlowJob taskFlowJob = new InternalTaskFlowJob("test",
+                                                                  JobPriority.NORMAL,
+                                                                  OnTaskError.CANCEL_JOB,
+                                                                  "");
+        taskFlowJob.setId(JobIdImpl.makeJobId(Integer.toString(jobId++)));
+
+        ArrayList<InternalTask> tasks = new ArrayList<>();
+        for (int i = 0; i < numberOfTasks; i++) {
+            InternalScriptTask task = new InternalScriptTask(taskFlowJob);
+            task.addGenericInformation("REQUIRED_LICENSES", requiredLicenses);
+            tasks.add(task);
+        }
+        taskFlowJob.addTasks(tasks);
+
+        return new JobDescriptorImpl(taskFlowJob);
+    }
+
+}
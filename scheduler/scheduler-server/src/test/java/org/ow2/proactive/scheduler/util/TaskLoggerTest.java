@@ -26,6 +26,7 @@
 package org.ow2.proactive.scheduler.util;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -79,4 +80,40 @@ public class TaskLoggerTest extends ProActiveTestClean {
         assertTrue(FileUtils.readFileToString(logFile, Charset.defaultCharset()).contains("HelloWorld"));
 
     }
+
+    @Test
+    public void testFileAppenderKeepsEventsOfReopenedFiles() throws IOException {
+        JobId jobId = new JobIdImpl(1123, "readableName");
+        TaskId taskId1 = TaskIdImpl.createTaskId(jobId, "task1", 1);
+        TaskId taskId2 = TaskIdImpl.createTaskId(jobId, "task2", 2);
+
+        FileAppender appender = new FileAppender();
+        appender.setMaxOpenFiles(1);
+        File logFolder = folder.newFolder("logs");
+        appender.setFilesLocation(logFolder.getAbsolutePath());
+
+        appender.append(TaskLogger.getTaskLogRelativePath(taskId1), createEvent("first"));
+        // evicts the first file
+        appender.append(TaskLogger.getTaskLogRelativePath(taskId2), createEvent("second"));
+        appender.append(TaskLogger.getTaskLogRelativePath(taskId1), createEvent("third"));
+        appender.closeFile(TaskLogger.getTaskLogRelativePath(taskId1));
+        appender.append(TaskLogger.getTaskLogRelativePath(taskId1), createEvent("fourth"));
+        appender.closeFiles(jobId.value() + "/");
+
+        String taskLog1 = FileUtils.readFileToString(new File(logFolder,
+                                                              TaskLogger.getTaskLogRelativePath(taskId1)),
+                                                     Charset.defaultCharset());
+        String taskLog2 = FileUtils.readFileToString(new File(logFolder,
+                                                              TaskLogger.getTaskLogRelativePath(taskId2)),
+                                                     Charset.defaultCharset());
+        assertTrue(taskLog1.contains("first"));
+        assertTrue(taskLog1.contains("third"));
+        assertTrue(taskLog1.contains("fourth"));
+        assertTrue(taskLog2.contains("second"));
+        assertFalse(taskLog2.contains("first"));
+    }
+
+    private LoggingEvent createEvent(String message) {
+        return new LoggingEvent("mylogger", Logger.getRootLogger(), Level.INFO, message, null);
+    }
 }
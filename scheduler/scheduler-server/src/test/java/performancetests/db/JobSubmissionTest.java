@@ -0,0 +1,123 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package performancetests.db;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.apache.log4j.Logger;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.ow2.proactive.scheduler.common.job.TaskFlowJob;
+import org.ow2.proactive.scheduler.common.task.JavaTask;
+import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
+import org.ow2.proactive.scheduler.job.InternalJob;
+import org.ow2.proactive.scheduler.job.InternalJobFactory;
+
+import functionaltests.db.schedulerdb.BaseSchedulerDBTest;
+
+
+/**
+ * Measures the time needed to store a job with many tasks in the database,
+ * with and without JDBC batching.
+ */
+@RunWith(Parameterized.class)
+public class JobSubmissionTest extends BaseSchedulerDBTest {
+
+    private static final Logger logger = Logger.getLogger(JobSubmissionTest.class);
+
+    private static final String DEFAULT_JDBC_BATCH_SIZE = PASchedulerProperties.SCHEDULER_DB_JDBC_BATCH_SIZE.getValueAsString();
+
+    @Parameters
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][] { { 1000, 10000 }, { 10000, 60000 } });
+    }
+
+    // number of tasks of the job
+    int tasksNumber;
+
+    // time limit in milliseconds for test to pass
+    int timeLimit;
+
+    public JobSubmissionTest(int tasksNumber, int timeLimit) {
+        this.tasksNumber = tasksNumber;
+        this.timeLimit = timeLimit;
+    }
+
+    @After
+    public void resetBatchSize() {
+        PASchedulerProperties.SCHEDULER_DB_JDBC_BATCH_SIZE.updateProperty(DEFAULT_JDBC_BATCH_SIZE);
+    }
+
+    @Test
+    public void test() throws Exception {
+        long unbatchedTime = timeSpentToSubmitJob("1");
+        long batchedTime = timeSpentToSubmitJob(DEFAULT_JDBC_BATCH_SIZE);
+
+        logger.info("Submission of a job with " + tasksNumber + " tasks: " + unbatchedTime + " ms without batching, " +
+                    batchedTime + " ms with batches of " + DEFAULT_JDBC_BATCH_SIZE + " rows");
+
+        assertThat("Submission time for a job with " + tasksNumber + " tasks", (int) batchedTime, lessThan(timeLimit));
+    }
+
+    private long timeSpentToSubmitJob(String jdbcBatchSize) throws Exception {
+        PASchedulerProperties.SCHEDULER_DB_JDBC_BATCH_SIZE.updateProperty(jdbcBatchSize);
+        // start from an empty database using the given batch size
+        cleanup();
+        initTest();
+
+        InternalJob job = InternalJobFactory.createJob(createJob(), getDefaultCredentials());
+        job.setOwner(DEFAULT_USER_NAME);
+        job.submitAction();
+
+        long start = System.currentTimeMillis();
+        dbManager.newJobSubmitted(job);
+        long time = System.currentTimeMillis() - start;
+
+        assertEquals(tasksNumber, loadInternalJob(true, job.getId()).getITasks().size());
+        return time;
+    }
+
+    private TaskFlowJob createJob() throws Exception {
+        TaskFlowJob job = new TaskFlowJob();
+        JavaTask root = createDefaultTask("root");
+        job.addTask(root);
+        for (int i = 1; i < tasksNumber; i++) {
+            JavaTask task = createDefaultTask("task" + i);
+            task.addDependence(root);
+            job.addTask(task);
+        }
+        return job;
+    }
+
+}